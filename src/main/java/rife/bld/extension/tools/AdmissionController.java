@@ -0,0 +1,601 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Load- and memory-aware admission control for concurrent process executions.
+ * <p>
+ * Before each launch, callers {@link #acquire() acquire} a {@link Permit}, which is granted only
+ * when the number of active executions is below the current concurrency limit and the system
+ * load average and available memory are within the configured thresholds. The concurrency limit
+ * adapts to the observed resource usage: it grows by one while resources are available and
+ * executions are waiting, and shrinks by a quarter whenever the thresholds are exceeded. Up to the
+ * {@link #concurrency(int, int) minimum concurrency} is always admitted, so that executions make
+ * progress even while other processes keep the system overloaded.
+ * <p>
+ * On Linux, resource usage is read from {@code /proc/loadavg}, {@code /proc/meminfo} and the
+ * memory limits of the process's cgroup (v1 or v2) and its ancestors, as listed in
+ * {@code /proc/self/cgroup}; reclaimable page cache counts as available. Elsewhere, the load
+ * average reported by the JVM is used and memory is not constrained. Usage is sampled without
+ * holding the controller's lock, so that releasing a permit never waits on file system reads.
+ * <p>
+ * A single instance is meant to be shared by all concurrent users, for example, by setting it on
+ * every {@link ProcessExecutor} via {@link ProcessExecutor#admissionController(AdmissionController)}.
+ * Configuration should be completed before the instance is shared.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class AdmissionController {
+
+    /**
+     * Default minimum ratio of available to total memory.
+     */
+    static final double DEFAULT_MIN_AVAILABLE_MEMORY = 0.10;
+    /**
+     * Default maximum load average per available processor.
+     */
+    static final double DEFAULT_MAX_LOAD_PER_CPU = 1.5;
+    /**
+     * Default interval between resource usage samples, in milliseconds.
+     */
+    static final long DEFAULT_SAMPLE_INTERVAL_MILLIS = 250L;
+
+    private static final Logger logger = Logger.getLogger(AdmissionController.class.getName());
+
+    private final Condition changed_;
+    private final ReentrantLock lock_ = new ReentrantLock();
+    private final Supplier<ResourceUsage> usageSupplier_;
+    private int active_;
+    private long admitted_;
+    private int limit_;
+    private int maxConcurrency_;
+    private double maxLoadPerCpu_ = DEFAULT_MAX_LOAD_PER_CPU;
+    private long maxWaitNanos_;
+    private double minAvailableMemory_ = DEFAULT_MIN_AVAILABLE_MEMORY;
+    private int minConcurrency_ = 1;
+    private boolean overloaded_;
+    private long sampleInterval_ = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SAMPLE_INTERVAL_MILLIS);
+    private long sampledAt_;
+    private boolean sampled_;
+    private boolean sampling_;
+    private long totalWaitNanos_;
+    private int waiting_;
+
+    /**
+     * Creates a new admission controller reading the current system's resource usage.
+     * <p>
+     * The initial concurrency limit is the number of available processors, and the maximum is
+     * twice that.
+     */
+    public AdmissionController() {
+        this(ResourceUsage::current);
+    }
+
+    /**
+     * Creates a new admission controller using the specified resource usage supplier.
+     *
+     * @param usageSupplier the supplier of resource usage samples
+     */
+    AdmissionController(Supplier<ResourceUsage> usageSupplier) {
+        usageSupplier_ = usageSupplier;
+        changed_ = lock_.newCondition();
+        var cpus = Runtime.getRuntime().availableProcessors();
+        limit_ = cpus;
+        maxConcurrency_ = cpus * 2;
+    }
+
+    /**
+     * Acquires a permit, waiting until resources are available.
+     * <p>
+     * The returned permit must be {@link Permit#close() closed} once the execution is complete.
+     *
+     * @return the permit, never null
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public Permit acquire() throws InterruptedException {
+        // Without a timeout, a permit is always granted
+        return Objects.requireNonNull(acquireNanos(Long.MAX_VALUE));
+    }
+
+    /**
+     * Acquires a permit, waiting at most the specified time until resources are available.
+     * <p>
+     * The returned permit must be {@link Permit#close() closed} once the execution is complete.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout, must not be null
+     * @return the permit, or {@code null} if none was granted before the timeout elapsed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if unit is null
+     */
+    @Nullable
+    public Permit acquire(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(unit, "unit must not be null");
+        return acquireNanos(Math.max(0L, unit.toNanos(timeout)));
+    }
+
+    /**
+     * Configures the bounds within which the concurrency limit adapts.
+     * <p>
+     * The current limit is clamped to the new bounds.
+     *
+     * @param min the minimum concurrency, must be greater than 0
+     * @param max the maximum concurrency, must be greater than or equal to {@code min}
+     * @return this instance
+     * @throws IllegalArgumentException if {@code min} is less than 1 or greater than {@code max}
+     */
+    public AdmissionController concurrency(int min, int max) {
+        if (min <= 0 || max < min) {
+            throw new IllegalArgumentException("concurrency must satisfy 0 < min <= max");
+        }
+        lock_.lock();
+        try {
+            minConcurrency_ = min;
+            maxConcurrency_ = max;
+            limit_ = Math.max(min, Math.min(max, limit_));
+            changed_.signalAll();
+        } finally {
+            lock_.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return the number of executions currently allowed to run at once
+     */
+    public int limit() {
+        lock_.lock();
+        try {
+            return limit_;
+        } finally {
+            lock_.unlock();
+        }
+    }
+
+    /**
+     * Configures the maximum load average per available processor.
+     * <p>
+     * New executions are delayed while the one-minute load average divided by the number of
+     * available processors exceeds this value. The default is {@code 1.5}.
+     *
+     * @param maxLoadPerCpu the maximum load per processor, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the value is less than or equal to 0
+     */
+    public AdmissionController maxLoadPerCpu(double maxLoadPerCpu) {
+        if (!(maxLoadPerCpu > 0)) {
+            throw new IllegalArgumentException("maxLoadPerCpu must be > 0");
+        }
+        maxLoadPerCpu_ = maxLoadPerCpu;
+        return this;
+    }
+
+    /**
+     * Returns the maximum load average per available processor.
+     *
+     * @return the maximum load per processor
+     */
+    public double maxLoadPerCpu() {
+        return maxLoadPerCpu_;
+    }
+
+    /**
+     * Returns a snapshot of the admission metrics.
+     *
+     * @return the metrics, never null
+     */
+    public Metrics metrics() {
+        lock_.lock();
+        try {
+            return new Metrics(admitted_, active_, waiting_, limit_, totalWaitNanos_, maxWaitNanos_);
+        } finally {
+            lock_.unlock();
+        }
+    }
+
+    /**
+     * Configures the minimum ratio of available to total memory.
+     * <p>
+     * New executions are delayed while less than this fraction of the memory (or cgroup memory
+     * limit) is available. The default is {@code 0.10}.
+     *
+     * @param ratio the minimum available memory ratio, between 0 (inclusive) and 1 (exclusive)
+     * @return this instance
+     * @throws IllegalArgumentException if the ratio is out of range
+     */
+    public AdmissionController minAvailableMemory(double ratio) {
+        if (!(ratio >= 0 && ratio < 1)) {
+            throw new IllegalArgumentException("minAvailableMemory must be >= 0 and < 1");
+        }
+        minAvailableMemory_ = ratio;
+        return this;
+    }
+
+    /**
+     * Returns the minimum ratio of available to total memory.
+     *
+     * @return the minimum available memory ratio
+     */
+    public double minAvailableMemory() {
+        return minAvailableMemory_;
+    }
+
+    /**
+     * Configures the interval between resource usage samples.
+     *
+     * @param millis the interval in milliseconds, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the interval is less than or equal to 0
+     */
+    public AdmissionController sampleInterval(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("sampleInterval must be > 0");
+        }
+        sampleInterval_ = TimeUnit.MILLISECONDS.toNanos(millis);
+        return this;
+    }
+
+    /**
+     * Returns the interval between resource usage samples.
+     *
+     * @return the interval in milliseconds
+     */
+    public long sampleInterval() {
+        return TimeUnit.NANOSECONDS.toMillis(sampleInterval_);
+    }
+
+    @Nullable
+    private Permit acquireNanos(long timeoutNanos) throws InterruptedException {
+        var start = System.nanoTime();
+        lock_.lockInterruptibly();
+        try {
+            waiting_++;
+            try {
+                while (true) {
+                    sample();
+                    // The minimum concurrency is admitted regardless of resource usage
+                    if (active_ < minConcurrency_ || (active_ < limit_ && !overloaded_)) {
+                        break;
+                    }
+                    var remaining = timeoutNanos == Long.MAX_VALUE ? Long.MAX_VALUE
+                            : timeoutNanos - (System.nanoTime() - start);
+                    if (remaining <= 0L) {
+                        return null;
+                    }
+                    changed_.awaitNanos(Math.min(sampleInterval_, remaining));
+                }
+            } finally {
+                waiting_--;
+            }
+            active_++;
+            admitted_++;
+            var waited = System.nanoTime() - start;
+            totalWaitNanos_ += waited;
+            maxWaitNanos_ = Math.max(maxWaitNanos_, waited);
+            return new Permit();
+        } finally {
+            lock_.unlock();
+        }
+    }
+
+    private boolean isOverloaded(ResourceUsage usage) {
+        if (usage.loadAverage() >= 0 && usage.cpus() > 0
+                && usage.loadAverage() / usage.cpus() > maxLoadPerCpu_) {
+            return true;
+        }
+        return usage.memoryTotal() > 0 && usage.memoryAvailable() >= 0
+                && (double) usage.memoryAvailable() / usage.memoryTotal() < minAvailableMemory_;
+    }
+
+    private void release() {
+        lock_.lock();
+        try {
+            active_--;
+            changed_.signalAll();
+        } finally {
+            lock_.unlock();
+        }
+    }
+
+    // Must be called with the lock held, which is released while the usage is read
+    private void sample() {
+        var now = System.nanoTime();
+        if (sampling_ || (sampled_ && now - sampledAt_ < sampleInterval_)) {
+            return;
+        }
+        sampling_ = true;
+        sampled_ = true;
+        sampledAt_ = now;
+
+        ResourceUsage usage;
+        lock_.unlock();
+        try {
+            usage = usageSupplier_.get();
+        } finally {
+            lock_.lock();
+            sampling_ = false;
+        }
+
+        var wasOverloaded = overloaded_;
+        overloaded_ = isOverloaded(usage);
+        // Other waiters may have slept through the sample
+        changed_.signalAll();
+        if (overloaded_) {
+            // Multiplicative decrease
+            limit_ = Math.max(minConcurrency_, limit_ - Math.max(1, limit_ / 4));
+            if (!wasOverloaded) {
+                logger.fine(() -> "Resources exhausted, concurrency limit lowered to " + limit_);
+            }
+        } else if (waiting_ > 0 && active_ >= limit_ && limit_ < maxConcurrency_) {
+            // Additive increase while there is demand
+            limit_++;
+        }
+    }
+
+    /**
+     * Snapshot of admission metrics.
+     *
+     * @param admitted       the total number of permits granted
+     * @param active         the number of permits currently held
+     * @param waiting        the number of callers currently waiting for a permit
+     * @param limit          the current concurrency limit
+     * @param totalWaitNanos the cumulative time spent waiting for permits, in nanoseconds
+     * @param maxWaitNanos   the longest time spent waiting for a single permit, in nanoseconds
+     */
+    public record Metrics(long admitted, int active, int waiting, int limit, long totalWaitNanos,
+                          long maxWaitNanos) {
+
+        /**
+         * Returns the average time spent waiting for a permit.
+         *
+         * @return the average wait in nanoseconds, or 0 if no permit was granted
+         */
+        public long averageWaitNanos() {
+            return admitted == 0 ? 0 : totalWaitNanos / admitted;
+        }
+    }
+
+    /**
+     * Snapshot of system resource usage.
+     *
+     * @param loadAverage     the one-minute load average, or a negative value if unavailable
+     * @param cpus            the number of available processors
+     * @param memoryAvailable the available memory in bytes, or a negative value if unavailable
+     * @param memoryTotal     the total (or cgroup-limited) memory in bytes, or a negative value
+     *                        if unavailable
+     */
+    public record ResourceUsage(double loadAverage, int cpus, long memoryAvailable, long memoryTotal) {
+
+        /**
+         * Reads the current system's resource usage.
+         *
+         * @return the resource usage, never null
+         */
+        public static ResourceUsage current() {
+            if (SystemTools.isLinux()) {
+                return read(Path.of("/proc"), Path.of("/sys/fs/cgroup"));
+            }
+            return new ResourceUsage(ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage(),
+                    Runtime.getRuntime().availableProcessors(), -1L, -1L);
+        }
+
+        /**
+         * Reads resource usage from the specified {@code proc} and cgroup file systems.
+         *
+         * @param procDir   the {@code proc} file system root
+         * @param cgroupDir the cgroup file system root
+         * @return the resource usage, never null
+         */
+        static ResourceUsage read(@NonNull Path procDir, @NonNull Path cgroupDir) {
+            Objects.requireNonNull(procDir, "proc directory must not be null");
+            Objects.requireNonNull(cgroupDir, "cgroup directory must not be null");
+
+            var load = -1.0;
+            var loadavg = readString(procDir.resolve("loadavg"));
+            if (loadavg != null) {
+                try {
+                    load = Double.parseDouble(loadavg.split(" ", 2)[0]);
+                } catch (NumberFormatException ignored) {
+                    // unavailable
+                }
+            }
+
+            var total = -1L;
+            var available = -1L;
+            var meminfo = readString(procDir.resolve("meminfo"));
+            if (meminfo != null) {
+                total = meminfoBytes(meminfo, "MemTotal:");
+                available = meminfoBytes(meminfo, "MemAvailable:");
+            }
+
+            // The most constraining memory limit of the process's cgroup and its ancestors
+            var limit = -1L;
+            var cgroupAvailable = -1L;
+            for (var dir : cgroupDirs(procDir, cgroupDir)) {
+                var v2 = Files.exists(dir.resolve("memory.max"));
+                var dirLimit = readLong(dir.resolve(v2 ? "memory.max" : "memory.limit_in_bytes"));
+                if (dirLimit > 0 && (limit < 0 || dirLimit < limit)) {
+                    limit = dirLimit;
+                    var usage = readLong(dir.resolve(v2 ? "memory.current" : "memory.usage_in_bytes"));
+                    if (usage >= 0) {
+                        // Reclaimable page cache is not counted as used
+                        var inactive = Math.max(0L, statBytes(dir.resolve("memory.stat"),
+                                v2 ? "inactive_file" : "total_inactive_file"));
+                        cgroupAvailable = Math.max(0L, limit - Math.max(0L, usage - inactive));
+                    } else {
+                        cgroupAvailable = -1L;
+                    }
+                }
+            }
+            if (limit > 0 && (total < 0 || limit < total)) {
+                total = limit;
+                if (cgroupAvailable >= 0) {
+                    available = available < 0 ? cgroupAvailable : Math.min(available, cgroupAvailable);
+                }
+            }
+
+            return new ResourceUsage(load, Runtime.getRuntime().availableProcessors(), available, total);
+        }
+
+        private static void addAncestors(List<Path> dirs, Path root, @Nullable String cgroupPath) {
+            var base = root.normalize();
+            var dir = base;
+            if (cgroupPath != null) {
+                var relative = cgroupPath.trim();
+                while (relative.startsWith("/")) {
+                    relative = relative.substring(1);
+                }
+                try {
+                    dir = base.resolve(relative).normalize();
+                } catch (InvalidPathException e) {
+                    dir = base;
+                }
+                if (!dir.startsWith(base)) {
+                    dir = base;
+                }
+            }
+            while (dir != null && dir.startsWith(base)) {
+                dirs.add(dir);
+                dir = dir.getParent();
+            }
+        }
+
+        // Returns the cgroup directories of the process, from its own up to the root: v2, then v1
+        private static List<Path> cgroupDirs(Path procDir, Path cgroupDir) {
+            String v2 = null;
+            String v1 = null;
+            var cgroup = readString(procDir.resolve("self").resolve("cgroup"));
+            if (cgroup != null) {
+                // hierarchy-ID:controller-list:cgroup-path
+                for (var line : cgroup.split("\n")) {
+                    var fields = line.split(":", 3);
+                    if (fields.length < 3) {
+                        continue;
+                    }
+                    if ("0".equals(fields[0]) && fields[1].isEmpty()) {
+                        v2 = fields[2];
+                    } else if (Arrays.asList(fields[1].split(",")).contains("memory")) {
+                        v1 = fields[2];
+                    }
+                }
+            }
+            var dirs = new ArrayList<Path>();
+            addAncestors(dirs, cgroupDir, v2);
+            addAncestors(dirs, cgroupDir.resolve("memory"), v1);
+            return dirs;
+        }
+
+        private static long meminfoBytes(String meminfo, String key) {
+            for (var line : meminfo.split("\n")) {
+                if (line.startsWith(key)) {
+                    var fields = line.substring(key.length()).trim().split("\\s+");
+                    try {
+                        var value = Long.parseLong(fields[0]);
+                        return fields.length > 1 && "kB".equalsIgnoreCase(fields[1]) ? value * 1024L : value;
+                    } catch (NumberFormatException e) {
+                        return -1L;
+                    }
+                }
+            }
+            return -1L;
+        }
+
+        private static long readLong(Path file) {
+            var value = readString(file);
+            if (value == null) {
+                return -1L;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                // e.g. "max"
+                return -1L;
+            }
+        }
+
+        @Nullable
+        private static String readString(Path file) {
+            try {
+                return Files.readString(file, StandardCharsets.US_ASCII);
+            } catch (IOException | SecurityException e) {
+                return null;
+            }
+        }
+
+        private static long statBytes(Path file, String key) {
+            var stat = readString(file);
+            if (stat != null) {
+                for (var line : stat.split("\n")) {
+                    var fields = line.trim().split("\\s+");
+                    if (fields.length == 2 && fields[0].equals(key)) {
+                        try {
+                            return Long.parseLong(fields[1]);
+                        } catch (NumberFormatException e) {
+                            return -1L;
+                        }
+                    }
+                }
+            }
+            return -1L;
+        }
+    }
+
+    /**
+     * Permit granted by {@link #acquire()}, to be closed once the execution is complete.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean released_ = new AtomicBoolean();
+
+        private Permit() {
+            // no-op
+        }
+
+        /**
+         * Releases the permit. Subsequent calls have no effect.
+         */
+        @Override
+        public void close() {
+            if (released_.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+}
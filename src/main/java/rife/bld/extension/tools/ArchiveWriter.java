@@ -0,0 +1,749 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Writes reproducible ZIP and JAR files, compressing entries in parallel.
+ * <p>
+ * Entries are written in name order, after the {@code META-INF/} directory and the JAR manifest,
+ * with a fixed {@link #timestamp(LocalDateTime) timestamp} and no file system attributes, so that
+ * the same content always produces the same archive. Directory entries are added for all parent
+ * directories.
+ * <p>
+ * Entries smaller than {@link #LARGE_ENTRY_SIZE} are compressed in parallel, then written in
+ * order. Larger entries are streamed from their files on the writing thread, so that they are
+ * never fully loaded into memory. Entries matching a {@link #store(String...) stored} pattern,
+ * such as already compressed images and archives, or that would not shrink, are stored
+ * uncompressed. The archive is written {@link IOTools#writeAtomically(Path, IOTools.StreamWriter,
+ * IOTools.WriteOption...) atomically}.
+ *
+ * <pre>{@code
+ * var manifest = new Manifest();
+ * manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+ * new ArchiveWriter()
+ *         .manifest(manifest)
+ *         .addDirectory(Path.of("build", "main"))
+ *         .write(Path.of("build", "dist", "app.jar"));
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class ArchiveWriter {
+
+    /**
+     * The default timestamp of all entries, the earliest that ZIP tools handle consistently
+     * across time zones.
+     */
+    static final LocalDateTime DEFAULT_TIMESTAMP = LocalDateTime.of(1980, 2, 1, 0, 0);
+    /**
+     * Entries at least this large, in bytes, are streamed instead of compressed in parallel.
+     */
+    static final int LARGE_ENTRY_SIZE = 1 << 20;
+
+    private static final int CEN_SIGNATURE = 0x02014b50;
+    // Name order, except for the JAR manifest and its directory, which readers expect first
+    private static final Comparator<String> ENTRY_ORDER = Comparator
+            .comparingInt((String name) -> "META-INF/".equals(name) ? 0 : JarFile.MANIFEST_NAME.equals(name) ? 1 : 2)
+            .thenComparing(Comparator.naturalOrder());
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int EXT_SIGNATURE = 0x08074b50;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+    private static final int FLAG_UTF8 = 0x0800;
+    private static final int LOC_SIGNATURE = 0x04034b50;
+    private static final int METHOD_DEFLATED = 8;
+    private static final int METHOD_STORED = 0;
+    private static final String STORED_BY_DEFAULT =
+            "*.{7z,br,bz2,gif,gz,jar,jpeg,jpg,png,war,webp,woff,woff2,xz,zip,zst}";
+    private static final int VERSION_DEFAULT = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAX_ENTRIES = 0xFFFF;
+
+    private final List<Map.Entry<String, Path>> directories_ = new ArrayList<>();
+    private final Map<String, Source> entries_ = new TreeMap<>(ENTRY_ORDER);
+    private final List<Predicate<String>> stored_ = new ArrayList<>(List.of(globMatcher(STORED_BY_DEFAULT)));
+    private int level_ = Deflater.DEFAULT_COMPRESSION;
+    private int parallelism_ = Runtime.getRuntime().availableProcessors();
+    private LocalDateTime timestamp_ = DEFAULT_TIMESTAMP;
+
+    /**
+     * Adds an entry with the specified content, replacing any entry with the same name.
+     *
+     * @param name    the entry name, with '/' separators, must not be null or empty
+     * @param content the content, must not be null
+     * @return this instance
+     * @throws IllegalArgumentException if the name is empty or starts with '/'
+     * @throws NullPointerException     if content is null
+     */
+    public ArchiveWriter add(@NonNull String name, @NonNull byte[] content) {
+        Objects.requireNonNull(content, "content must not be null");
+        entries_.put(requireEntryName(name), new Source(null, content.clone(), content.length));
+        return this;
+    }
+
+    /**
+     * Adds an entry with the content of the specified file, replacing any entry with the same name.
+     * The file is read when the archive is written.
+     *
+     * @param name the entry name, with '/' separators, must not be null or empty
+     * @param file the file, must not be null
+     * @return this instance
+     * @throws IllegalArgumentException if the name is empty or starts with '/'
+     * @throws NullPointerException     if file is null
+     */
+    public ArchiveWriter add(@NonNull String name, @NonNull Path file) {
+        Objects.requireNonNull(file, "file must not be null");
+        entries_.put(requireEntryName(name), new Source(file, null, -1L));
+        return this;
+    }
+
+    /**
+     * Adds the files in the specified directory, and its subdirectories, named after their path
+     * relative to the directory. The directory is walked when the archive is written.
+     *
+     * @param dir the directory, must not be null
+     * @return this instance
+     * @throws NullPointerException if dir is null
+     */
+    public ArchiveWriter addDirectory(@NonNull Path dir) {
+        return addDirectory("", dir);
+    }
+
+    /**
+     * Adds the files in the specified directory, and its subdirectories, named after their path
+     * relative to the directory with the specified prefix. The directory is walked when the
+     * archive is written. Symbolic links to files are added as the files they point to; other
+     * symbolic links are skipped.
+     * <p>
+     * Entries added with {@link #add(String, Path)} or {@link #add(String, byte[])} take precedence.
+     *
+     * @param prefix the prefix of the entry names, such as {@code META-INF/resources/}, must not
+     *               be null
+     * @param dir    the directory, must not be null
+     * @return this instance
+     * @throws NullPointerException     if prefix or dir is null
+     * @throws IllegalArgumentException if the prefix starts with '/'
+     */
+    public ArchiveWriter addDirectory(@NonNull String prefix, @NonNull Path dir) {
+        Objects.requireNonNull(prefix, "prefix must not be null");
+        Objects.requireNonNull(dir, "dir must not be null");
+        if (prefix.startsWith("/")) {
+            throw new IllegalArgumentException("prefix must not start with '/'");
+        }
+        var normalized = prefix.isEmpty() || prefix.endsWith("/") ? prefix : prefix + '/';
+        directories_.add(Map.entry(normalized, dir));
+        return this;
+    }
+
+    /**
+     * Configures the compression level.
+     *
+     * @param level the level, from 0 to 9, or -1 for the default
+     * @return this instance
+     * @throws IllegalArgumentException if the level is out of range
+     */
+    public ArchiveWriter level(int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("level must be between -1 and 9");
+        }
+        level_ = level;
+        return this;
+    }
+
+    /**
+     * Returns the compression level.
+     *
+     * @return the level
+     */
+    public int level() {
+        return level_;
+    }
+
+    /**
+     * Adds the JAR manifest, as the {@code META-INF/MANIFEST.MF} entry.
+     *
+     * @param manifest the manifest, must not be null
+     * @return this instance
+     * @throws NullPointerException if manifest is null
+     */
+    public ArchiveWriter manifest(@NonNull Manifest manifest) {
+        Objects.requireNonNull(manifest, "manifest must not be null");
+        var out = new ByteArrayOutputStream();
+        try {
+            manifest.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // never thrown by a byte array stream
+        }
+        return add(JarFile.MANIFEST_NAME, out.toByteArray());
+    }
+
+    /**
+     * Configures the number of entries compressed concurrently.
+     *
+     * @param parallelism the parallelism, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the parallelism is less than or equal to 0
+     */
+    public ArchiveWriter parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0");
+        }
+        parallelism_ = parallelism;
+        return this;
+    }
+
+    /**
+     * Returns the number of entries compressed concurrently.
+     *
+     * @return the parallelism
+     */
+    public int parallelism() {
+        return parallelism_;
+    }
+
+    /**
+     * Stores entries matching any of the specified glob patterns uncompressed, in addition to
+     * common compressed formats. A pattern without a {@code /} is matched against the last
+     * segment of entry names, otherwise against the whole name.
+     *
+     * @param globs the glob patterns, must not be null or empty
+     * @return this instance
+     * @throws IllegalArgumentException if globs is null or contains null or empty elements
+     */
+    public ArchiveWriter store(@NonNull String... globs) {
+        ObjectTools.requireAllNotEmpty(globs, "globs must not be null or empty");
+        for (var glob : globs) {
+            stored_.add(globMatcher(glob));
+        }
+        return this;
+    }
+
+    /**
+     * Configures the last modified time of all entries.
+     *
+     * @param timestamp the local date and time, stored without time zone, must not be null
+     * @return this instance
+     * @throws NullPointerException     if timestamp is null
+     * @throws IllegalArgumentException if the timestamp is before 1980, the earliest ZIP time
+     */
+    public ArchiveWriter timestamp(@NonNull LocalDateTime timestamp) {
+        Objects.requireNonNull(timestamp, "timestamp must not be null");
+        if (timestamp.getYear() < 1980 || timestamp.getYear() > 2107) {
+            throw new IllegalArgumentException("timestamp must be between 1980 and 2107");
+        }
+        timestamp_ = timestamp;
+        return this;
+    }
+
+    /**
+     * Returns the last modified time of all entries.
+     *
+     * @return the timestamp
+     */
+    public LocalDateTime timestamp() {
+        return timestamp_;
+    }
+
+    /**
+     * Writes the archive, replacing any existing file.
+     *
+     * @param target the archive file, must not be null
+     * @return the result
+     * @throws NullPointerException if target is null
+     * @throws ZipException         if an entry is larger than 4 GiB
+     * @throws IOException          if a directory cannot be walked, a file cannot be read or the
+     *                              archive cannot be written
+     */
+    public Result write(@NonNull Path target) throws IOException {
+        Objects.requireNonNull(target, "target must not be null");
+        var start = System.nanoTime();
+        var entries = collectEntries();
+        var inputSize = new long[1];
+
+        var pool = Executors.newFixedThreadPool(parallelism_, runnable -> {
+            var thread = new Thread(runnable, "archive-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            IOTools.writeAtomically(target, out -> inputSize[0] = writeArchive(out, entries, pool));
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(entries.size(), inputSize[0], Files.size(target),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    @Nullable
+    private static Compressed await(Future<Compressed> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            var interrupted = new InterruptedIOException("Interrupted while writing archive");
+            interrupted.initCause(e);
+            throw interrupted;
+        }
+    }
+
+    private static void checkSize(String name, long size) throws ZipException {
+        if (size >= ZIP64_MAGIC) {
+            throw new ZipException("entries larger than 4 GiB are not supported: " + name);
+        }
+    }
+
+    private Map<String, Source> collectEntries() throws IOException {
+        var entries = new TreeMap<String, Source>(ENTRY_ORDER);
+        for (var directory : directories_) {
+            try (var walked = new DirectoryWalker(directory.getValue()).stream()) {
+                walked.forEach(entry -> {
+                    var status = entry.status();
+                    if (status.isSymbolicLink()) {
+                        // Links are archived as the file they point to, skipped if broken or to a directory
+                        status = IOTools.fileStatus(entry.path());
+                        if (!status.isRegularFile()) {
+                            return;
+                        }
+                    }
+                    entries.put(directory.getKey() + toEntryName(entry.relativePath()),
+                            new Source(entry.path(), null, status.size()));
+                });
+            }
+        }
+        entries.putAll(entries_);
+
+        var directories = new ArrayList<String>();
+        for (var name : entries.keySet()) {
+            for (var i = name.indexOf('/'); i >= 0 && i < name.length() - 1; i = name.indexOf('/', i + 1)) {
+                directories.add(name.substring(0, i + 1));
+            }
+        }
+        for (var directory : directories) {
+            entries.putIfAbsent(directory, Source.DIRECTORY);
+        }
+        return entries;
+    }
+
+    private Compressed compress(String name, Source source) throws IOException {
+        var content = source.content() != null ? source.content() : Files.readAllBytes(source.file());
+        var crc = new CRC32();
+        crc.update(content);
+        if (!isStored(name) && content.length > 0) {
+            var deflater = new Deflater(level_, true);
+            try {
+                var out = new ByteArrayOutputStream(content.length / 2 + 64);
+                try (var deflating = new DeflaterOutputStream(out, deflater)) {
+                    deflating.write(content);
+                }
+                if (out.size() < content.length) {
+                    return new Compressed(METHOD_DEFLATED, crc.getValue(), content.length, out.toByteArray());
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        return new Compressed(METHOD_STORED, crc.getValue(), content.length, content);
+    }
+
+    // The MS-DOS date in the high 16 bits and time in the low 16 bits
+    private int dosTime() {
+        var t = timestamp_;
+        return (t.getYear() - 1980) << 25 | t.getMonthValue() << 21 | t.getDayOfMonth() << 16
+                | t.getHour() << 11 | t.getMinute() << 5 | t.getSecond() >> 1;
+    }
+
+    // Entry names are not paths of the default file system, whose separator and name encoding
+    // vary, so globs are translated to regular expressions to match them the same everywhere
+    private static Predicate<String> globMatcher(String glob) {
+        var regex = new StringBuilder(glob.length() * 2);
+        var inGroup = false;
+        for (var i = 0; i < glob.length(); i++) {
+            var c = glob.charAt(i);
+            switch (c) {
+                case '*' -> {
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                }
+                case '?' -> regex.append("[^/]");
+                case '{' -> {
+                    regex.append("(?:");
+                    inGroup = true;
+                }
+                case '}' -> {
+                    regex.append(inGroup ? ")" : "\\}");
+                    inGroup = false;
+                }
+                case ',' -> regex.append(inGroup ? "|" : ",");
+                case '[' -> {
+                    var end = glob.indexOf(']', i + 1);
+                    if (end < 0) {
+                        regex.append("\\[");
+                    } else {
+                        var set = glob.substring(i + 1, end);
+                        regex.append('[').append(set.startsWith("!") ? "^" + set.substring(1) : set).append(']');
+                        i = end;
+                    }
+                }
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        var pattern = Pattern.compile(regex.toString());
+        if (glob.indexOf('/') < 0) {
+            return name -> pattern.matcher(name.substring(name.lastIndexOf('/', name.length() - 2) + 1))
+                    .matches();
+        }
+        return name -> pattern.matcher(name).matches();
+    }
+
+    private boolean isStored(String name) {
+        for (var matcher : stored_) {
+            if (matcher.test(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ByteBuffer newBuffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static String requireEntryName(String name) {
+        ObjectTools.requireNotEmpty(name, "name must not be null or empty");
+        if (name.startsWith("/")) {
+            throw new IllegalArgumentException("name must not start with '/'");
+        }
+        return name;
+    }
+
+    private Future<Compressed> submit(ExecutorService pool, String name, Source source) throws IOException {
+        if (source == Source.DIRECTORY) {
+            return CompletableFuture.completedFuture(new Compressed(METHOD_STORED, 0L, 0L, new byte[0]));
+        }
+        var size = source.size() >= 0 ? source.size() : Files.size(source.file());
+        if (size >= LARGE_ENTRY_SIZE && source.file() != null) {
+            return CompletableFuture.completedFuture(null); // streamed when written
+        }
+        return pool.submit(() -> compress(name, source));
+    }
+
+    private static String toEntryName(Path relative) {
+        var separator = relative.getFileSystem().getSeparator();
+        var name = relative.toString();
+        return "/".equals(separator) ? name : name.replace(separator, "/");
+    }
+
+    // Returns the total uncompressed size
+    private long writeArchive(OutputStream stream, Map<String, Source> entries, ExecutorService pool)
+            throws IOException {
+        var out = new CountingOutputStream(stream);
+        var headers = new ArrayList<CentralHeader>(entries.size());
+        var names = new ArrayList<>(entries.keySet());
+        var pending = new ArrayDeque<Future<Compressed>>();
+        var window = parallelism_ * 2;
+        var submitted = 0;
+        var inputSize = 0L;
+
+        // Compress up to a window of entries ahead of the one being written
+        for (var name : names) {
+            while (submitted < names.size() && pending.size() < window) {
+                var next = names.get(submitted++);
+                pending.add(submit(pool, next, entries.get(next)));
+            }
+            var compressed = await(Objects.requireNonNull(pending.poll()));
+            var header = compressed != null
+                    ? writeEntry(out, name, compressed)
+                    : writeStreamedEntry(out, name, Objects.requireNonNull(entries.get(name).file()));
+            if (name.endsWith("/")) {
+                header.directory = true;
+            }
+            inputSize += header.size;
+            headers.add(header);
+        }
+
+        var centralOffset = out.count();
+        for (var header : headers) {
+            writeCentralHeader(out, header);
+        }
+        writeEnd(out, headers.size(), centralOffset, out.count() - centralOffset);
+        out.flush();
+        return inputSize;
+    }
+
+    private void writeCentralHeader(CountingOutputStream out, CentralHeader header) throws IOException {
+        var zip64 = header.offset >= ZIP64_MAGIC;
+        var buffer = newBuffer(46 + header.name.length + (zip64 ? 12 : 0));
+        buffer.putInt(CEN_SIGNATURE)
+                .putShort((short) VERSION_DEFAULT)
+                .putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_DEFAULT))
+                .putShort((short) header.flags)
+                .putShort((short) header.method)
+                .putInt(dosTime())
+                .putInt((int) header.crc)
+                .putInt((int) header.compressedSize)
+                .putInt((int) header.size)
+                .putShort((short) header.name.length)
+                .putShort((short) (zip64 ? 12 : 0))
+                .putShort((short) 0) // comment length
+                .putShort((short) 0) // disk number
+                .putShort((short) 0) // internal attributes
+                .putInt(header.directory ? 0x10 : 0) // MS-DOS directory attribute
+                .putInt((int) (zip64 ? ZIP64_MAGIC : header.offset))
+                .put(header.name);
+        if (zip64) {
+            buffer.putShort((short) 0x0001).putShort((short) 8).putLong(header.offset);
+        }
+        out.write(buffer.array());
+    }
+
+    private void writeEnd(CountingOutputStream out, int count, long centralOffset, long centralSize)
+            throws IOException {
+        var zip64 = count >= ZIP64_MAX_ENTRIES || centralOffset >= ZIP64_MAGIC || centralSize >= ZIP64_MAGIC;
+        if (zip64) {
+            var zip64Offset = out.count();
+            out.write(newBuffer(56 + 20)
+                    .putInt(ZIP64_END_SIGNATURE)
+                    .putLong(44L) // size of the remaining record
+                    .putShort((short) VERSION_ZIP64)
+                    .putShort((short) VERSION_ZIP64)
+                    .putInt(0) // disk number
+                    .putInt(0) // central directory disk number
+                    .putLong(count)
+                    .putLong(count)
+                    .putLong(centralSize)
+                    .putLong(centralOffset)
+                    .putInt(ZIP64_LOCATOR_SIGNATURE)
+                    .putInt(0) // disk number of the ZIP64 end record
+                    .putLong(zip64Offset)
+                    .putInt(1) // total number of disks
+                    .array());
+        }
+        out.write(newBuffer(22)
+                .putInt(END_SIGNATURE)
+                .putShort((short) 0) // disk number
+                .putShort((short) 0) // central directory disk number
+                .putShort((short) Math.min(count, ZIP64_MAX_ENTRIES))
+                .putShort((short) Math.min(count, ZIP64_MAX_ENTRIES))
+                .putInt((int) Math.min(centralSize, ZIP64_MAGIC))
+                .putInt((int) Math.min(centralOffset, ZIP64_MAGIC))
+                .putShort((short) 0) // comment length
+                .array());
+    }
+
+    private CentralHeader writeEntry(CountingOutputStream out, String name, Compressed compressed)
+            throws IOException {
+        var header = new CentralHeader(name, out.count(), 0, compressed.method());
+        header.crc = compressed.crc();
+        header.size = compressed.size();
+        header.compressedSize = compressed.data().length;
+        writeLocalHeader(out, header);
+        out.write(compressed.data());
+        return header;
+    }
+
+    private void writeLocalHeader(CountingOutputStream out, CentralHeader header) throws IOException {
+        out.write(newBuffer(30 + header.name.length)
+                .putInt(LOC_SIGNATURE)
+                .putShort((short) VERSION_DEFAULT)
+                .putShort((short) header.flags)
+                .putShort((short) header.method)
+                .putInt(dosTime())
+                .putInt((int) header.crc)
+                .putInt((int) header.compressedSize)
+                .putInt((int) header.size)
+                .putShort((short) header.name.length)
+                .putShort((short) 0) // extra field length
+                .put(header.name)
+                .array());
+    }
+
+    private CentralHeader writeStreamedEntry(CountingOutputStream out, String name, Path file)
+            throws IOException {
+        if (isStored(name)) {
+            // The CRC must precede stored data, since readers cannot otherwise find its end
+            var crc = new CRC32();
+            var size = FileChunks.read(file, crc::update);
+            checkSize(name, size);
+            var header = new CentralHeader(name, out.count(), 0, METHOD_STORED);
+            header.crc = crc.getValue();
+            header.size = size;
+            header.compressedSize = size;
+            writeLocalHeader(out, header);
+            var copied = Files.copy(file, out);
+            if (copied != size) {
+                throw new ZipException("file changed while writing: " + file);
+            }
+            return header;
+        }
+
+        var header = new CentralHeader(name, out.count(), FLAG_DATA_DESCRIPTOR, METHOD_DEFLATED);
+        writeLocalHeader(out, header);
+        var dataStart = out.count();
+        var crc = new CRC32();
+        var deflater = new Deflater(level_, true);
+        try (var in = Files.newInputStream(file)) {
+            var deflating = new DeflaterOutputStream(new FilterOutputStream(out) {
+                @Override
+                public void close() {
+                    // keep the archive open
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+            }, deflater, FileChunks.BUFFER_SIZE);
+            var buffer = new byte[FileChunks.BUFFER_SIZE];
+            var size = 0L;
+            for (var read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                crc.update(buffer, 0, read);
+                deflating.write(buffer, 0, read);
+                size += read;
+            }
+            deflating.finish();
+            header.crc = crc.getValue();
+            header.size = size;
+            header.compressedSize = out.count() - dataStart;
+            checkSize(name, header.size);
+            checkSize(name, header.compressedSize);
+        } finally {
+            deflater.end();
+        }
+
+        out.write(newBuffer(16)
+                .putInt(EXT_SIGNATURE)
+                .putInt((int) header.crc)
+                .putInt((int) header.compressedSize)
+                .putInt((int) header.size)
+                .array());
+        return header;
+    }
+
+    /**
+     * The result of writing an archive.
+     *
+     * @param entries     the number of entries, including directories
+     * @param inputSize   the total uncompressed size of the entries
+     * @param archiveSize the size of the archive
+     * @param elapsed     the time spent
+     */
+    public record Result(int entries, long inputSize, long archiveSize, Duration elapsed) {
+    }
+
+    private static final class CentralHeader {
+        final int flags;
+        final int method;
+        final byte[] name;
+        final long offset;
+        long compressedSize;
+        long crc;
+        boolean directory;
+        long size;
+
+        CentralHeader(String name, long offset, int flags, int method) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.offset = offset;
+            this.method = method;
+            // Flag UTF-8 names only when needed, like the JDK
+            this.flags = this.name.length != name.length() ? flags | FLAG_UTF8 : flags;
+        }
+    }
+
+    private record Compressed(int method, long crc, long size, byte[] data) {
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count_;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        long count() {
+            return count_;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count_++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count_ += len;
+        }
+    }
+
+    private record Source(@Nullable Path file, @Nullable byte[] content, long size) {
+        static final Source DIRECTORY = new Source(null, null, 0L);
+    }
+}
@@ -91,7 +91,7 @@ public final class ClasspathTools {
                 .filter(Objects::nonNull)
                 .flatMap(Collection::stream)
                 .filter(Objects::nonNull)
-                .map(f -> Objects.requireNonNull(f).toPath().toAbsolutePath().normalize().toString())
+                .map(f -> PathCache.SHARED.normalized(Objects.requireNonNull(f).toPath()).toString())
                 .collect(Collectors.joining(File.pathSeparator));
     }
 }
\ No newline at end of file
@@ -315,11 +315,7 @@ public final class CollectionTools {
     }
 
     private static String toNormalizedString(File f) {
-        return Objects.requireNonNull(f)
-                .toPath()
-                .toAbsolutePath()
-                .normalize()
-                .toString();
+        return PathCache.SHARED.normalized(Objects.requireNonNull(f).toPath()).toString();
     }
 
     private static Path toPath(File f) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates directories, remembering those known to exist.
+ * <p>
+ * Creating a directory that is known to exist only checks that it still does, and creating a
+ * directory below a known one only creates the missing levels, without checking its ancestors. If
+ * a known directory turns out to have been deleted, it and the directories below it are forgotten,
+ * and the directories are created from scratch.
+ * The cache is cleared once it holds more than its maximum number of directories.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+final class DirectoryCache {
+
+    static final int DEFAULT_MAX_SIZE = 8192;
+
+    private final Set<Path> known_ = ConcurrentHashMap.newKeySet();
+    private final int maxSize_;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of directories remembered
+     */
+    DirectoryCache(int maxSize) {
+        maxSize_ = maxSize;
+    }
+
+    /**
+     * Forgets the specified directory, and all directories below it.
+     *
+     * @param path the directory
+     */
+    void invalidate(Path path) {
+        if (!known_.isEmpty()) {
+            var dir = key(path);
+            known_.removeIf(known -> known.startsWith(dir));
+        }
+    }
+
+    /**
+     * Creates the specified directory, including any nonexistent parent directories.
+     *
+     * @param path the directory
+     * @throws IOException if the directory cannot be created
+     */
+    void mkdirs(Path path) throws IOException {
+        var dir = key(path);
+        if (known_.contains(dir)) {
+            // Deleted by other means, such as another process
+            if (Files.isDirectory(dir)) {
+                return;
+            }
+            invalidate(dir);
+        }
+
+        // Find the closest known ancestor, and the levels to create below it
+        var missing = new ArrayDeque<Path>();
+        missing.push(dir);
+        var ancestor = dir.getParent();
+        while (ancestor != null && !known_.contains(ancestor)) {
+            missing.push(ancestor);
+            ancestor = ancestor.getParent();
+        }
+
+        if (ancestor == null) {
+            Files.createDirectories(dir);
+        } else {
+            try {
+                for (var level : missing) {
+                    createDirectory(level);
+                }
+            } catch (NoSuchFileException e) {
+                // A known directory was deleted
+                invalidate(ancestor);
+                Files.createDirectories(dir);
+            }
+        }
+
+        if (known_.size() + missing.size() > maxSize_) {
+            known_.clear();
+        }
+        known_.addAll(missing);
+    }
+
+    /**
+     * Returns the number of directories remembered.
+     *
+     * @return the number of directories
+     */
+    int size() {
+        return known_.size();
+    }
+
+    private static void createDirectory(Path dir) throws IOException {
+        try {
+            Files.createDirectory(dir);
+        } catch (FileAlreadyExistsException e) {
+            if (!Files.isDirectory(dir)) {
+                throw e;
+            }
+        }
+    }
+
+    // Directories are remembered by their absolute, normalized path
+    private static Path key(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable snapshot of the regular files in a directory tree: their relative paths, sizes,
+ * last modified times and, optionally, content fingerprints.
+ * <p>
+ * Snapshots are {@link #of(DirectoryWalker, FileFingerprinter) created} by walking the tree and
+ * fingerprinting files in parallel, and can be {@link #write(Path) written} to and
+ * {@link #read(Path) read} from a compact binary file. Entries are kept sorted by relative path,
+ * so that two snapshots are {@link #diff(DirectorySnapshot) compared} in a single pass.
+ *
+ * <pre>{@code
+ * var previous = DirectorySnapshot.read(stateFile);
+ * var current = DirectorySnapshot.of(srcDir);
+ * var diff = previous.diff(current);
+ * if (!diff.isEmpty()) {
+ *     // process diff.added() and diff.modified(), clean up diff.removed()
+ *     current.write(stateFile);
+ * }
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public final class DirectorySnapshot {
+
+    private static final byte[] NO_HASH = new byte[0];
+    private static final int SNAPSHOT_MAGIC = 0x424C4453; // "BLDS"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final byte[][] hashes_;
+    private final long[] mtimes_;
+    private final String[] paths_;
+    private final Path root_;
+    private final long[] sizes_;
+
+    private DirectorySnapshot(Path root, String[] paths, long[] sizes, long[] mtimes, byte[][] hashes) {
+        root_ = root;
+        paths_ = paths;
+        sizes_ = sizes;
+        mtimes_ = mtimes;
+        hashes_ = hashes;
+    }
+
+    /**
+     * Creates a snapshot of the specified directory, without fingerprints.
+     *
+     * @param root the root directory, must not be null
+     * @return the snapshot
+     * @throws IOException          if the directory does not exist or cannot be walked
+     * @throws NullPointerException if root is null
+     */
+    public static DirectorySnapshot of(@NonNull Path root) throws IOException {
+        Objects.requireNonNull(root, "root must not be null");
+        return of(new DirectoryWalker(PathCache.SHARED.normalized(root)), null);
+    }
+
+    /**
+     * Creates a snapshot of the regular files reported by the specified walker.
+     * <p>
+     * The walker lists directories in parallel, and the fingerprinter, if any, hashes files in
+     * parallel. Directories are not recorded, even if the walker includes them.
+     *
+     * @param walker        the configured walker, must not be null
+     * @param fingerprinter the fingerprinter used to hash files, or {@code null} to only record
+     *                      their sizes and last modified times
+     * @return the snapshot
+     * @throws IOException          if the directory does not exist, cannot be walked, or a file
+     *                              cannot be fingerprinted
+     * @throws NullPointerException if walker is null
+     */
+    public static DirectorySnapshot of(@NonNull DirectoryWalker walker, @Nullable FileFingerprinter fingerprinter)
+            throws IOException {
+        Objects.requireNonNull(walker, "walker must not be null");
+        var entries = new ArrayList<DirectoryWalker.Entry>();
+        try (var stream = walker.stream()) {
+            stream.filter(entry -> entry.status().isRegularFile()).forEach(entries::add);
+        }
+
+        var count = entries.size();
+        var paths = new String[count];
+        var order = new Integer[count];
+        for (var i = 0; i < count; i++) {
+            paths[i] = toUnixPath(entries.get(i).relativePath());
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> paths[i]));
+
+        Map<Path, String> fingerprints = Map.of();
+        if (fingerprinter != null) {
+            fingerprints = fingerprinter.fingerprint(entries.stream().map(DirectoryWalker.Entry::path).toList());
+        }
+
+        var sortedPaths = new String[count];
+        var sizes = new long[count];
+        var mtimes = new long[count];
+        var hashes = new byte[count][];
+        for (var i = 0; i < count; i++) {
+            var entry = entries.get(order[i]);
+            var status = entry.status();
+            var fingerprint = fingerprints.get(entry.path());
+            sortedPaths[i] = paths[order[i]];
+            sizes[i] = status.size();
+            mtimes[i] = status.lastModified() == null ? 0L : status.lastModified().to(TimeUnit.NANOSECONDS);
+            hashes[i] = fingerprint == null ? NO_HASH : HexFormat.of().parseHex(fingerprint);
+        }
+        return new DirectorySnapshot(walker.root().toAbsolutePath().normalize(), sortedPaths, sizes, mtimes,
+                hashes);
+    }
+
+    /**
+     * Reads a snapshot previously {@link #write(Path) written} to the specified file.
+     *
+     * @param file the snapshot file, must not be null
+     * @return the snapshot
+     * @throws IOException          if the file cannot be read or is not a snapshot
+     * @throws NullPointerException if file is null
+     */
+    public static DirectorySnapshot read(@NonNull Path file) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readUnsignedByte() != SNAPSHOT_VERSION) {
+                throw new StreamCorruptedException("Not a directory snapshot: " + file);
+            }
+            var root = Path.of(in.readUTF());
+            var count = in.readInt();
+            if (count < 0) {
+                throw new StreamCorruptedException("Invalid entry count: " + count);
+            }
+            var paths = new String[count];
+            var sizes = new long[count];
+            var mtimes = new long[count];
+            var hashes = new byte[count][];
+            var previous = new byte[0];
+            for (var i = 0; i < count; i++) {
+                // Each path is stored as the length of the prefix it shares with the previous
+                // one, followed by the remaining bytes
+                var shared = (int) readVarLong(in);
+                var suffix = new byte[(int) readVarLong(in)];
+                in.readFully(suffix);
+                var path = Arrays.copyOf(previous, shared + suffix.length);
+                System.arraycopy(suffix, 0, path, shared, suffix.length);
+                paths[i] = new String(path, StandardCharsets.UTF_8);
+                previous = path;
+
+                sizes[i] = readVarLong(in);
+                mtimes[i] = in.readLong();
+                var hashLength = in.readUnsignedByte();
+                hashes[i] = hashLength == 0 ? NO_HASH : new byte[hashLength];
+                in.readFully(hashes[i]);
+            }
+            return new DirectorySnapshot(root, paths, sizes, mtimes, hashes);
+        }
+    }
+
+    /**
+     * Compares this snapshot, taken first, with a newer one.
+     * <p>
+     * A file is modified if its size or last modified time changed, unless both snapshots
+     * fingerprinted it with the same result.
+     *
+     * @param newer the newer snapshot, must not be null
+     * @return the differences, as paths relative to the root directories
+     * @throws NullPointerException if newer is null
+     */
+    public Diff diff(@NonNull DirectorySnapshot newer) {
+        Objects.requireNonNull(newer, "newer must not be null");
+        var added = new ArrayList<Path>();
+        var removed = new ArrayList<Path>();
+        var modified = new ArrayList<Path>();
+        var i = 0;
+        var j = 0;
+        while (i < paths_.length || j < newer.paths_.length) {
+            var cmp = i == paths_.length ? 1
+                    : j == newer.paths_.length ? -1
+                    : paths_[i].compareTo(newer.paths_[j]);
+            if (cmp < 0) {
+                removed.add(Path.of(paths_[i++]));
+            } else if (cmp > 0) {
+                added.add(Path.of(newer.paths_[j++]));
+            } else {
+                if (isModified(i, newer, j)) {
+                    modified.add(Path.of(paths_[i]));
+                }
+                i++;
+                j++;
+            }
+        }
+        return new Diff(List.copyOf(added), List.copyOf(removed), List.copyOf(modified));
+    }
+
+    /**
+     * Returns the recorded files.
+     *
+     * @return the unmodifiable list of entries, sorted by relative path
+     */
+    public List<Entry> entries() {
+        return new AbstractList<>() {
+            @Override
+            public Entry get(int index) {
+                return entry(index);
+            }
+
+            @Override
+            public int size() {
+                return paths_.length;
+            }
+        };
+    }
+
+    /**
+     * Returns the recorded file with the specified relative path.
+     *
+     * @param relativePath the path relative to the root directory
+     * @return the entry, or {@code null} if not recorded
+     */
+    @Nullable
+    public Entry entry(@Nullable Path relativePath) {
+        if (relativePath == null) {
+            return null;
+        }
+        var index = Arrays.binarySearch(paths_, toUnixPath(relativePath));
+        return index < 0 ? null : entry(index);
+    }
+
+    /**
+     * Returns the root directory.
+     *
+     * @return the absolute, normalized root directory
+     */
+    public Path root() {
+        return root_;
+    }
+
+    /**
+     * Returns the number of recorded files.
+     *
+     * @return the number of files
+     */
+    public int size() {
+        return paths_.length;
+    }
+
+    /**
+     * Atomically writes this snapshot to the specified file.
+     * <p>
+     * Paths are stored sorted, each with only the part that differs from the previous one.
+     *
+     * @param file the snapshot file, must not be null
+     * @throws IOException          if the file cannot be written
+     * @throws NullPointerException if file is null
+     */
+    public void write(@NonNull Path file) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        IOTools.writeAtomically(file, stream -> {
+            var out = new DataOutputStream(stream);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeByte(SNAPSHOT_VERSION);
+            out.writeUTF(root_.toString());
+            out.writeInt(paths_.length);
+            var previous = new byte[0];
+            for (var i = 0; i < paths_.length; i++) {
+                var path = paths_[i].getBytes(StandardCharsets.UTF_8);
+                var shared = Arrays.mismatch(previous, path);
+                if (shared < 0) {
+                    shared = path.length;
+                }
+                writeVarLong(out, shared);
+                writeVarLong(out, path.length - shared);
+                out.write(path, shared, path.length - shared);
+                previous = path;
+
+                writeVarLong(out, sizes_[i]);
+                out.writeLong(mtimes_[i]);
+                out.writeByte(hashes_[i].length);
+                out.write(hashes_[i]);
+            }
+            out.flush();
+        });
+    }
+
+    private Entry entry(int index) {
+        var hash = hashes_[index];
+        return new Entry(Path.of(paths_[index]), sizes_[index], mtimes_[index],
+                hash.length == 0 ? null : HexFormat.of().formatHex(hash));
+    }
+
+    private boolean isModified(int index, DirectorySnapshot newer, int newerIndex) {
+        if (sizes_[index] != newer.sizes_[newerIndex]) {
+            return true;
+        }
+        var hash = hashes_[index];
+        var newerHash = newer.hashes_[newerIndex];
+        if (hash.length > 0 && newerHash.length > 0) {
+            return !Arrays.equals(hash, newerHash);
+        }
+        return mtimes_[index] != newer.mtimes_[newerIndex];
+    }
+
+    // Unsigned LEB128, as sizes and path lengths are mostly small
+    private static long readVarLong(DataInput in) throws IOException {
+        var value = 0L;
+        for (var shift = 0; shift < Long.SIZE; shift += 7) {
+            var b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable-length number");
+    }
+
+    private static String toUnixPath(Path relative) {
+        var separator = relative.getFileSystem().getSeparator();
+        var path = relative.toString();
+        return "/".equals(separator) ? path : path.replace(separator, "/");
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        var remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    /**
+     * The differences between two snapshots.
+     *
+     * @param added    the files only in the newer snapshot
+     * @param removed  the files only in the older snapshot
+     * @param modified the files in both snapshots, with different content
+     * @since 1.3
+     */
+    public record Diff(List<Path> added, List<Path> removed, List<Path> modified) {
+
+        /**
+         * Determines whether the snapshots are equivalent.
+         *
+         * @return {@code true} if no file was added, removed or modified
+         */
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty() && modified.isEmpty();
+        }
+    }
+
+    /**
+     * A recorded file.
+     *
+     * @param relativePath the path relative to the root directory
+     * @param size         the size in bytes
+     * @param lastModified the last modified time, in nanoseconds since the epoch
+     * @param fingerprint  the content fingerprint, as a lowercase hexadecimal string, or
+     *                     {@code null} if not fingerprinted
+     * @since 1.3
+     */
+    public record Entry(Path relativePath, long size, long lastModified, @Nullable String fingerprint) {
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Mirrors a source directory tree into a target directory, copying only what changed.
+ * <p>
+ * A file is copied when the target is missing or differs in size or last modified time. Copies
+ * preserve the last modified time, so that unchanged files are skipped on the next run. When a
+ * {@link #fingerprinter(FileFingerprinter) fingerprinter} is set, files of the same size are
+ * compared by content instead, and only have their last modified time updated if identical.
+ * <p>
+ * Files are copied in parallel with {@link Files#copy(Path, Path, java.nio.file.CopyOption...)}.
+ * Optionally, target entries without a source counterpart are deleted.
+ *
+ * <pre>{@code
+ * var result = new DirectorySync(Path.of("src", "main", "resources"), Path.of("build", "main"))
+ *         .deleteOrphans(true)
+ *         .sync();
+ * System.out.println(result.filesCopied() + " copied, " + result.filesSkipped() + " skipped");
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class DirectorySync {
+
+    private final List<String> excludes_ = new ArrayList<>();
+    private final Path source_;
+    private final Path target_;
+    private boolean deleteOrphans_;
+    @Nullable
+    private FileFingerprinter fingerprinter_;
+    private int parallelism_ = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a new synchronization of the specified directories.
+     *
+     * @param source the source directory, must not be null
+     * @param target the target directory, must not be null
+     * @throws NullPointerException     if source or target is null
+     * @throws IllegalArgumentException if one directory contains the other
+     */
+    public DirectorySync(@NonNull Path source, @NonNull Path target) {
+        source_ = Objects.requireNonNull(source, "source must not be null").toAbsolutePath().normalize();
+        target_ = Objects.requireNonNull(target, "target must not be null").toAbsolutePath().normalize();
+        if (source_.startsWith(target_) || target_.startsWith(source_)) {
+            throw new IllegalArgumentException("source and target must not contain each other");
+        }
+    }
+
+    /**
+     * Configures whether target entries without a source counterpart are deleted.
+     *
+     * @param deleteOrphans {@code true} to delete orphans
+     * @return this instance
+     */
+    public DirectorySync deleteOrphans(boolean deleteOrphans) {
+        deleteOrphans_ = deleteOrphans;
+        return this;
+    }
+
+    /**
+     * Returns whether target entries without a source counterpart are deleted.
+     *
+     * @return {@code true} if orphans are deleted
+     */
+    public boolean deleteOrphans() {
+        return deleteOrphans_;
+    }
+
+    /**
+     * Excludes entries matching any of the specified glob patterns, in both the source and the
+     * target. Excluded target entries are not deleted, unless within an orphaned directory.
+     *
+     * @param globs the glob patterns, must not be null or empty
+     * @return this instance
+     * @throws IllegalArgumentException if globs is null or contains null or empty elements
+     * @see DirectoryWalker#exclude(String...)
+     */
+    public DirectorySync exclude(@NonNull String... globs) {
+        ObjectTools.requireAllNotEmpty(globs, "globs must not be null or empty");
+        excludes_.addAll(List.of(globs));
+        return this;
+    }
+
+    /**
+     * Configures the fingerprinter used to compare files of the same size by content.
+     *
+     * @param fingerprinter the fingerprinter, or {@code null} to compare sizes and last modified
+     *                      times only
+     * @return this instance
+     */
+    public DirectorySync fingerprinter(@Nullable FileFingerprinter fingerprinter) {
+        fingerprinter_ = fingerprinter;
+        return this;
+    }
+
+    /**
+     * Returns the fingerprinter used to compare files of the same size by content.
+     *
+     * @return the fingerprinter, or {@code null} if not set
+     */
+    @Nullable
+    public FileFingerprinter fingerprinter() {
+        return fingerprinter_;
+    }
+
+    /**
+     * Configures the number of files copied concurrently.
+     *
+     * @param parallelism the parallelism, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the parallelism is less than or equal to 0
+     */
+    public DirectorySync parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0");
+        }
+        parallelism_ = parallelism;
+        return this;
+    }
+
+    /**
+     * Returns the number of files copied concurrently.
+     *
+     * @return the parallelism
+     */
+    public int parallelism() {
+        return parallelism_;
+    }
+
+    /**
+     * Returns the source directory.
+     *
+     * @return the absolute, normalized source directory
+     */
+    public Path source() {
+        return source_;
+    }
+
+    /**
+     * Synchronizes the target directory with the source directory.
+     *
+     * @return the result, never null
+     * @throws IOException if the source directory cannot be walked, or a file cannot be copied or
+     *                     deleted
+     */
+    public SyncResult sync() throws IOException {
+        var start = System.nanoTime();
+        Files.createDirectories(target_);
+
+        var directories = new ArrayList<Path>();
+        var files = new ArrayList<DirectoryWalker.Entry>();
+        var relatives = new HashSet<Path>();
+        try (var entries = walker(source_).stream()) {
+            entries.forEach(entry -> {
+                relatives.add(entry.relativePath());
+                if (entry.status().isDirectory()) {
+                    directories.add(entry.relativePath());
+                } else {
+                    files.add(entry);
+                }
+            });
+        }
+        for (var directory : directories) {
+            syncDirectory(target_.resolve(directory));
+        }
+
+        var copied = ParallelTasks.map(files, parallelism_, "directory-sync", this::syncFile);
+        var bytes = 0L;
+        var filesCopied = 0;
+        for (var size : copied) {
+            if (size >= 0) {
+                bytes += size;
+                filesCopied++;
+            }
+        }
+
+        var deleted = deleteOrphans_ ? deleteOrphans(relatives) : 0L;
+        return new SyncResult(bytes, filesCopied, files.size() - filesCopied, deleted,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Returns the target directory.
+     *
+     * @return the absolute, normalized target directory
+     */
+    public Path target() {
+        return target_;
+    }
+
+    private long deleteOrphans(HashSet<Path> relatives) throws IOException {
+        var orphans = new ArrayList<Path>();
+        try (var entries = walker(target_).stream()) {
+            entries.forEach(entry -> {
+                // Anything below an orphaned directory is an orphan as well
+                var parent = entry.relativePath().getParent();
+                if (!relatives.contains(entry.relativePath())
+                        && (parent == null || relatives.contains(parent))) {
+                    orphans.add(entry.path());
+                }
+            });
+        }
+        var deleted = 0L;
+        for (var orphan : orphans) {
+            deleted += IOTools.deleteRecursively(orphan);
+        }
+        return deleted;
+    }
+
+    private static void syncDirectory(Path target) throws IOException {
+        var existing = IOTools.fileStatus(target, LinkOption.NOFOLLOW_LINKS);
+        if (existing.exists() && !existing.isDirectory()) {
+            // A file or link stands where the source has a directory
+            IOTools.deleteRecursively(target);
+        }
+        if (!IOTools.mkdirs(target)) {
+            throw new IOException("Cannot create directory: " + target);
+        }
+    }
+
+    // Returns the number of bytes copied, or -1 if the file was up to date
+    private long syncFile(DirectoryWalker.Entry entry) throws IOException {
+        var source = entry.status();
+        var target = target_.resolve(entry.relativePath());
+
+        if (source.isSymbolicLink()) {
+            var link = Files.readSymbolicLink(entry.path());
+            if (Files.isSymbolicLink(target) && link.equals(Files.readSymbolicLink(target))) {
+                return -1L;
+            }
+            // The target may be a non-empty directory, which must be deleted with its contents
+            IOTools.deleteRecursively(target);
+            Files.createSymbolicLink(target, link);
+            return 0L;
+        }
+
+        var existing = IOTools.fileStatus(target, LinkOption.NOFOLLOW_LINKS);
+        if (existing.isRegularFile() && existing.size() == source.size()) {
+            if (existing.lastModifiedMillis() == source.lastModifiedMillis()) {
+                return -1L;
+            }
+            if (fingerprinter_ != null
+                    && fingerprinter_.fingerprint(entry.path()).equals(fingerprinter_.fingerprint(target))) {
+                Files.setLastModifiedTime(target, source.lastModified());
+                return -1L;
+            }
+        }
+
+        if (existing.isDirectory()) {
+            IOTools.deleteRecursively(target);
+        }
+        Files.copy(entry.path(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES,
+                LinkOption.NOFOLLOW_LINKS);
+        return source.size();
+    }
+
+    private DirectoryWalker walker(Path root) {
+        var walker = new DirectoryWalker(root).includeDirectories(true);
+        if (!excludes_.isEmpty()) {
+            walker.exclude(excludes_.toArray(String[]::new));
+        }
+        return walker;
+    }
+
+    /**
+     * The result of a synchronization.
+     *
+     * @param bytesCopied  the number of bytes copied
+     * @param filesCopied  the number of files copied
+     * @param filesSkipped the number of files already up to date
+     * @param filesDeleted the number of orphaned target files and directories deleted
+     * @param elapsed      the time spent
+     */
+    public record SyncResult(long bytesCopied, int filesCopied, int filesSkipped, long filesDeleted,
+                             Duration elapsed) {
+    }
+}
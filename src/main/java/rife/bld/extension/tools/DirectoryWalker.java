@@ -0,0 +1,469 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parallel, filtered directory walker.
+ * <p>
+ * Subdirectories are listed concurrently on a work-stealing pool, and entries are streamed to the
+ * caller as they are found. Exclusion filters are applied to each entry before its attributes are
+ * read, so that excluded subtrees are never descended into. The attributes read for each entry are
+ * reused to decide whether to descend, and are returned with the entry.
+ * <p>
+ * Filters are glob patterns, or regular expressions. A glob pattern without a {@code /} is matched
+ * against the entry's name, as in {@code *.java}; otherwise, it is matched against the entry's path
+ * relative to the root, as in {@code src/**}{@code /*.java}. A regular expression is always matched
+ * against the relative path, using {@code /} as the separator.
+ * <p>
+ * Entries are reported in no particular order. The returned stream must be closed, for example,
+ * using a try-with-resources statement, to stop the walk early.
+ *
+ * <pre>{@code
+ * try (var entries = new DirectoryWalker(srcDir).include("*.java").exclude("generated").stream()) {
+ *     entries.forEach(entry -> System.out.println(entry.relativePath()));
+ * }
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class DirectoryWalker {
+
+    private static final int QUEUE_CAPACITY = 4096;
+
+    private final List<Predicate<Path>> excludes_ = new ArrayList<>();
+    private final List<Predicate<Path>> includes_ = new ArrayList<>();
+    private final Path root_;
+    private boolean followLinks_;
+    private boolean includeDirectories_;
+    private int maxDepth_ = Integer.MAX_VALUE;
+    private int parallelism_ = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a new walker for the specified root directory.
+     *
+     * @param root the root directory, must not be null
+     * @throws NullPointerException if root is null
+     */
+    public DirectoryWalker(@NonNull Path root) {
+        root_ = Objects.requireNonNull(root, "root must not be null");
+    }
+
+    /**
+     * Excludes entries matching any of the specified glob patterns. Excluded directories are not
+     * descended into.
+     *
+     * @param globs the glob patterns, must not be null or empty
+     * @return this instance
+     * @throws IllegalArgumentException if globs is null or contains null or empty elements
+     */
+    public DirectoryWalker exclude(@NonNull String... globs) {
+        ObjectTools.requireAllNotEmpty(globs, "globs must not be null or empty");
+        for (var glob : globs) {
+            excludes_.add(globMatcher(glob));
+        }
+        return this;
+    }
+
+    /**
+     * Excludes entries whose relative path matches the specified regular expression. Excluded
+     * directories are not descended into.
+     *
+     * @param regex the regular expression, must not be null
+     * @return this instance
+     * @throws NullPointerException if regex is null
+     */
+    public DirectoryWalker exclude(@NonNull Pattern regex) {
+        excludes_.add(regexMatcher(Objects.requireNonNull(regex, "regex must not be null")));
+        return this;
+    }
+
+    /**
+     * Configures whether symbolic links to directories are followed.
+     * <p>
+     * Directories reached through more than one link are only walked once.
+     *
+     * @param followLinks {@code true} to follow symbolic links
+     * @return this instance
+     */
+    public DirectoryWalker followLinks(boolean followLinks) {
+        followLinks_ = followLinks;
+        return this;
+    }
+
+    /**
+     * Returns whether symbolic links to directories are followed.
+     *
+     * @return {@code true} if symbolic links are followed
+     */
+    public boolean followLinks() {
+        return followLinks_;
+    }
+
+    /**
+     * Only reports entries matching any of the specified glob patterns. Directories are descended
+     * into regardless.
+     *
+     * @param globs the glob patterns, must not be null or empty
+     * @return this instance
+     * @throws IllegalArgumentException if globs is null or contains null or empty elements
+     */
+    public DirectoryWalker include(@NonNull String... globs) {
+        ObjectTools.requireAllNotEmpty(globs, "globs must not be null or empty");
+        for (var glob : globs) {
+            includes_.add(globMatcher(glob));
+        }
+        return this;
+    }
+
+    /**
+     * Only reports entries whose relative path matches the specified regular expression.
+     * Directories are descended into regardless.
+     *
+     * @param regex the regular expression, must not be null
+     * @return this instance
+     * @throws NullPointerException if regex is null
+     */
+    public DirectoryWalker include(@NonNull Pattern regex) {
+        includes_.add(regexMatcher(Objects.requireNonNull(regex, "regex must not be null")));
+        return this;
+    }
+
+    /**
+     * Configures whether directories are reported, in addition to files.
+     *
+     * @param includeDirectories {@code true} to report directories
+     * @return this instance
+     */
+    public DirectoryWalker includeDirectories(boolean includeDirectories) {
+        includeDirectories_ = includeDirectories;
+        return this;
+    }
+
+    /**
+     * Returns whether directories are reported, in addition to files.
+     *
+     * @return {@code true} if directories are reported
+     */
+    public boolean includeDirectories() {
+        return includeDirectories_;
+    }
+
+    /**
+     * Configures the maximum depth of reported entries; the root's children are at depth 1.
+     *
+     * @param maxDepth the maximum depth, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the depth is less than or equal to 0
+     */
+    public DirectoryWalker maxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("maxDepth must be > 0");
+        }
+        maxDepth_ = maxDepth;
+        return this;
+    }
+
+    /**
+     * Returns the maximum depth of reported entries.
+     *
+     * @return the maximum depth
+     */
+    public int maxDepth() {
+        return maxDepth_;
+    }
+
+    /**
+     * Configures the number of directories listed concurrently.
+     *
+     * @param parallelism the parallelism, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the parallelism is less than or equal to 0
+     */
+    public DirectoryWalker parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0");
+        }
+        parallelism_ = parallelism;
+        return this;
+    }
+
+    /**
+     * Returns the number of directories listed concurrently.
+     *
+     * @return the parallelism
+     */
+    public int parallelism() {
+        return parallelism_;
+    }
+
+    /**
+     * Returns the root directory.
+     *
+     * @return the root directory
+     */
+    public Path root() {
+        return root_;
+    }
+
+    /**
+     * Walks the root directory, streaming matching entries as they are found.
+     * <p>
+     * Directories deleted during the walk are skipped. Any other error listing a directory is
+     * thrown as an {@link UncheckedIOException} when the stream reaches it.
+     *
+     * @return the stream of entries, which must be closed
+     * @throws IOException if the root directory does not exist or is not a directory
+     */
+    public Stream<Entry> stream() throws IOException {
+        var status = IOTools.fileStatus(root_);
+        if (!status.exists()) {
+            throw new NoSuchFileException(root_.toString());
+        }
+        if (!status.isDirectory()) {
+            throw new NotDirectoryException(root_.toString());
+        }
+        var walk = new Walk(this, status);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(walk,
+                        Spliterator.DISTINCT | Spliterator.NONNULL), false)
+                .onClose(walk::cancel);
+    }
+
+    private Predicate<Path> globMatcher(String glob) {
+        var matcher = root_.getFileSystem().getPathMatcher("glob:" + glob);
+        if (glob.indexOf('/') < 0) {
+            return relative -> {
+                var name = relative.getFileName();
+                return name != null && matcher.matches(name);
+            };
+        }
+        return matcher::matches;
+    }
+
+    private static Predicate<Path> regexMatcher(Pattern regex) {
+        return relative -> regex.matcher(toUnixPath(relative)).matches();
+    }
+
+    private static String toUnixPath(Path relative) {
+        var separator = relative.getFileSystem().getSeparator();
+        var path = relative.toString();
+        return "/".equals(separator) ? path : path.replace(separator, "/");
+    }
+
+    /**
+     * A walked entry.
+     *
+     * @param path         the path, resolved against the root directory
+     * @param relativePath the path relative to the root directory
+     * @param status       the entry's attributes, read once during the walk
+     */
+    public record Entry(Path path, Path relativePath, FileStatus status) {
+    }
+
+    // Fans out directory listings on a pool and hands entries to the consuming thread
+    private static final class Walk implements Iterator<Entry> {
+
+        private static final Object END = new Object();
+
+        private final List<Predicate<Path>> excludes_;
+        private final boolean followLinks_;
+        private final boolean includeDirectories_;
+        private final List<Predicate<Path>> includes_;
+        private final LinkOption[] linkOptions_;
+        private final int maxDepth_;
+        private final AtomicInteger pending_ = new AtomicInteger();
+        private final ForkJoinPool pool_;
+        private final BlockingQueue<Object> queue_ = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final Path root_;
+        private final Set<Object> visited_ = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled_;
+        @Nullable
+        private Object next_;
+
+        Walk(DirectoryWalker walker, FileStatus root) {
+            excludes_ = List.copyOf(walker.excludes_);
+            includes_ = List.copyOf(walker.includes_);
+            followLinks_ = walker.followLinks_;
+            includeDirectories_ = walker.includeDirectories_;
+            maxDepth_ = walker.maxDepth_;
+            root_ = walker.root_;
+            linkOptions_ = followLinks_ ? new LinkOption[0] : new LinkOption[]{LinkOption.NOFOLLOW_LINKS};
+            pool_ = new ForkJoinPool(walker.parallelism_, ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                    null, true);
+            markVisited(root);
+            submit(root_, 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next_ == null) {
+                try {
+                    next_ = queue_.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    throw new IllegalStateException("Interrupted while walking: " + root_, e);
+                }
+            }
+            if (next_ instanceof UncheckedIOException e) {
+                next_ = END;
+                cancel();
+                throw e;
+            }
+            return next_ != END;
+        }
+
+        @Override
+        public Entry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var entry = (Entry) next_;
+            next_ = null;
+            return entry;
+        }
+
+        void cancel() {
+            cancelled_ = true;
+            pool_.shutdownNow();
+            // Unblock producers waiting for room
+            queue_.clear();
+        }
+
+        private void list(Path dir, int depth) {
+            try (var children = Files.newDirectoryStream(dir)) {
+                for (var child : children) {
+                    if (cancelled_) {
+                        return;
+                    }
+                    var relative = root_.relativize(child);
+                    if (matchesAny(excludes_, relative)) {
+                        continue;
+                    }
+                    var status = IOTools.fileStatus(child, linkOptions_);
+                    if (!status.exists()) {
+                        continue;
+                    }
+                    var directory = status.isDirectory();
+                    if ((!directory || includeDirectories_)
+                            && (includes_.isEmpty() || matchesAny(includes_, relative))) {
+                        put(new Entry(child, relative, status));
+                    }
+                    if (directory && depth < maxDepth_ && markVisited(status)) {
+                        submit(child, depth + 1);
+                    }
+                }
+            } catch (NoSuchFileException | NotDirectoryException e) {
+                // Deleted or replaced during the walk
+            } catch (IOException e) {
+                fail(e);
+            } catch (DirectoryIteratorException e) {
+                fail(e.getCause());
+            }
+        }
+
+        private void fail(IOException e) {
+            if (!cancelled_) {
+                put(new UncheckedIOException(e));
+                cancelled_ = true;
+            }
+        }
+
+        private boolean markVisited(FileStatus status) {
+            // Link cycles are only possible when following links
+            return !followLinks_ || status.fileKey() == null || visited_.add(status.fileKey());
+        }
+
+        private static boolean matchesAny(List<Predicate<Path>> matchers, Path relative) {
+            for (var matcher : matchers) {
+                if (matcher.test(relative)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void put(Object item) {
+            try {
+                while (!cancelled_ || item == END) {
+                    if (queue_.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void submit(Path dir, int depth) {
+            pending_.incrementAndGet();
+            try {
+                pool_.execute(() -> {
+                    try {
+                        if (!cancelled_) {
+                            list(dir, depth);
+                        }
+                    } finally {
+                        taskDone();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // The pool was shut down by a cancellation
+                taskDone();
+            }
+        }
+
+        private void taskDone() {
+            if (pending_.decrementAndGet() == 0) {
+                if (!cancelled_) {
+                    put(END);
+                }
+                pool_.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves executables on a search path, remembering the listing of each directory.
+ * <p>
+ * A listing is reused for as long as its directory's last modified time is unchanged, so that
+ * resolving any number of names costs a single stat per directory, plus one per name found to
+ * check that it is executable. Listings of directories modified within the last couple of seconds
+ * are not remembered, since a further change within the file system's timestamp granularity would
+ * go unnoticed. The cache is cleared once it holds more than its maximum number of directories.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+final class ExecutableCache {
+
+    static final int DEFAULT_MAX_SIZE = 256;
+    /**
+     * The cache shared by the tools.
+     */
+    static final ExecutableCache SHARED = new ExecutableCache(DEFAULT_MAX_SIZE);
+
+    private static final long RACY_MILLIS = 2_000L;
+
+    private final LongAdder listed_ = new LongAdder();
+    private final Map<Path, Listing> listings_ = new ConcurrentHashMap<>();
+    private final int maxSize_;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of directories remembered
+     */
+    ExecutableCache(int maxSize) {
+        maxSize_ = maxSize;
+    }
+
+    /**
+     * Returns the number of directories listed so far, rather than served from the cache.
+     *
+     * @return the number of listings
+     */
+    long listed() {
+        return listed_.sum();
+    }
+
+    /**
+     * Resolves the specified names, in a single pass over the directories.
+     * <p>
+     * Names containing a separator are resolved as paths instead. Where extensions are given,
+     * names without one of them are tried with each, in order.
+     *
+     * @param names      the names; {@code null} or blank names are ignored
+     * @param dirs       the directories to search, in order
+     * @param extensions the executable extensions, such as those of {@code PATHEXT}
+     * @param ignoreCase whether names are case-insensitive
+     * @return the first executable found for each name, in iteration order; names not found are
+     * omitted
+     */
+    Map<String, Path> resolve(Collection<String> names, List<Path> dirs, List<String> extensions,
+                              boolean ignoreCase) {
+        var found = new HashMap<String, Path>();
+        var remaining = new LinkedHashMap<String, List<String>>();
+        for (var name : names) {
+            if (TextTools.isBlank(name) || found.containsKey(name) || remaining.containsKey(name)) {
+                continue;
+            }
+            var candidates = candidates(name, extensions);
+            if (name.indexOf('/') >= 0 || name.indexOf('\\') >= 0) {
+                var path = resolvePath(candidates);
+                if (path != null) {
+                    found.put(name, path);
+                }
+            } else {
+                remaining.put(name, candidates);
+            }
+        }
+
+        for (var dir : new LinkedHashSet<>(dirs)) {
+            if (remaining.isEmpty()) {
+                break;
+            }
+            var listing = listing(dir, ignoreCase);
+            if (listing == null) {
+                continue;
+            }
+            for (var it = remaining.entrySet().iterator(); it.hasNext(); ) {
+                var entry = it.next();
+                for (var candidate : entry.getValue()) {
+                    var fileName = listing.names().get(ignoreCase ? candidate.toLowerCase(Locale.ROOT) : candidate);
+                    if (fileName != null) {
+                        var path = dir.resolve(fileName);
+                        if (IOTools.canExecute(path)) {
+                            found.put(entry.getKey(), path);
+                            it.remove();
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        var resolved = new LinkedHashMap<String, Path>();
+        for (var name : names) {
+            var path = name == null ? null : found.get(name);
+            if (path != null) {
+                resolved.put(name, path);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the number of directories remembered.
+     *
+     * @return the number of directories
+     */
+    int size() {
+        return listings_.size();
+    }
+
+    private static List<String> candidates(String name, List<String> extensions) {
+        if (extensions.isEmpty()) {
+            return List.of(name);
+        }
+        var lower = name.toLowerCase(Locale.ROOT);
+        for (var extension : extensions) {
+            if (lower.endsWith(extension.toLowerCase(Locale.ROOT))) {
+                return List.of(name);
+            }
+        }
+        var candidates = new ArrayList<String>(extensions.size());
+        for (var extension : extensions) {
+            candidates.add(name + extension);
+        }
+        return candidates;
+    }
+
+    @Nullable
+    private static Path resolvePath(List<String> candidates) {
+        for (var candidate : candidates) {
+            try {
+                var path = Path.of(candidate);
+                if (IOTools.canExecute(path)) {
+                    return path;
+                }
+            } catch (InvalidPathException ignored) {
+                // not a valid path on this platform
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Listing listing(Path dir, boolean ignoreCase) {
+        FileTime lastModified;
+        try {
+            var attrs = Files.readAttributes(dir, BasicFileAttributes.class);
+            if (!attrs.isDirectory()) {
+                listings_.remove(dir);
+                return null;
+            }
+            lastModified = attrs.lastModifiedTime();
+        } catch (IOException | SecurityException e) {
+            listings_.remove(dir);
+            return null;
+        }
+
+        var cached = listings_.get(dir);
+        if (cached != null && cached.lastModified().equals(lastModified) && cached.ignoreCase() == ignoreCase) {
+            return cached;
+        }
+
+        var names = new HashMap<String, String>();
+        try (var entries = Files.newDirectoryStream(dir)) {
+            for (var entry : entries) {
+                var fileName = entry.getFileName().toString();
+                names.putIfAbsent(ignoreCase ? fileName.toLowerCase(Locale.ROOT) : fileName, fileName);
+            }
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+        listed_.increment();
+
+        var listing = new Listing(lastModified, ignoreCase, names);
+        if (System.currentTimeMillis() - lastModified.toMillis() >= RACY_MILLIS) {
+            if (listings_.size() >= maxSize_) {
+                listings_.clear();
+            }
+            listings_.put(dir, listing);
+        } else {
+            listings_.remove(dir);
+        }
+        return listing;
+    }
+
+    // The entries of a directory, keyed by their case-folded names if case-insensitive
+    private record Listing(FileTime lastModified, boolean ignoreCase, Map<String, String> names) {
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Checks whether many paths exist, listing each parent directory once rather than stat-ing
+ * every missing path.
+ * <p>
+ * Paths are grouped by parent directory, and groups are checked in parallel. A directory is only
+ * listed if enough of its entries are checked to make it worthwhile; a name missing from the
+ * listing is missing without being stat-ed, and a missing directory answers for all its entries
+ * at once. Names found in a listing are stat-ed, following symbolic links, since the listing does
+ * not tell whether they are links; a broken link is therefore missing, as with
+ * {@link IOTools#exists(Path)}. Where file names may be case-insensitive, as on Windows and macOS,
+ * names not found in a listing are stat-ed as well to confirm that they are missing.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+final class ExistenceCheck {
+
+    /**
+     * The minimum number of entries checked in a directory for it to be listed.
+     */
+    static final int LIST_THRESHOLD = 3;
+
+    private static final boolean CASE_SENSITIVE = !SystemTools.isWindows() && !SystemTools.isMacOS();
+
+    private ExistenceCheck() {
+        // no-op
+    }
+
+    /**
+     * Checks whether the specified paths exist.
+     *
+     * @param paths         the paths, must not contain null elements
+     * @param listThreshold the minimum number of entries checked in a directory for it to be listed
+     * @param parallel      whether directories are checked in parallel
+     * @return whether each path exists, in iteration order
+     */
+    static boolean[] exists(List<Path> paths, int listThreshold, boolean parallel) {
+        var exists = new boolean[paths.size()];
+        var groups = new LinkedHashMap<Path, List<Integer>>();
+        var singles = new ArrayList<Integer>();
+        for (var i = 0; i < paths.size(); i++) {
+            var dir = parent(paths.get(i));
+            if (dir == null) {
+                singles.add(i);
+            } else {
+                groups.computeIfAbsent(dir, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        var tasks = new ArrayList<Group>(groups.size() + 1);
+        groups.forEach((dir, indexes) -> tasks.add(new Group(dir, indexes)));
+        if (!singles.isEmpty()) {
+            tasks.add(new Group(null, singles));
+        }
+        var stream = parallel ? tasks.parallelStream() : tasks.stream();
+        stream.forEach(group -> check(group, paths, listThreshold, exists));
+        return exists;
+    }
+
+    private static void check(Group group, List<Path> paths, int listThreshold, boolean[] exists) {
+        var dir = group.dir();
+        if (dir == null || group.indexes().size() < listThreshold) {
+            stat(group, paths, exists);
+            return;
+        }
+
+        var names = new HashSet<String>();
+        try (var entries = Files.newDirectoryStream(dir)) {
+            for (var entry : entries) {
+                names.add(entry.getFileName().toString());
+            }
+        } catch (NoSuchFileException | NotDirectoryException e) {
+            // None of the entries exist
+            return;
+        } catch (IOException | SecurityException e) {
+            // The directory cannot be listed, but its entries may still be stat-ed
+            stat(group, paths, exists);
+            return;
+        }
+
+        for (var index : group.indexes()) {
+            var path = paths.get(index);
+            var name = path.toAbsolutePath().getFileName();
+            // A listed name may be a symbolic link, whose target must exist as well
+            exists[index] = ((name != null && names.contains(name.toString())) || !CASE_SENSITIVE)
+                    && Files.exists(path);
+        }
+    }
+
+    // Returns the directory listing the path, or null if the path must be stat-ed
+    @Nullable
+    private static Path parent(Path path) {
+        var absolute = path.toAbsolutePath();
+        var name = absolute.getFileName();
+        if (name == null) {
+            return null;
+        }
+        var fileName = name.toString();
+        if (fileName.equals(".") || fileName.equals("..")) {
+            return null;
+        }
+        return absolute.getParent();
+    }
+
+    private static void stat(Group group, List<Path> paths, boolean[] exists) {
+        for (var index : group.indexes()) {
+            exists[index] = Files.exists(paths.get(index));
+        }
+    }
+
+    // The paths in a directory, by index; or the paths to stat, if the directory is null
+    private record Group(@Nullable Path dir, List<Integer> indexes) {
+    }
+}
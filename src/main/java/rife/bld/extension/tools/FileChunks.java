@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads whole files as a sequence of byte buffers, without copying them onto the heap.
+ * <p>
+ * Files larger than {@link #MAP_THRESHOLD} are memory-mapped, one {@link #MAP_CHUNK_SIZE} region
+ * at a time. Smaller files are read into a direct buffer reused by each thread, for which mapping
+ * would cost more than it saves.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+final class FileChunks {
+
+    /**
+     * Size of the per-thread direct buffer, in bytes.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Size of each mapped region, in bytes.
+     */
+    static final long MAP_CHUNK_SIZE = 64L * 1024 * 1024;
+    /**
+     * Files larger than this size, in bytes, are memory-mapped.
+     */
+    static final long MAP_THRESHOLD = 1024L * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private FileChunks() {
+        // no-op
+    }
+
+    /**
+     * Reads the specified file, passing each chunk to the consumer.
+     * <p>
+     * Each buffer is only valid for the duration of the call, and is positioned at the start of
+     * the chunk with its limit set to the end of the chunk.
+     *
+     * @param file     the file
+     * @param consumer the consumer of each chunk
+     * @return the number of bytes read
+     * @throws IOException if the file cannot be read
+     */
+    static long read(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size > MAP_THRESHOLD) {
+                for (var position = 0L; position < size; position += MAP_CHUNK_SIZE) {
+                    var length = Math.min(MAP_CHUNK_SIZE, size - position);
+                    consumer.accept(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+                }
+                return size;
+            }
+
+            var buffer = BUFFER.get();
+            var total = 0L;
+            while (true) {
+                buffer.clear();
+                var n = channel.read(buffer);
+                if (n < 0) {
+                    return total;
+                }
+                total += n;
+                buffer.flip();
+                consumer.accept(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Computes content fingerprints of files, remembering them across builds.
+ * <p>
+ * Files are hashed without copying their content onto the heap: large files are memory-mapped,
+ * and small files are read into a reusable direct buffer. Many files are hashed in parallel.
+ * <p>
+ * Fingerprints are cached by file, along with the file's size, last modified time and file key
+ * (such as the device and inode). A file whose attributes are unchanged is not read again. When
+ * an {@link #index(Path) index} file is configured, the cache is loaded from it on first use and
+ * saved to it on {@link #save()} or {@link #close()}, so that unchanged files are never re-hashed
+ * across builds either.
+ * <p>
+ * Files modified within {@link #RACY_WINDOW_MILLIS} of being hashed are not cached, since a further
+ * modification within the file system's timestamp granularity would go unnoticed.
+ *
+ * <pre>{@code
+ * try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256)
+ *         .index(Path.of("build", ".fingerprints"))) {
+ *     var fingerprints = fingerprinter.fingerprint(sources);
+ * }
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class FileFingerprinter implements Closeable {
+
+    /**
+     * Files modified more recently than this, in milliseconds, are not cached.
+     */
+    static final long RACY_WINDOW_MILLIS = 2_000L;
+
+    private static final int INDEX_MAGIC = 0x424C4446; // "BLDF"
+    private static final int INDEX_VERSION = 2;
+    private static final Logger logger = Logger.getLogger(FileFingerprinter.class.getName());
+
+    private final Algorithm algorithm_;
+    private final Map<Path, IndexEntry> cache_ = new ConcurrentHashMap<>();
+    private final LongAdder cached_ = new LongAdder();
+    private final LongAdder hashed_ = new LongAdder();
+    private final Object loadLock_ = new Object();
+    private volatile boolean dirty_;
+    @Nullable
+    private Path index_;
+    private boolean loaded_;
+    private int parallelism_ = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a new fingerprinter using the specified algorithm.
+     *
+     * @param algorithm the algorithm, must not be null
+     * @throws NullPointerException if algorithm is null
+     */
+    public FileFingerprinter(@NonNull Algorithm algorithm) {
+        algorithm_ = Objects.requireNonNull(algorithm, "algorithm must not be null");
+    }
+
+    /**
+     * Returns the algorithm.
+     *
+     * @return the algorithm
+     */
+    public Algorithm algorithm() {
+        return algorithm_;
+    }
+
+    /**
+     * Returns the number of fingerprints served from the cache.
+     *
+     * @return the number of cached fingerprints
+     */
+    public long cached() {
+        return cached_.sum();
+    }
+
+    /**
+     * Saves the index, if configured and modified.
+     *
+     * @throws IOException if the index cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        save();
+    }
+
+    /**
+     * Returns the fingerprint of the specified file.
+     *
+     * @param file the file, must not be null
+     * @return the fingerprint, as a lowercase hexadecimal string
+     * @throws IOException          if the file does not exist, is not a regular file or cannot be read
+     * @throws NullPointerException if file is null
+     */
+    public String fingerprint(@NonNull Path file) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        load();
+        return HexFormat.of().formatHex(digest(file));
+    }
+
+    /**
+     * Returns the fingerprints of the specified files, hashing them in parallel.
+     *
+     * @param files the files, must not be null or contain null elements
+     * @return the fingerprints, as lowercase hexadecimal strings, in iteration order
+     * @throws IOException          if any file does not exist, is not a regular file or cannot be read
+     * @throws NullPointerException if files is null or contains null elements
+     */
+    public Map<Path, String> fingerprint(@NonNull Collection<Path> files) throws IOException {
+        Objects.requireNonNull(files, "files must not be null");
+        for (var file : files) {
+            Objects.requireNonNull(file, "files must not contain null elements");
+        }
+        load();
+
+        var digests = ParallelTasks.map(files, parallelism_, "file-fingerprinter", this::digest);
+        var fingerprints = new LinkedHashMap<Path, String>();
+        var i = 0;
+        for (var file : files) {
+            fingerprints.put(file, HexFormat.of().formatHex(digests.get(i++)));
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Returns the number of files read and hashed.
+     *
+     * @return the number of hashed files
+     */
+    public long hashed() {
+        return hashed_.sum();
+    }
+
+    /**
+     * Configures the index file in which fingerprints are persisted across builds.
+     * <p>
+     * An index written with a different algorithm, or that cannot be read, is ignored.
+     *
+     * @param index the index file, or {@code null} to only cache fingerprints in memory
+     * @return this instance
+     */
+    public FileFingerprinter index(@Nullable Path index) {
+        synchronized (cache_) {
+            index_ = index;
+            loaded_ = false;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the index file.
+     *
+     * @return the index file, or {@code null} if not configured
+     */
+    @Nullable
+    public Path index() {
+        synchronized (cache_) {
+            return index_;
+        }
+    }
+
+    /**
+     * Configures the number of files hashed concurrently.
+     *
+     * @param parallelism the parallelism, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the parallelism is less than or equal to 0
+     */
+    public FileFingerprinter parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0");
+        }
+        parallelism_ = parallelism;
+        return this;
+    }
+
+    /**
+     * Returns the number of files hashed concurrently.
+     *
+     * @return the parallelism
+     */
+    public int parallelism() {
+        return parallelism_;
+    }
+
+    /**
+     * Saves the index, if configured and modified.
+     *
+     * @throws IOException if the index cannot be written
+     */
+    public void save() throws IOException {
+        Path index;
+        synchronized (cache_) {
+            index = index_;
+            if (index == null || !dirty_) {
+                return;
+            }
+            dirty_ = false;
+        }
+        try {
+            IOTools.writeAtomically(index, out -> writeIndex(new DataOutputStream(out)));
+        } catch (IOException e) {
+            dirty_ = true;
+            throw e;
+        }
+    }
+
+    private byte[] digest(Path file) throws IOException {
+        var status = IOTools.fileStatus(file);
+        if (!status.isRegularFile()) {
+            throw new NoSuchFileException(file.toString(), null, "not a regular file");
+        }
+        var key = PathCache.SHARED.normalized(status.path());
+        var fileKey = status.fileKey() == null ? "" : status.fileKey().toString();
+        var mtime = status.lastModified() == null ? 0L : status.lastModified().to(TimeUnit.NANOSECONDS);
+
+        var entry = cache_.get(key);
+        if (entry != null && entry.matches(status.size(), mtime, fileKey)) {
+            cached_.increment();
+            return entry.digest();
+        }
+
+        var hasher = algorithm_.newHasher();
+        FileChunks.read(file, hasher::update);
+        var digest = hasher.digest();
+        hashed_.increment();
+
+        if (System.currentTimeMillis() - status.lastModifiedMillis() >= RACY_WINDOW_MILLIS) {
+            cache_.put(key, new IndexEntry(status.size(), mtime, fileKey, digest));
+            dirty_ = true;
+        }
+        return digest;
+    }
+
+    private void load() {
+        // Readers wait on the load lock until the index has been read, so none of them hashes files the index covers
+        synchronized (loadLock_) {
+            Path index;
+            synchronized (cache_) {
+                if (loaded_) {
+                    return;
+                }
+                index = index_;
+            }
+            if (index != null && Files.isRegularFile(index)) {
+                readIndex(index);
+            }
+            synchronized (cache_) {
+                // The index may have been reconfigured while it was being read
+                loaded_ = index_ == index;
+            }
+        }
+    }
+
+    // Reads the index entries into the cache, ignoring an index that cannot be read
+    private void readIndex(Path index) {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readUnsignedByte() != INDEX_VERSION
+                    || !algorithm_.name().equals(readString(in))) {
+                return;
+            }
+            var count = in.readInt();
+            for (var i = 0; i < count; i++) {
+                var path = Path.of(readString(in));
+                var size = in.readLong();
+                var mtime = in.readLong();
+                var fileKey = readString(in);
+                var digest = new byte[in.readUnsignedByte()];
+                in.readFully(digest);
+                cache_.putIfAbsent(path, new IndexEntry(size, mtime, fileKey, digest));
+            }
+        } catch (EOFException e) {
+            logger.warning("Truncated fingerprint index: " + index);
+        } catch (IOException | RuntimeException e) {
+            if (logger.isLoggable(Level.WARNING)) {
+                logger.log(Level.WARNING, "Could not read fingerprint index: " + index, e);
+            }
+        }
+    }
+
+    // Reads a string written by writeString
+    private static String readString(DataInputStream in) throws IOException {
+        var length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        var bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeIndex(DataOutputStream out) throws IOException {
+        var entries = new ArrayList<>(cache_.entrySet());
+        out.writeInt(INDEX_MAGIC);
+        out.writeByte(INDEX_VERSION);
+        writeString(out, algorithm_.name());
+        out.writeInt(entries.size());
+        for (var e : entries) {
+            var entry = e.getValue();
+            writeString(out, e.getKey().toString());
+            out.writeLong(entry.size());
+            out.writeLong(entry.mtime());
+            writeString(out, entry.fileKey());
+            out.writeByte(entry.digest().length);
+            out.write(entry.digest());
+        }
+    }
+
+    // Writes a string of any length, unlike writeUTF which is limited to 65535 encoded bytes
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Fingerprint algorithms.
+     */
+    public enum Algorithm {
+        /**
+         * CRC-32C, a fast, hardware-accelerated, non-cryptographic 32-bit checksum.
+         */
+        CRC32C,
+        /**
+         * SHA-256, a cryptographic 256-bit hash.
+         */
+        SHA_256;
+
+        Hasher newHasher() {
+            if (this == CRC32C) {
+                var crc = new CRC32C();
+                return new Hasher() {
+                    @Override
+                    public byte[] digest() {
+                        return ByteBuffer.allocate(Integer.BYTES).putInt((int) crc.getValue()).array();
+                    }
+
+                    @Override
+                    public void update(ByteBuffer buffer) {
+                        crc.update(buffer);
+                    }
+                };
+            }
+            try {
+                var md = MessageDigest.getInstance("SHA-256");
+                return new Hasher() {
+                    @Override
+                    public byte[] digest() {
+                        return md.digest();
+                    }
+
+                    @Override
+                    public void update(ByteBuffer buffer) {
+                        md.update(buffer);
+                    }
+                };
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not supported", e);
+            }
+        }
+    }
+
+    interface Hasher {
+        byte[] digest();
+
+        void update(ByteBuffer buffer);
+    }
+
+    private record IndexEntry(long size, long mtime, String fileKey, byte[] digest) {
+        boolean matches(long size, long mtime, String fileKey) {
+            return this.size == size && this.mtime == mtime && this.fileKey.equals(fileKey);
+        }
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Materializes files at new locations, such as dependencies staged into {@code lib} directories,
+ * while writing as few bytes as possible.
+ * <p>
+ * Depending on the {@link #policy(Policy) policy}, each file is materialized with the cheapest
+ * available {@link Strategy strategy}: a hard link, which shares the source's data and inode; a
+ * copy-on-write clone, which shares its data blocks until either file is modified; or a copy
+ * performed in the kernel by {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+ * Hard links require the same file system, and clones a file system that supports them, such as
+ * Btrfs, XFS or APFS; otherwise the next strategy is used. Targets that are already the same file
+ * as, or have the same size and last modified time as, their source are left untouched.
+ * <p>
+ * Hard-linked targets must be treated as read-only, since modifying one in place modifies its
+ * source too. Targets are replaced atomically, and the number of files materialized with each
+ * strategy is {@link #count(Strategy) counted}.
+ *
+ * <pre>{@code
+ * var materializer = new FileMaterializer();
+ * for (var jar : dependencies) {
+ *     materializer.materialize(jar, libDir.resolve(jar.getFileName()));
+ * }
+ * System.out.println(materializer.bytesCopied() + " bytes copied");
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class FileMaterializer {
+
+    // Cloning shells out to cp, which should never take long for a single file
+    private static final long CLONE_TIMEOUT_SECONDS = 60L;
+    private static final Logger logger = Logger.getLogger(FileMaterializer.class.getName());
+
+    private final LongAdder bytesCopied_ = new LongAdder();
+    private final Map<Strategy, LongAdder> counts_ = new EnumMap<>(Strategy.class);
+    // The pairs of source and target file stores on which cloning failed
+    private final Set<List<FileStore>> noClone_ = ConcurrentHashMap.newKeySet();
+    private int parallelism_ = Runtime.getRuntime().availableProcessors();
+    private Policy policy_ = Policy.LINK_CLONE_OR_COPY;
+
+    /**
+     * Creates a new materializer, preferring hard links.
+     */
+    public FileMaterializer() {
+        for (var strategy : Strategy.values()) {
+            counts_.put(strategy, new LongAdder());
+        }
+    }
+
+    /**
+     * Returns the number of bytes written by copies.
+     *
+     * @return the number of bytes copied
+     */
+    public long bytesCopied() {
+        return bytesCopied_.sum();
+    }
+
+    /**
+     * Returns the number of files materialized with the specified strategy.
+     *
+     * @param strategy the strategy, must not be null
+     * @return the number of files
+     * @throws NullPointerException if strategy is null
+     */
+    public long count(@NonNull Strategy strategy) {
+        return counts_.get(Objects.requireNonNull(strategy, "strategy must not be null")).sum();
+    }
+
+    /**
+     * Materializes the specified source file at the target path, replacing any existing file.
+     *
+     * @param source the source file, must not be null
+     * @param target the target path, must not be null
+     * @return the strategy used
+     * @throws IOException          if the source cannot be read or the target cannot be written
+     * @throws NullPointerException if source or target is null
+     */
+    public Strategy materialize(@NonNull Path source, @NonNull Path target) throws IOException {
+        Objects.requireNonNull(source, "source must not be null");
+        Objects.requireNonNull(target, "target must not be null");
+        var strategy = materializeFile(source, target.toAbsolutePath());
+        counts_.get(strategy).increment();
+        return strategy;
+    }
+
+    /**
+     * Materializes the specified source files at their target paths, in parallel.
+     *
+     * @param sources the source file of each target path, must not be null or contain null
+     *                elements
+     * @return the strategy used for each target path, in iteration order
+     * @throws IOException          if any source cannot be read or target cannot be written
+     * @throws NullPointerException if sources is null or contains null elements
+     */
+    public Map<Path, Strategy> materialize(@NonNull Map<Path, Path> sources) throws IOException {
+        Objects.requireNonNull(sources, "sources must not be null");
+        var targets = new ArrayList<Map.Entry<Path, Path>>(sources.size());
+        for (var entry : sources.entrySet()) {
+            Objects.requireNonNull(entry.getKey(), "sources must not contain null elements");
+            Objects.requireNonNull(entry.getValue(), "sources must not contain null elements");
+            targets.add(entry);
+        }
+        var strategies = ParallelTasks.map(targets, parallelism_, "file-materializer",
+                target -> materialize(target.getValue(), target.getKey()));
+        var result = new LinkedHashMap<Path, Strategy>();
+        for (var i = 0; i < targets.size(); i++) {
+            result.put(targets.get(i).getKey(), strategies.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Configures the maximum number of files materialized concurrently.
+     *
+     * @param parallelism the parallelism, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the parallelism is less than or equal to 0
+     */
+    public FileMaterializer parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0");
+        }
+        parallelism_ = parallelism;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of files materialized concurrently.
+     *
+     * @return the parallelism
+     */
+    public int parallelism() {
+        return parallelism_;
+    }
+
+    /**
+     * Configures which strategies may be used.
+     *
+     * @param policy the policy, must not be null
+     * @return this instance
+     * @throws NullPointerException if policy is null
+     */
+    public FileMaterializer policy(@NonNull Policy policy) {
+        policy_ = Objects.requireNonNull(policy, "policy must not be null");
+        return this;
+    }
+
+    /**
+     * Returns the policy.
+     *
+     * @return the policy
+     */
+    public Policy policy() {
+        return policy_;
+    }
+
+    // Clones with cp, which uses FICLONE on Linux and clonefile on macOS; the JDK has no API for it
+    @Nullable
+    private static List<String> cloneCommand(Path source, Path target) {
+        if (SystemTools.isLinux()) {
+            return List.of("cp", "--reflink=always", "--preserve=mode,timestamps", "--",
+                    source.toString(), target.toString());
+        }
+        if (SystemTools.isMacOS()) {
+            return List.of("cp", "-c", "-p", source.toString(), target.toString());
+        }
+        return null;
+    }
+
+    private void copy(Path source, Path tmp) throws IOException {
+        try (var in = FileChannel.open(source, StandardOpenOption.READ);
+             var out = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            var size = in.size();
+            var position = 0L;
+            while (position < size) {
+                var n = in.transferTo(position, size - position, out);
+                if (n <= 0) {
+                    throw new IOException("Source truncated while being copied: " + source);
+                }
+                position += n;
+            }
+            bytesCopied_.add(position);
+        }
+        Files.setLastModifiedTime(tmp, Files.getLastModifiedTime(source));
+        try {
+            Files.setPosixFilePermissions(tmp, Files.getPosixFilePermissions(source));
+        } catch (UnsupportedOperationException ignored) {
+            // not a POSIX file system
+        }
+    }
+
+    // Kills the process and waits for it to exit, preserving the interrupt status
+    private static void destroyAndWait(Process process) {
+        process.destroyForcibly();
+        var interrupted = false;
+        while (true) {
+            try {
+                process.waitFor();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isUpToDate(Path source, Path target) throws IOException {
+        var existing = IOTools.fileStatus(target);
+        if (!existing.isRegularFile()) {
+            return false;
+        }
+        if (Files.isSameFile(source, target)) {
+            // A hard link only satisfies the policy that allows them
+            return policy_ == Policy.LINK_CLONE_OR_COPY;
+        }
+        var status = IOTools.fileStatus(source);
+        return existing.size() == status.size() && existing.lastModifiedMillis() == status.lastModifiedMillis();
+    }
+
+    private Strategy materializeFile(Path source, Path target) throws IOException {
+        if (!Files.isRegularFile(source)) {
+            throw new NoSuchFileException(source.toString(), null, "not a regular file");
+        }
+        if (isUpToDate(source, target)) {
+            return Strategy.UNCHANGED;
+        }
+        var parent = target.getParent();
+        if (parent != null) {
+            IOTools.mkdirs(parent);
+        }
+
+        if (policy_ == Policy.LINK_CLONE_OR_COPY) {
+            var tmp = tempPath(target);
+            try {
+                Files.createLink(tmp, source);
+                replace(tmp, target);
+                return Strategy.HARD_LINK;
+            } catch (FileSystemException | UnsupportedOperationException e) {
+                // other file system, or links not supported
+                Files.deleteIfExists(tmp);
+            }
+        }
+        if (policy_ != Policy.COPY && tryClone(source, target)) {
+            return Strategy.CLONE;
+        }
+        var tmp = tempPath(target);
+        try {
+            copy(source, tmp);
+            replace(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return Strategy.COPY;
+    }
+
+    private static void replace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // A name next to the target for the new file, which is then renamed over it
+    private static Path tempPath(Path target) {
+        return target.resolveSibling("." + target.getFileName() + "."
+                + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+    }
+
+    private boolean tryClone(Path source, Path target) throws IOException {
+        var parent = target.getParent();
+        if (parent == null) {
+            return false;
+        }
+        var stores = List.of(Files.getFileStore(source), Files.getFileStore(parent));
+        if (noClone_.contains(stores)) {
+            return false;
+        }
+        var tmp = tempPath(target);
+        var command = cloneCommand(source, tmp);
+        if (command == null) {
+            noClone_.add(stores);
+            return false;
+        }
+        Process process = null;
+        try {
+            process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (process.waitFor(CLONE_TIMEOUT_SECONDS, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                replace(tmp, target);
+                return true;
+            }
+            // Cloning is either supported between two file stores or not at all
+            noClone_.add(stores);
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine("Cloning not supported from " + stores.get(0) + " to " + stores.get(1));
+            }
+            return false;
+        } catch (IOException e) {
+            // cp is not available
+            noClone_.add(stores);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            var interrupted = new InterruptedIOException("Interrupted while cloning: " + source);
+            interrupted.initCause(e);
+            throw interrupted;
+        } finally {
+            // The temporary file must not be deleted while cp may still be writing it
+            if (process != null && process.isAlive()) {
+                destroyAndWait(process);
+            }
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Which strategies may be used, from the cheapest to the most expensive.
+     *
+     * @since 1.3
+     */
+    public enum Policy {
+        /**
+         * Copies only, so that targets never share data with their source.
+         */
+        COPY,
+        /**
+         * Clones where supported, or copies; targets may be modified safely.
+         */
+        CLONE_OR_COPY,
+        /**
+         * Hard links on the same file system, clones where supported, or copies.
+         */
+        LINK_CLONE_OR_COPY
+    }
+
+    /**
+     * How a file was materialized.
+     *
+     * @since 1.3
+     */
+    public enum Strategy {
+        /**
+         * Copy-on-write clone sharing the source's data blocks.
+         */
+        CLONE,
+        /**
+         * Copy performed in the kernel.
+         */
+        COPY,
+        /**
+         * Hard link to the source.
+         */
+        HARD_LINK,
+        /**
+         * The target was already the same file as the source, or had the same size and last
+         * modified time.
+         */
+        UNCHANGED
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a file's attributes, read with a single file system call.
+ *
+ * @param path         the path, or {@code null} if the status was requested for a {@code null} path
+ * @param type         the file type, {@link Type#MISSING} if the file does not exist or could not be read
+ * @param size         the size in bytes, {@code 0} if the file does not exist
+ * @param lastModified the last modified time, or {@code null} if the file does not exist
+ * @param permissions  the POSIX permissions, or {@code null} if the file does not exist or the file
+ *                     system does not support them
+ * @param fileKey      the object uniquely identifying the file (such as the device and inode), or
+ *                     {@code null} if not available
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @see IOTools#fileStatus(Path, java.nio.file.LinkOption...)
+ * @since 1.3
+ */
+public record FileStatus(@Nullable Path path, Type type, long size, @Nullable FileTime lastModified,
+                         @Nullable Set<PosixFilePermission> permissions, @Nullable Object fileKey) {
+
+    /**
+     * Creates a snapshot from the specified attributes.
+     *
+     * @param path        the path
+     * @param attrs       the file attributes
+     * @param permissions the POSIX permissions, or {@code null} if not supported
+     * @return the file status
+     */
+    static FileStatus of(Path path, BasicFileAttributes attrs, @Nullable Set<PosixFilePermission> permissions) {
+        Type type;
+        if (attrs.isRegularFile()) {
+            type = Type.REGULAR_FILE;
+        } else if (attrs.isDirectory()) {
+            type = Type.DIRECTORY;
+        } else if (attrs.isSymbolicLink()) {
+            type = Type.SYMBOLIC_LINK;
+        } else {
+            type = Type.OTHER;
+        }
+        return new FileStatus(path, type, attrs.size(), attrs.lastModifiedTime(),
+                permissions == null ? null : Set.copyOf(permissions), attrs.fileKey());
+    }
+
+    /**
+     * Creates a snapshot for a missing file.
+     *
+     * @param path the path
+     * @return the file status
+     */
+    static FileStatus missing(@Nullable Path path) {
+        return new FileStatus(path, Type.MISSING, 0L, null, null, null);
+    }
+
+    /**
+     * Determines if the file exists.
+     *
+     * @return {@code true} if the file exists; {@code false} otherwise
+     */
+    public boolean exists() {
+        return type != Type.MISSING;
+    }
+
+    /**
+     * Determines if the file has any execute permission.
+     * <p>
+     * On file systems without POSIX permissions, all regular files are considered executable.
+     * Use {@link IOTools#canExecute(Path)} to check whether the current user can execute the file.
+     *
+     * @return {@code true} if the file is a regular file with at least one execute permission bit set
+     */
+    public boolean hasExecutePermission() {
+        if (type != Type.REGULAR_FILE) {
+            return false;
+        }
+        return permissions == null
+                || permissions.contains(PosixFilePermission.OWNER_EXECUTE)
+                || permissions.contains(PosixFilePermission.GROUP_EXECUTE)
+                || permissions.contains(PosixFilePermission.OTHERS_EXECUTE);
+    }
+
+    /**
+     * Determines if the file is a directory.
+     *
+     * @return {@code true} if the file is a directory; {@code false} otherwise
+     */
+    public boolean isDirectory() {
+        return type == Type.DIRECTORY;
+    }
+
+    /**
+     * Determines if the file is a regular file.
+     *
+     * @return {@code true} if the file is a regular file; {@code false} otherwise
+     */
+    public boolean isRegularFile() {
+        return type == Type.REGULAR_FILE;
+    }
+
+    /**
+     * Determines if the file is a symbolic link.
+     * <p>
+     * Only reported when the status was read without following links.
+     *
+     * @return {@code true} if the file is a symbolic link; {@code false} otherwise
+     */
+    public boolean isSymbolicLink() {
+        return type == Type.SYMBOLIC_LINK;
+    }
+
+    /**
+     * Returns the last modified time in milliseconds since the epoch.
+     *
+     * @return the last modified time, or {@code 0} if the file does not exist
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? 0L : lastModified.toMillis();
+    }
+
+    /**
+     * File types.
+     */
+    public enum Type {
+        /**
+         * A directory.
+         */
+        DIRECTORY,
+        /**
+         * The file does not exist or its attributes could not be read.
+         */
+        MISSING,
+        /**
+         * Something other than a regular file, directory or symbolic link.
+         */
+        OTHER,
+        /**
+         * A regular file.
+         */
+        REGULAR_FILE,
+        /**
+         * A symbolic link.
+         */
+        SYMBOLIC_LINK
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in, bounded cache of {@link FileStatus file statuses}.
+ * <p>
+ * Repeated {@link #exists(Path) exists}, {@link #isDirectory(Path) isDirectory} and
+ * {@link #canExecute(Path) canExecute} queries on the same paths are served from memory. Entries
+ * expire after a configurable time to live, and the least recently used entries are evicted once
+ * the maximum size is reached.
+ * <p>
+ * Directories registered with {@link #watch(Path)} are monitored by a {@link WatchService}: any
+ * change to one of their entries invalidates the corresponding cached statuses as soon as it is
+ * reported, so that the time to live only bounds staleness for paths outside watched directories.
+ * <p>
+ * Paths are cached by their absolute, normalized form, which is also the
+ * {@link FileStatus#path() path} of the returned statuses. A single instance can be shared by
+ * all threads of a build, and should be {@link #close() closed} once no longer needed.
+ *
+ * <pre>{@code
+ * try (var cache = new FileStatusCache().watch(srcDir)) {
+ *     if (cache.isDirectory(srcDir.resolve("main"))) {
+ *         // ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class FileStatusCache implements AutoCloseable {
+
+    /**
+     * Default maximum number of cached entries.
+     */
+    static final int DEFAULT_MAX_SIZE = 10_000;
+    /**
+     * Default time to live of cached entries, in milliseconds.
+     */
+    static final long DEFAULT_TTL_MILLIS = 5_000L;
+
+    private static final Logger logger = Logger.getLogger(FileStatusCache.class.getName());
+
+    private final LongSupplier clock_;
+    private final LinkedHashMap<Path, Entry> entries_ = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits_ = new LongAdder();
+    private final Object lock_ = new Object();
+    private final LongAdder misses_ = new LongAdder();
+    // Incremented on every invalidation, so that statuses read concurrently are not cached stale
+    private long generation_;
+    private int maxSize_ = DEFAULT_MAX_SIZE;
+    private long ttl_ = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TTL_MILLIS);
+    @Nullable
+    private WatchService watchService_;
+    @Nullable
+    private Thread watcher_;
+
+    /**
+     * Creates a new cache with the default maximum size and time to live.
+     */
+    public FileStatusCache() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Creates a new cache using the specified clock.
+     *
+     * @param clock the clock, in nanoseconds
+     */
+    FileStatusCache(LongSupplier clock) {
+        clock_ = clock;
+    }
+
+    /**
+     * Determines if the specified path exists, is a regular file, and is executable.
+     *
+     * @param path the path to be checked
+     * @return {@code true} if the path exists, is a regular file, and can be executed;
+     * {@code false} otherwise
+     * @see IOTools#canExecute(Path)
+     */
+    public boolean canExecute(@Nullable Path path) {
+        if (path == null) {
+            return false;
+        }
+        var entry = entry(path);
+        if (!entry.status_.isRegularFile()) {
+            return false;
+        }
+        var executable = entry.executable_;
+        if (executable == null) {
+            executable = Files.isExecutable(entry.status_.path());
+            entry.executable_ = executable;
+        }
+        return executable;
+    }
+
+    /**
+     * Removes all cached entries.
+     */
+    public void clear() {
+        synchronized (lock_) {
+            entries_.clear();
+            generation_++;
+        }
+    }
+
+    /**
+     * Stops watching directories and removes all cached entries.
+     *
+     * @throws IOException if the watch service could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        WatchService watchService;
+        Thread watcher;
+        synchronized (lock_) {
+            watchService = watchService_;
+            watcher = watcher_;
+            watchService_ = null;
+            watcher_ = null;
+        }
+        clear();
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcher != null) {
+            try {
+                watcher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Checks if the specified path exists.
+     *
+     * @param path the path to check for existence
+     * @return {@code true} if the path is not {@code null} and exists; {@code false} otherwise
+     */
+    public boolean exists(@Nullable Path path) {
+        return path != null && entry(path).status_.exists();
+    }
+
+    /**
+     * Returns the number of queries served from the cache.
+     *
+     * @return the number of hits
+     */
+    public long hits() {
+        return hits_.sum();
+    }
+
+    /**
+     * Removes the cached status of the specified path, and of any path below it.
+     *
+     * @param path the path
+     */
+    public void invalidate(@Nullable Path path) {
+        if (path != null) {
+            invalidateTree(key(path));
+        }
+    }
+
+    /**
+     * Determines if the specified path represents an existing directory.
+     *
+     * @param path the path to be checked
+     * @return {@code true} if the path exists and is a directory; {@code false} otherwise
+     */
+    public boolean isDirectory(@Nullable Path path) {
+        return path != null && entry(path).status_.isDirectory();
+    }
+
+    /**
+     * Configures the maximum number of cached entries.
+     *
+     * @param maxSize the maximum size, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the size is less than or equal to 0
+     */
+    public FileStatusCache maxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0");
+        }
+        synchronized (lock_) {
+            maxSize_ = maxSize;
+            evict();
+        }
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of cached entries.
+     *
+     * @return the maximum size
+     */
+    public int maxSize() {
+        synchronized (lock_) {
+            return maxSize_;
+        }
+    }
+
+    /**
+     * Returns the number of queries that required a file system call.
+     *
+     * @return the number of misses
+     */
+    public long misses() {
+        return misses_.sum();
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the size
+     */
+    public int size() {
+        synchronized (lock_) {
+            return entries_.size();
+        }
+    }
+
+    /**
+     * Returns the status of the specified path, reading it only if not cached.
+     *
+     * @param path the path, must not be null
+     * @return the file status, never null
+     * @throws NullPointerException if path is null
+     * @see IOTools#fileStatus(Path, java.nio.file.LinkOption...)
+     */
+    public FileStatus status(@NonNull Path path) {
+        return entry(Objects.requireNonNull(path, "path must not be null")).status_;
+    }
+
+    /**
+     * Configures the time to live of cached entries.
+     *
+     * @param millis the time to live in milliseconds, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the time to live is less than or equal to 0
+     */
+    public FileStatusCache ttl(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("ttl must be > 0");
+        }
+        synchronized (lock_) {
+            ttl_ = TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the time to live of cached entries.
+     *
+     * @return the time to live in milliseconds
+     */
+    public long ttl() {
+        synchronized (lock_) {
+            return TimeUnit.NANOSECONDS.toMillis(ttl_);
+        }
+    }
+
+    /**
+     * Watches the specified directory, invalidating the cached statuses of its entries whenever
+     * they are created, modified or deleted.
+     * <p>
+     * Only the directory itself is watched, not its subdirectories.
+     *
+     * @param dir the directory, must not be null
+     * @return this instance
+     * @throws IOException          if the directory cannot be watched
+     * @throws NullPointerException if dir is null
+     */
+    public FileStatusCache watch(@NonNull Path dir) throws IOException {
+        var key = key(Objects.requireNonNull(dir, "directory must not be null"));
+        synchronized (lock_) {
+            if (watchService_ == null) {
+                watchService_ = key.getFileSystem().newWatchService();
+                var watcher = new Thread(this::processEvents, "file-status-cache");
+                watcher.setDaemon(true);
+                watcher_ = watcher;
+                watcher.start();
+            }
+            key.register(watchService_, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        // Anything cached before the registration may already be stale
+        invalidateTree(key);
+        return this;
+    }
+
+    private Entry entry(Path path) {
+        var key = key(path);
+        long generation;
+        synchronized (lock_) {
+            var entry = entries_.get(key);
+            if (entry != null && clock_.getAsLong() - entry.loadedAt_ < ttl_) {
+                hits_.increment();
+                return entry;
+            }
+            generation = generation_;
+        }
+        misses_.increment();
+        var entry = new Entry(IOTools.fileStatus(key), clock_.getAsLong());
+        synchronized (lock_) {
+            if (generation == generation_) {
+                entries_.put(key, entry);
+                evict();
+            }
+        }
+        return entry;
+    }
+
+    private void evict() {
+        var it = entries_.entrySet().iterator();
+        while (entries_.size() > maxSize_ && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private void invalidateAll(Path dir) {
+        synchronized (lock_) {
+            entries_.keySet().removeIf(key -> key.startsWith(dir));
+            generation_++;
+        }
+    }
+
+    private void invalidateTree(Path path) {
+        synchronized (lock_) {
+            var removed = entries_.remove(path);
+            // An existing file cannot have cached descendants; anything else might
+            if (removed == null || !removed.status_.exists() || removed.status_.isDirectory()) {
+                entries_.keySet().removeIf(key -> key.startsWith(path));
+            }
+            generation_++;
+        }
+    }
+
+    private static Path key(Path path) {
+        return PathCache.SHARED.normalized(path);
+    }
+
+    private void processEvents() {
+        WatchService watchService;
+        synchronized (lock_) {
+            watchService = watchService_;
+        }
+        if (watchService == null) {
+            return;
+        }
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            var dir = (Path) key.watchable();
+            for (var event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    invalidateAll(dir);
+                } else if (event.context() instanceof Path name) {
+                    invalidateTree(dir.resolve(name));
+                }
+            }
+            if (!key.reset()) {
+                // The directory is no longer accessible
+                invalidateAll(dir);
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.fine("No longer watching: " + dir);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final long loadedAt_;
+        private final FileStatus status_;
+        // Whether the current user can execute the file, determined on first use
+        @Nullable
+        private volatile Boolean executable_;
+
+        private Entry(FileStatus status, long loadedAt) {
+            status_ = status;
+            loadedAt_ = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import com.sun.nio.file.ExtendedWatchEventModifier;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Recursively watches directory trees, and reports their changes in debounced batches.
+ * <p>
+ * Each {@link #watch(Path) watched} root is registered with a single {@link WatchService}, along
+ * with all its subdirectories, including those created later. Events are collected until no new
+ * event is received for the {@link #debounce(long) debounce} period, so that a burst of changes,
+ * such as a compiler writing many classes, is delivered to {@link #onChange(Consumer) listeners}
+ * as one {@link ChangeSet} grouped by root.
+ * <p>
+ * When the platform drops events, the affected directory is rescanned: files modified since the
+ * previous change set are reported, and the directory is listed as
+ * {@link ChangeSet#rescanned() rescanned}, since deletions cannot be recovered.
+ * <p>
+ * One instance can serve many roots and listeners, and should be shared by all the tasks of a
+ * build rather than each opening its own watch service. It must be {@link #close() closed} once
+ * no longer needed.
+ *
+ * <pre>{@code
+ * try (var watcher = new FileWatcher().onChange(changes -> recompile(changes.paths()))) {
+ *     watcher.watch(Path.of("src", "main", "java"));
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class FileWatcher implements AutoCloseable {
+
+    /**
+     * Default debounce period, in milliseconds.
+     */
+    static final long DEFAULT_DEBOUNCE_MILLIS = 200L;
+    // Changes are delivered at the latest after this many debounce periods, even if events keep coming
+    private static final int MAX_DELAY_FACTOR = 10;
+    // Windows can watch a whole tree with a single registration
+    private static final boolean FILE_TREE = SystemTools.isWindows();
+    private static final WatchEvent.Kind<?>[] KINDS = {
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_DELETE,
+            StandardWatchEventKinds.ENTRY_MODIFY};
+
+    private static final Logger logger = Logger.getLogger(FileWatcher.class.getName());
+
+    private final Set<Path> dirs_ = ConcurrentHashMap.newKeySet();
+    private final Map<WatchKey, Path> keys_ = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<Consumer<ChangeSet>> listeners_ = new CopyOnWriteArrayList<>();
+    private final Object lock_ = new Object();
+    private final Set<Path> roots_ = ConcurrentHashMap.newKeySet();
+    private volatile long debounce_ = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DEBOUNCE_MILLIS);
+    @Nullable
+    private WatchService watchService_;
+    @Nullable
+    private Thread watcher_;
+
+    /**
+     * Stops watching all roots. Pending changes are discarded.
+     *
+     * @throws IOException if the watch service could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        WatchService watchService;
+        Thread watcher;
+        synchronized (lock_) {
+            watchService = watchService_;
+            watcher = watcher_;
+            watchService_ = null;
+            watcher_ = null;
+        }
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcher != null && watcher != Thread.currentThread()) {
+            try {
+                watcher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        dirs_.clear();
+        keys_.clear();
+        roots_.clear();
+    }
+
+    /**
+     * Configures the debounce period: changes are delivered once no new event has been received
+     * for this long.
+     *
+     * @param millis the debounce period in milliseconds, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the period is less than or equal to 0
+     */
+    public FileWatcher debounce(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("debounce must be > 0");
+        }
+        debounce_ = TimeUnit.MILLISECONDS.toNanos(millis);
+        return this;
+    }
+
+    /**
+     * Returns the debounce period.
+     *
+     * @return the debounce period in milliseconds
+     */
+    public long debounce() {
+        return TimeUnit.NANOSECONDS.toMillis(debounce_);
+    }
+
+    /**
+     * Adds a listener, called on the watcher thread with each change set.
+     * <p>
+     * Listeners are called in the order they were added. Exceptions they throw are logged and
+     * do not prevent other listeners from being called.
+     *
+     * @param listener the listener, must not be null
+     * @return this instance
+     * @throws NullPointerException if listener is null
+     */
+    public FileWatcher onChange(@NonNull Consumer<ChangeSet> listener) {
+        listeners_.add(Objects.requireNonNull(listener, "listener must not be null"));
+        return this;
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener
+     * @return {@code true} if the listener was removed; {@code false} otherwise
+     */
+    public boolean removeListener(@Nullable Consumer<ChangeSet> listener) {
+        return listeners_.remove(listener);
+    }
+
+    /**
+     * Returns the watched roots.
+     *
+     * @return the unmodifiable set of absolute, normalized roots
+     */
+    public Set<Path> roots() {
+        return Collections.unmodifiableSet(new TreeSet<>(roots_));
+    }
+
+    /**
+     * Watches the specified directory and all its subdirectories.
+     * <p>
+     * Watching a root again, or a directory below a watched root, has no effect.
+     *
+     * @param root the root directory, must not be null
+     * @return this instance
+     * @throws IOException           if the directory cannot be watched
+     * @throws NotDirectoryException if the root is not a directory
+     * @throws NullPointerException  if root is null
+     */
+    public FileWatcher watch(@NonNull Path root) throws IOException {
+        var dir = PathCache.SHARED.normalized(Objects.requireNonNull(root, "root must not be null"));
+        if (!Files.isDirectory(dir)) {
+            throw new NotDirectoryException(dir.toString());
+        }
+        WatchService watchService;
+        synchronized (lock_) {
+            if (watchService_ == null) {
+                watchService_ = dir.getFileSystem().newWatchService();
+                var watcher = new Thread(this::processEvents, "file-watcher");
+                watcher.setDaemon(true);
+                watcher_ = watcher;
+                watcher.start();
+            }
+            watchService = watchService_;
+        }
+        if (rootOf(dir) == null) {
+            roots_.add(dir);
+            register(watchService, dir, null);
+        }
+        return this;
+    }
+
+    private void deliver(Map<Path, Set<Path>> changes, Set<Path> rescanned) {
+        var changeSet = new ChangeSet(changes, rescanned);
+        for (var listener : listeners_) {
+            try {
+                listener.accept(changeSet);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "File watcher listener failed", e);
+            }
+        }
+    }
+
+    private void processEvents() {
+        WatchService watchService;
+        synchronized (lock_) {
+            watchService = watchService_;
+        }
+        if (watchService == null) {
+            return;
+        }
+        var pending = new Pending();
+        while (true) {
+            WatchKey key;
+            try {
+                if (pending.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    var now = System.nanoTime();
+                    var deadline = Math.min(pending.lastEventAt_ + debounce_,
+                            pending.firstEventAt_ + debounce_ * MAX_DELAY_FACTOR);
+                    key = deadline > now ? watchService.poll(deadline - now, TimeUnit.NANOSECONDS) : null;
+                }
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (key == null) {
+                deliver(pending.changes_, pending.rescanned_);
+                pending = new Pending(System.currentTimeMillis());
+                continue;
+            }
+            processKey(watchService, key, pending);
+        }
+    }
+
+    private void processKey(WatchService watchService, WatchKey key, Pending pending) {
+        var dir = keys_.get(key);
+        if (dir == null) {
+            key.cancel();
+            return;
+        }
+        for (var event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                rescan(watchService, dir, pending);
+            } else if (event.context() instanceof Path name) {
+                var path = dir.resolve(name);
+                pending.add(rootOf(path), path);
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                        && Files.isDirectory(path) && !FILE_TREE) {
+                    // Anything created before the registration would otherwise go unnoticed
+                    register(watchService, path, pending);
+                }
+            }
+        }
+        if (!key.reset()) {
+            keys_.remove(key);
+            dirs_.remove(dir);
+            if (dir.equals(rootOf(dir)) && Files.notExists(dir)) {
+                roots_.remove(dir);
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.fine("No longer watching: " + dir);
+                }
+            }
+        }
+    }
+
+    // Registers the directory and its subdirectories, optionally reporting their entries as changed
+    private void register(WatchService watchService, Path dir, @Nullable Pending pending) {
+        try {
+            if (FILE_TREE) {
+                if (dirs_.add(dir)) {
+                    keys_.put(dir.register(watchService, KINDS, ExtendedWatchEventModifier.FILE_TREE), dir);
+                }
+                return;
+            }
+            Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path subdir, BasicFileAttributes attrs) throws IOException {
+                    if (dirs_.add(subdir)) {
+                        keys_.put(subdir.register(watchService, KINDS), subdir);
+                    }
+                    if (pending != null && !subdir.equals(dir)) {
+                        pending.add(rootOf(subdir), subdir);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (pending != null) {
+                        pending.add(rootOf(file), file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    if (logger.isLoggable(Level.FINE)) {
+                        logger.log(Level.FINE, "Could not watch: " + file, e);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (ClosedWatchServiceException e) {
+            // closed concurrently
+        } catch (IOException e) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Could not watch: " + dir, e);
+            }
+        }
+    }
+
+    // Reports files modified since the previous change set, after events were dropped
+    private void rescan(WatchService watchService, Path dir, Pending pending) {
+        pending.rescanned_.add(dir);
+        pending.add(rootOf(dir), dir);
+        if (!FILE_TREE) {
+            register(watchService, dir, null);
+        }
+        // Allow for file systems with a coarse modification time
+        var since = pending.since_ - TimeUnit.SECONDS.toMillis(2);
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.lastModifiedTime().toMillis() >= since) {
+                        pending.add(rootOf(file), file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Could not rescan: " + dir, e);
+            }
+        }
+    }
+
+    @Nullable
+    private Path rootOf(Path path) {
+        Path root = null;
+        for (var candidate : roots_) {
+            if (path.startsWith(candidate) && (root == null || candidate.getNameCount() > root.getNameCount())) {
+                root = candidate;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * The paths changed during a debounced period, grouped by watched root.
+     *
+     * @param changes   the changed files and directories, created, modified or deleted, by root
+     * @param rescanned the directories rescanned after events were dropped, whose deleted entries
+     *                  may not be reported
+     * @since 1.3
+     */
+    public record ChangeSet(Map<Path, Set<Path>> changes, Set<Path> rescanned) {
+        /**
+         * Creates a new change set.
+         *
+         * @param changes   the changed paths by root
+         * @param rescanned the rescanned directories
+         */
+        public ChangeSet {
+            var sorted = new TreeMap<Path, Set<Path>>();
+            changes.forEach((root, paths) -> sorted.put(root, Collections.unmodifiableSet(new TreeSet<>(paths))));
+            changes = Collections.unmodifiableMap(sorted);
+            rescanned = Collections.unmodifiableSet(new TreeSet<>(rescanned));
+        }
+
+        /**
+         * Returns the paths changed below the specified root.
+         *
+         * @param root the watched root
+         * @return the sorted, unmodifiable set of changed paths; empty if none
+         */
+        public Set<Path> changes(@Nullable Path root) {
+            if (root == null) {
+                return Set.of();
+            }
+            return changes.getOrDefault(PathCache.SHARED.normalized(root), Set.of());
+        }
+
+        /**
+         * Returns all the changed paths.
+         *
+         * @return the sorted, unmodifiable set of changed paths
+         */
+        public Set<Path> paths() {
+            var paths = new TreeSet<Path>();
+            changes.values().forEach(paths::addAll);
+            return Collections.unmodifiableSet(paths);
+        }
+    }
+
+    // Changes collected by the watcher thread since the previous change set
+    private static final class Pending {
+        private final Map<Path, Set<Path>> changes_ = new TreeMap<>();
+        private final Set<Path> rescanned_ = new HashSet<>();
+        // When the previous change set was delivered, in epoch milliseconds
+        private final long since_;
+        private long firstEventAt_;
+        private long lastEventAt_;
+
+        private Pending() {
+            this(System.currentTimeMillis());
+        }
+
+        private Pending(long since) {
+            since_ = since;
+        }
+
+        private void add(@Nullable Path root, Path path) {
+            if (root == null) {
+                return;
+            }
+            var now = System.nanoTime();
+            if (changes_.isEmpty()) {
+                firstEventAt_ = now;
+            }
+            lastEventAt_ = now;
+            changes_.computeIfAbsent(root, k -> new HashSet<>()).add(path);
+        }
+
+        private boolean isEmpty() {
+            return changes_.isEmpty();
+        }
+    }
+}
@@ -18,25 +18,77 @@ package rife.bld.extension.tools;
 
 import edu.umd.cs.findbugs.annotations.Nullable;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.FileSystems;
 import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * I/O Tools.
  *
- * <p>Utility methods for common file system operations including existence checks,
- * executability checks, directory creation, and path resolution. All methods
- * accept {@code null} inputs and return {@code false} (or an appropriate default)
- * rather than throwing {@link NullPointerException}.</p>
+ * <p>Utility methods for common file system operations including single and bulk existence
+ * checks, executability checks, directory creation and deletion, atomic writes, file
+ * materialization, checksums, line searches, directory snapshots, and path resolution and
+ * normalization. All methods accept {@code null} inputs and return {@code false} (or an
+ * appropriate default) rather than throwing {@link NullPointerException}.</p>
  *
  * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
  * @since 1.0
  */
 public final class IOTools {
 
+    private static final int CHECKSUM_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final DirectoryCache DIRECTORY_CACHE = new DirectoryCache(DirectoryCache.DEFAULT_MAX_SIZE);
+    private static final int DELETE_PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final FileMaterializer MATERIALIZER = new FileMaterializer();
+    // Collections at least this large are stat-ed in parallel
+    private static final int PARALLEL_STAT_THRESHOLD = 256;
+    private static final int SEARCH_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    // Trash directories left untouched this long are no longer being deleted by another JVM
+    private static final long STALE_TRASH_MILLIS = 60L * 60L * 1000L;
+    // Trash directories being deleted by this JVM
+    private static final Set<Path> TRASH_IN_USE = ConcurrentHashMap.newKeySet();
+    private static final boolean POSIX_DEFAULT =
+            FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
     private IOTools() {
         // no-op
     }
@@ -81,6 +133,153 @@ public final class IOTools {
         }
     }
 
+    /**
+     * Computes checksums of the specified file, reading it only once.
+     *
+     * <p>The file is read in large chunks, memory-mapped if large, and each chunk is fed to all
+     * the requested digests in turn.</p>
+     *
+     * @param file       the file; may be {@code null}
+     * @param algorithms the checksum algorithms; all of them if none are specified
+     * @return the checksums, as lowercase hexadecimal strings, in algorithm order; an empty map
+     * if {@code file} is {@code null}
+     * @throws IOException if the file cannot be read
+     * @since 1.3
+     */
+    public static Map<ChecksumAlgorithm, String> checksums(@Nullable Path file, ChecksumAlgorithm... algorithms)
+            throws IOException {
+        if (file == null) {
+            return Map.of();
+        }
+        var digests = new EnumMap<ChecksumAlgorithm, MessageDigest>(ChecksumAlgorithm.class);
+        for (var algorithm : toChecksumSet(algorithms)) {
+            digests.put(algorithm, algorithm.newDigest());
+        }
+        FileChunks.read(file, buffer -> {
+            var start = buffer.position();
+            for (var digest : digests.values()) {
+                buffer.position(start);
+                digest.update(buffer);
+            }
+        });
+        var checksums = new EnumMap<ChecksumAlgorithm, String>(ChecksumAlgorithm.class);
+        digests.forEach((algorithm, digest) -> checksums.put(algorithm, HexFormat.of().formatHex(digest.digest())));
+        return Collections.unmodifiableMap(checksums);
+    }
+
+    /**
+     * Clears the paths cached by {@link #normalizedPath(Path)} and {@link #realPath(Path)}.
+     *
+     * <p>Useful when a directory tree has been moved or relinked, and the memory of its paths
+     * should be released.</p>
+     *
+     * @since 1.3
+     */
+    public static void clearPathCache() {
+        PathCache.SHARED.clear();
+    }
+
+    /**
+     * Deletes the specified file, or directory and all its contents.
+     *
+     * <p>Delegates to {@link #deleteRecursively(Path)}.</p>
+     *
+     * @param file the file or directory to delete; may be {@code null}
+     * @return the number of files and directories deleted; {@code 0} if {@code file}
+     * is {@code null} or does not exist
+     * @throws IOException if a file or directory cannot be deleted
+     * @since 1.3
+     */
+    public static long deleteRecursively(@Nullable File file) throws IOException {
+        return file == null ? 0L : deleteRecursively(file.toPath());
+    }
+
+    /**
+     * Deletes the specified file, or directory and all its contents.
+     *
+     * <p>Subdirectories are deleted in parallel. Symbolic links are deleted, never followed.
+     * Read-only files, and directories that cannot be listed or modified by their owner,
+     * are made writable before being deleted.</p>
+     *
+     * @param path the file or directory to delete; may be {@code null}
+     * @return the number of files and directories deleted; {@code 0} if {@code path}
+     * is {@code null} or does not exist
+     * @throws IOException if a file or directory cannot be deleted
+     * @since 1.3
+     */
+    public static long deleteRecursively(@Nullable Path path) throws IOException {
+        if (path == null) {
+            return 0L;
+        }
+        try {
+            return RecursiveDelete.delete(path, DELETE_PARALLELISM);
+        } finally {
+            DIRECTORY_CACHE.invalidate(path);
+        }
+    }
+
+    /**
+     * Deletes the specified file, or directory and all its contents, in the background.
+     *
+     * <p>The path is first atomically renamed into a hidden trash directory next to it, so
+     * that it no longer exists when this method returns and can be recreated immediately.
+     * The trash directory is then deleted by a background thread, which keeps the JVM alive
+     * until done. If the path cannot be renamed, it is deleted before returning.</p>
+     *
+     * <p>Trash directories of the same path left behind by an earlier call, for example because
+     * the JVM exited before they were deleted, are deleted by the background thread as well once
+     * they have not been modified for an hour, so that those still being deleted by another
+     * build are left alone.</p>
+     *
+     * @param path the file or directory to delete; may be {@code null}
+     * @return a future completing with the number of files and directories deleted, or
+     * exceptionally if an entry cannot be deleted
+     * @throws IOException if the path cannot be renamed and deleting it fails
+     * @since 1.3
+     */
+    public static CompletableFuture<Long> deleteRecursivelyAsync(@Nullable Path path) throws IOException {
+        if (path == null || Files.notExists(path, LinkOption.NOFOLLOW_LINKS)) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        var absolute = path.toAbsolutePath().normalize();
+        var parent = absolute.getParent();
+        var name = absolute.getFileName();
+        if (parent == null || name == null) {
+            return CompletableFuture.completedFuture(deleteRecursively(path));
+        }
+
+        Path trash;
+        try {
+            trash = Files.createTempDirectory(parent, "." + name + ".trash-");
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(deleteRecursively(path));
+        }
+        try {
+            Files.move(absolute, trash.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            DIRECTORY_CACHE.invalidate(absolute);
+        } catch (IOException e) {
+            Files.deleteIfExists(trash);
+            return CompletableFuture.completedFuture(deleteRecursively(path));
+        }
+
+        TRASH_IN_USE.add(trash);
+        var future = new CompletableFuture<Long>();
+        var thread = new Thread(() -> {
+            try {
+                // The trash directory itself is not counted
+                var deleted = RecursiveDelete.delete(trash, DELETE_PARALLELISM) - 1L;
+                TRASH_IN_USE.remove(trash);
+                deleteStaleTrash(parent, "." + name + ".trash-");
+                future.complete(deleted);
+            } catch (IOException | RuntimeException e) {
+                TRASH_IN_USE.remove(trash);
+                future.completeExceptionally(e);
+            }
+        }, "delete-recursively");
+        thread.start();
+        return future;
+    }
+
     /**
      * Checks if the specified file exists.
      *
@@ -121,6 +320,127 @@ public final class IOTools {
         }
     }
 
+    /**
+     * Checks if all the specified paths exist.
+     *
+     * <p>Paths are grouped by parent directory, and each directory with several paths to check
+     * is listed once instead of stat-ing every missing path, in parallel for large collections.
+     * As with {@link #exists(Path)}, symbolic links are followed, so a broken link is missing.</p>
+     *
+     * @param paths the paths to check for existence
+     * @return {@code true} if the collection is not {@code null}, contains no {@code null}
+     * elements, and every path in it exists; {@code false} otherwise
+     * @see #partitionExisting(Collection)
+     * @since 1.3
+     */
+    public static boolean existsAll(@Nullable Collection<Path> paths) {
+        if (paths == null) {
+            return false;
+        }
+        var list = new ArrayList<Path>(paths.size());
+        for (var path : paths) {
+            if (path == null) {
+                return false;
+            }
+            list.add(path);
+        }
+        for (var exists : existence(list)) {
+            if (!exists) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the attributes of the specified file with a single file system call.
+     *
+     * @param file the file; if {@code null}, a missing status is returned
+     * @return the file status, never {@code null}
+     * @see #fileStatus(Path, LinkOption...)
+     * @since 1.3
+     */
+    public static FileStatus fileStatus(@Nullable File file) {
+        return file == null ? FileStatus.missing(null) : fileStatus(file.toPath());
+    }
+
+    /**
+     * Reads the attributes of the specified path with a single file system call.
+     *
+     * <p>POSIX attributes, including permissions, are read where supported; basic attributes
+     * otherwise. A path that does not exist or cannot be read yields a status whose
+     * {@link FileStatus#exists() exists} method returns {@code false}.</p>
+     *
+     * @param path    the path; if {@code null}, a missing status is returned
+     * @param options options indicating how symbolic links are handled; links are followed by default
+     * @return the file status, never {@code null}
+     * @since 1.3
+     */
+    public static FileStatus fileStatus(@Nullable Path path, LinkOption... options) {
+        if (path == null) {
+            return FileStatus.missing(null);
+        }
+        try {
+            if (supportsPosix(path)) {
+                var attrs = Files.readAttributes(path, PosixFileAttributes.class, options);
+                return FileStatus.of(path, attrs, attrs.permissions());
+            }
+            return FileStatus.of(path, Files.readAttributes(path, BasicFileAttributes.class, options), null);
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            return FileStatus.missing(path);
+        }
+    }
+
+    /**
+     * Reads the attributes of the file at the specified path string with a single file system call.
+     *
+     * @param path the path string; if {@code null}, blank or invalid, a missing status is returned
+     * @return the file status, never {@code null}
+     * @see #fileStatus(Path, LinkOption...)
+     * @since 1.3
+     */
+    public static FileStatus fileStatus(@Nullable String path) {
+        if (TextTools.isBlank(path)) {
+            return FileStatus.missing(null);
+        }
+        try {
+            return fileStatus(Path.of(path));
+        } catch (InvalidPathException e) {
+            return FileStatus.missing(null);
+        }
+    }
+
+    /**
+     * Reads the attributes of the specified paths, with a single file system call per path.
+     *
+     * <p>Large collections are read in parallel. The returned list is in iteration order, and
+     * {@code null} elements are skipped.</p>
+     *
+     * @param paths   the paths; if {@code null}, an empty list is returned
+     * @param options options indicating how symbolic links are handled; links are followed by default
+     * @return the unmodifiable list of file statuses, never {@code null}
+     * @see #fileStatus(Path, LinkOption...)
+     * @since 1.3
+     */
+    public static List<FileStatus> fileStatus(@Nullable Collection<Path> paths, LinkOption... options) {
+        if (paths == null || paths.isEmpty()) {
+            return List.of();
+        }
+        if (paths.size() < PARALLEL_STAT_THRESHOLD) {
+            var statuses = new ArrayList<FileStatus>(paths.size());
+            for (var path : paths) {
+                if (path != null) {
+                    statuses.add(fileStatus(path, options));
+                }
+            }
+            return List.copyOf(statuses);
+        }
+        return new ArrayList<>(paths).parallelStream()
+                .filter(Objects::nonNull)
+                .map(path -> fileStatus(path, options))
+                .toList();
+    }
+
     /**
      * Determines if the specified {@code File} is a directory.
      *
@@ -162,6 +482,28 @@ public final class IOTools {
         }
     }
 
+    /**
+     * Materializes the specified source file at the target path, with a hard link, a
+     * copy-on-write clone, or a copy, whichever is cheapest.
+     *
+     * <p>Delegates to a shared {@link FileMaterializer} with the default policy. Hard-linked
+     * targets must be treated as read-only.</p>
+     *
+     * @param source the source file; may be {@code null}
+     * @param target the target path; may be {@code null}
+     * @return the strategy used; {@code null} if {@code source} or {@code target} is {@code null}
+     * @throws IOException if the source cannot be read or the target cannot be written
+     * @since 1.3
+     */
+    @Nullable
+    public static FileMaterializer.Strategy materialize(@Nullable Path source, @Nullable Path target)
+            throws IOException {
+        if (source == null || target == null) {
+            return null;
+        }
+        return MATERIALIZER.materialize(source, target);
+    }
+
     /**
      * Creates the directory named by the specified {@code File}, including any
      * necessary but nonexistent parent directories.
@@ -182,6 +524,11 @@ public final class IOTools {
      * Creates the directory specified by the given {@code Path}, including any
      * nonexistent parent directories as necessary.
      *
+     * <p>Directories created or found by previous calls are remembered, so that creating them
+     * again only checks that they still exist, and creating a directory below them does not
+     * check their ancestors. Directories deleted with {@link #deleteRecursively(Path)} are
+     * forgotten.</p>
+     *
      * @param path the {@code Path} object representing the directory to be created;
      *             if {@code null}, this method returns {@code false}
      * @return {@code true} if the directory was created successfully or already exists;
@@ -193,7 +540,7 @@ public final class IOTools {
             return false;
         }
         try {
-            Files.createDirectories(path);
+            DIRECTORY_CACHE.mkdirs(path);
             return true;
         } catch (IOException e) {
             return false;
@@ -218,6 +565,36 @@ public final class IOTools {
         }
     }
 
+    /**
+     * Returns the absolute, normalized form of the specified file's path.
+     *
+     * <p>Delegates to {@link #normalizedPath(Path)}.</p>
+     *
+     * @param file the file; may be {@code null}
+     * @return the normalized absolute path, or {@code null} if {@code file} is {@code null}
+     * @since 1.3
+     */
+    @Nullable
+    public static Path normalizedPath(@Nullable File file) {
+        return file == null ? null : normalizedPath(file.toPath());
+    }
+
+    /**
+     * Returns the absolute, normalized form of the specified path.
+     *
+     * <p>Results are cached, and interned so that equal paths share a single instance,
+     * which saves both the conversions and the memory of paths repeated across many
+     * collections, such as dependencies shared by modules.</p>
+     *
+     * @param path the path; may be {@code null}
+     * @return the normalized absolute path, or {@code null} if {@code path} is {@code null}
+     * @since 1.3
+     */
+    @Nullable
+    public static Path normalizedPath(@Nullable Path path) {
+        return path == null ? null : PathCache.SHARED.normalized(path);
+    }
+
     /**
      * Checks if the specified file does not exist.
      *
@@ -254,6 +631,55 @@ public final class IOTools {
         return !exists(path);
     }
 
+    /**
+     * Partitions the specified paths into those that exist and those that do not.
+     *
+     * <p>Paths are grouped by parent directory, and each directory with several paths to check
+     * is listed once instead of stat-ing every missing path, in parallel for large collections.
+     * As with {@link #exists(Path)}, symbolic links are followed, so a broken link is missing.</p>
+     *
+     * @param paths the paths to check for existence; if {@code null}, both lists are empty
+     * @return the existing and missing paths, each in iteration order, with {@code null}
+     * elements skipped
+     * @see #existsAll(Collection)
+     * @since 1.3
+     */
+    public static ExistencePartition partitionExisting(@Nullable Collection<Path> paths) {
+        if (paths == null || paths.isEmpty()) {
+            return new ExistencePartition(List.of(), List.of());
+        }
+        var list = new ArrayList<Path>(paths.size());
+        for (var path : paths) {
+            if (path != null) {
+                list.add(path);
+            }
+        }
+        var exists = existence(list);
+        var existing = new ArrayList<Path>();
+        var missing = new ArrayList<Path>();
+        for (var i = 0; i < exists.length; i++) {
+            (exists[i] ? existing : missing).add(list.get(i));
+        }
+        return new ExistencePartition(List.copyOf(existing), List.copyOf(missing));
+    }
+
+    /**
+     * Returns the real form of the specified path, with symbolic links resolved.
+     *
+     * <p>Results are cached and interned, like {@link #normalizedPath(Path)}. A cached result
+     * is only reused while the path still leads to the same file, so it is resolved again once
+     * a symbolic link along the path is changed to point elsewhere.</p>
+     *
+     * @param path the path; may be {@code null}
+     * @return the real path, or {@code null} if {@code path} is {@code null}
+     * @throws IOException if the path does not exist or cannot be resolved
+     * @since 1.3
+     */
+    @Nullable
+    public static Path realPath(@Nullable Path path) throws IOException {
+        return path == null ? null : PathCache.SHARED.real(path);
+    }
+
     /**
      * Resolves a file path by joining a base file with additional path segments.
      *
@@ -270,15 +696,529 @@ public final class IOTools {
      */
     public static File resolveFile(@Nullable File base, @Nullable String... segments) {
         var path = (base == null ? Path.of("") : base.toPath());
+        if (segments == null || segments.length == 0) {
+            return path.toFile();
+        }
+
+        // Join the segments and parse them at once, unless one could replace the path so far
+        var relative = new String[segments.length];
+        for (var i = 0; i < segments.length; i++) {
+            var segment = segments[i];
+            if (segment == null || segment.isEmpty()) {
+                relative[i] = "";
+            } else {
+                relative[i] = segment.startsWith("/") ? segment.substring(1) : segment;
+                if (isRooted(relative[i])) {
+                    return resolveEach(path, segments).toFile();
+                }
+            }
+        }
+        return path.resolve(Path.of("", relative)).toFile();
+    }
+
+    /**
+     * Searches the specified file for lines containing a literal.
+     *
+     * <p>The file is read as UTF-8, memory-mapped one region at a time, and the literal is
+     * matched against the raw bytes, so that only matching lines are decoded. Lines end with
+     * {@code \n}, {@code \r} or {@code \r\n}.</p>
+     *
+     * @param file    the file; may be {@code null}
+     * @param literal the literal to search for; may be {@code null}
+     * @return a lazy stream of the matching lines, in file order, which must be closed; an empty
+     * stream if {@code file} or {@code literal} is {@code null}
+     * @throws IOException if the file cannot be opened
+     * @since 1.3
+     */
+    public static Stream<LineMatch> search(@Nullable Path file, @Nullable String literal) throws IOException {
+        if (file == null || literal == null) {
+            return Stream.empty();
+        }
+        return toStream(LineSearch.literal(file, literal));
+    }
+
+    /**
+     * Searches the specified file for lines in which a pattern is found.
+     *
+     * <p>Only lines with non-ASCII characters are decoded before being matched. Each line is
+     * matched separately, without its terminator.</p>
+     *
+     * @param file    the file; may be {@code null}
+     * @param pattern the pattern to search for; may be {@code null}
+     * @return a lazy stream of the matching lines, in file order, which must be closed; an empty
+     * stream if {@code file} or {@code pattern} is {@code null}
+     * @throws IOException if the file cannot be opened
+     * @see #search(Path, String)
+     * @since 1.3
+     */
+    public static Stream<LineMatch> search(@Nullable Path file, @Nullable Pattern pattern) throws IOException {
+        if (file == null || pattern == null) {
+            return Stream.empty();
+        }
+        return toStream(LineSearch.pattern(file, pattern));
+    }
+
+    /**
+     * Searches the specified files, in parallel, for lines containing a literal.
+     *
+     * @param files   the files; {@code null} elements are skipped
+     * @param literal the literal to search for; may be {@code null}
+     * @return the matching lines of each file with at least one, in iteration order; an empty
+     * map if {@code files} or {@code literal} is {@code null}
+     * @throws IOException if a file cannot be read
+     * @see #search(Path, String)
+     * @since 1.3
+     */
+    public static Map<Path, List<LineMatch>> search(@Nullable Collection<Path> files, @Nullable String literal)
+            throws IOException {
+        if (literal == null) {
+            return Map.of();
+        }
+        return searchAll(files, file -> LineSearch.literal(file, literal));
+    }
+
+    /**
+     * Searches the specified files, in parallel, for lines in which a pattern is found.
+     *
+     * @param files   the files; {@code null} elements are skipped
+     * @param pattern the pattern to search for; may be {@code null}
+     * @return the matching lines of each file with at least one, in iteration order; an empty
+     * map if {@code files} or {@code pattern} is {@code null}
+     * @throws IOException if a file cannot be read
+     * @see #search(Path, Pattern)
+     * @since 1.3
+     */
+    public static Map<Path, List<LineMatch>> search(@Nullable Collection<Path> files, @Nullable Pattern pattern)
+            throws IOException {
+        if (pattern == null) {
+            return Map.of();
+        }
+        return searchAll(files, file -> LineSearch.pattern(file, pattern));
+    }
+
+    /**
+     * Creates a snapshot of the regular files in the specified directory tree.
+     *
+     * <p>Delegates to {@link DirectorySnapshot#of(Path)}.</p>
+     *
+     * @param dir the root directory; may be {@code null}
+     * @return the snapshot; {@code null} if {@code dir} is {@code null} or not a directory
+     * @throws IOException if the directory cannot be walked
+     * @see DirectorySnapshot#diff(DirectorySnapshot)
+     * @since 1.3
+     */
+    @Nullable
+    public static DirectorySnapshot snapshot(@Nullable Path dir) throws IOException {
+        return dir != null && isDirectory(dir) ? DirectorySnapshot.of(dir) : null;
+    }
+
+    /**
+     * Atomically writes the specified bytes to a file.
+     *
+     * <p>The content is written to a temporary file in the same directory, which then replaces
+     * the file with an atomic rename, so that readers never see a partially written file, even
+     * after a crash. Missing parent directories are created, and the permissions of an existing
+     * file are preserved.</p>
+     *
+     * @param path    the file to write; may be {@code null}
+     * @param content the content to write; may be {@code null}
+     * @param options the write options
+     * @return {@code true} if the file was written; {@code false} if {@code path} or
+     * {@code content} is {@code null}, or if {@link WriteOption#IF_CHANGED} is specified and the
+     * file already has the same content
+     * @throws IOException if the file cannot be written
+     * @since 1.3
+     */
+    public static boolean writeAtomically(@Nullable Path path, @Nullable byte[] content, WriteOption... options)
+            throws IOException {
+        if (path == null || content == null) {
+            return false;
+        }
+        var optionSet = toSet(options);
+        if (optionSet.contains(WriteOption.IF_CHANGED) && hasContent(path, content)) {
+            return false;
+        }
+        return commit(path, out -> out.write(content), optionSet.contains(WriteOption.SYNC), false);
+    }
+
+    /**
+     * Atomically writes the specified characters to a file, encoded as UTF-8.
+     *
+     * <p>Delegates to {@link #writeAtomically(Path, byte[], WriteOption...)}.</p>
+     *
+     * @param path    the file to write; may be {@code null}
+     * @param content the content to write; may be {@code null}
+     * @param options the write options
+     * @return {@code true} if the file was written; {@code false} if {@code path} or
+     * {@code content} is {@code null}, or if {@link WriteOption#IF_CHANGED} is specified and the
+     * file already has the same content
+     * @throws IOException if the file cannot be written
+     * @since 1.3
+     */
+    public static boolean writeAtomically(@Nullable Path path, @Nullable CharSequence content,
+                                          WriteOption... options) throws IOException {
+        if (content == null) {
+            return false;
+        }
+        return writeAtomically(path, content.toString().getBytes(StandardCharsets.UTF_8), options);
+    }
+
+    /**
+     * Atomically writes a file with the content produced by the specified writer.
+     *
+     * <p>The writer receives a buffered stream to a temporary file in the same directory, which
+     * replaces the file once the writer returns. If the writer fails, the file is left
+     * untouched.</p>
+     *
+     * @param path    the file to write; may be {@code null}
+     * @param writer  the writer producing the content; may be {@code null}
+     * @param options the write options
+     * @return {@code true} if the file was written; {@code false} if {@code path} or
+     * {@code writer} is {@code null}, or if {@link WriteOption#IF_CHANGED} is specified and the
+     * file already has the same content
+     * @throws IOException if the writer fails or the file cannot be written
+     * @see #writeAtomically(Path, byte[], WriteOption...)
+     * @since 1.3
+     */
+    public static boolean writeAtomically(@Nullable Path path, @Nullable StreamWriter writer,
+                                          WriteOption... options) throws IOException {
+        if (path == null || writer == null) {
+            return false;
+        }
+        var optionSet = toSet(options);
+        return commit(path, writer, optionSet.contains(WriteOption.SYNC), optionSet.contains(WriteOption.IF_CHANGED));
+    }
+
+    /**
+     * Computes checksums of the specified files, in parallel, and writes each next to its file.
+     *
+     * <p>Each file is read only once, as with {@link #checksums(Path, ChecksumAlgorithm...)}.
+     * A checksum is written atomically to a sidecar file named after the file with the
+     * algorithm's {@link ChecksumAlgorithm#extension() extension} appended, such as
+     * {@code app.jar.sha256}, as the hexadecimal string alone, the format of Maven
+     * repositories. Sidecar files already holding the same checksum are left untouched.</p>
+     *
+     * @param files      the files; {@code null} elements are skipped
+     * @param algorithms the checksum algorithms; all of them if none are specified
+     * @return the checksums of each file, in iteration order; an empty map if {@code files}
+     * is {@code null}
+     * @throws IOException if a file cannot be read or a checksum file cannot be written
+     * @since 1.3
+     */
+    public static Map<Path, Map<ChecksumAlgorithm, String>> writeChecksums(@Nullable Collection<Path> files,
+                                                                           ChecksumAlgorithm... algorithms)
+            throws IOException {
+        if (files == null || files.isEmpty()) {
+            return Map.of();
+        }
+        var paths = files.stream().filter(Objects::nonNull).distinct().toList();
+        var results = ParallelTasks.map(paths, CHECKSUM_PARALLELISM, "write-checksums", file -> {
+            var checksums = checksums(file, algorithms);
+            for (var checksum : checksums.entrySet()) {
+                var sidecar = file.resolveSibling(file.getFileName() + "." + checksum.getKey().extension());
+                writeAtomically(sidecar, checksum.getValue(), WriteOption.IF_CHANGED);
+            }
+            return checksums;
+        });
+        var checksums = new LinkedHashMap<Path, Map<ChecksumAlgorithm, String>>();
+        for (var i = 0; i < paths.size(); i++) {
+            checksums.put(paths.get(i), results.get(i));
+        }
+        return Collections.unmodifiableMap(checksums);
+    }
+
+    private static boolean commit(Path path, StreamWriter writer, boolean sync, boolean ifChanged)
+            throws IOException {
+        var target = path.toAbsolutePath();
+        var parent = target.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        var tmp = newTempFile(target);
+        try {
+            try (var channel = FileChannel.open(tmp, StandardOpenOption.WRITE);
+                 var out = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+                writer.write(out);
+                out.flush();
+                if (sync) {
+                    channel.force(true);
+                }
+            }
+            if (ifChanged && hasContent(target, tmp)) {
+                return false;
+            }
+            copyPermissions(target, tmp);
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (sync && parent != null) {
+                syncDirectory(parent);
+            }
+            return true;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        if (supportsPosix(from)) {
+            try {
+                Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+            } catch (NoSuchFileException ignored) {
+                // new file, keep the default permissions
+            }
+        }
+    }
+
+    // Deletes trash directories with the prefix that are no longer being deleted, ignoring failures
+    private static void deleteStaleTrash(Path parent, String prefix) {
+        var candidates = new ArrayList<Path>();
+        try (var entries = Files.newDirectoryStream(parent,
+                entry -> entry.getFileName().toString().startsWith(prefix) && !TRASH_IN_USE.contains(entry))) {
+            entries.forEach(candidates::add);
+        } catch (IOException | SecurityException e) {
+            return;
+        }
+        var staleBefore = System.currentTimeMillis() - STALE_TRASH_MILLIS;
+        for (var trash : candidates) {
+            try {
+                if (Files.getLastModifiedTime(trash, LinkOption.NOFOLLOW_LINKS).toMillis() < staleBefore) {
+                    RecursiveDelete.delete(trash, DELETE_PARALLELISM);
+                }
+            } catch (IOException | SecurityException ignored) {
+                // left for the next call
+            }
+        }
+    }
+
+    private static boolean[] existence(List<Path> paths) {
+        return ExistenceCheck.exists(paths, ExistenceCheck.LIST_THRESHOLD, paths.size() >= PARALLEL_STAT_THRESHOLD);
+    }
+
+    private static boolean hasContent(Path file, byte[] content) throws IOException {
+        try {
+            return Files.size(file) == content.length && Arrays.equals(Files.readAllBytes(file), content);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasContent(Path file, Path other) throws IOException {
+        try {
+            return Files.size(file) == Files.size(other) && Files.mismatch(file, other) == -1L;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static boolean isRooted(String segment) {
+        return segment.startsWith("/") || segment.startsWith("\\") || segment.indexOf(':') >= 0;
+    }
+
+    // Unlike Files.createTempFile, creates the file with the default permissions
+    private static Path newTempFile(Path target) throws IOException {
+        var parent = target.getParent();
+        var prefix = "." + target.getFileName() + ".";
+        while (true) {
+            var tmp = Path.of(prefix + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            tmp = parent == null ? tmp : parent.resolve(tmp);
+            try {
+                Files.newByteChannel(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+                return tmp;
+            } catch (FileAlreadyExistsException ignored) {
+                // try another name
+            }
+        }
+    }
+
+    private static Path resolveEach(Path path, String... segments) {
+        var resolved = path;
+        for (var segment : segments) {
+            if (segment != null && !segment.isEmpty()) {
+                final String normalized = segment.startsWith("/") ? segment.substring(1) : segment;
+                resolved = resolved.resolve(normalized);
+            }
+        }
+        return resolved;
+    }
 
-        if (segments != null) {
-            for (var segment : segments) {
-                if (segment != null && !segment.isEmpty()) {
-                    final String normalized = segment.startsWith("/") ? segment.substring(1) : segment;
-                    path = path.resolve(normalized);
+    private static Map<Path, List<LineMatch>> searchAll(@Nullable Collection<Path> files,
+                                                        ParallelTasks.IOFunction<Path, LineSearch> opener)
+            throws IOException {
+        if (files == null || files.isEmpty()) {
+            return Map.of();
+        }
+        var paths = files.stream().filter(Objects::nonNull).distinct().toList();
+        var results = ParallelTasks.map(paths, SEARCH_PARALLELISM, "search", file -> {
+            try (var search = opener.apply(file)) {
+                return search.toList();
+            }
+        });
+        var matches = new LinkedHashMap<Path, List<LineMatch>>();
+        for (var i = 0; i < paths.size(); i++) {
+            if (!results.get(i).isEmpty()) {
+                matches.put(paths.get(i), List.copyOf(results.get(i)));
+            }
+        }
+        return Collections.unmodifiableMap(matches);
+    }
+
+    private static boolean supportsPosix(Path path) {
+        var fs = path.getFileSystem();
+        return fs.equals(FileSystems.getDefault())
+                ? POSIX_DEFAULT
+                : fs.supportedFileAttributeViews().contains("posix");
+    }
+
+    // Persists the directory entry of a renamed file; not supported on all platforms
+    private static void syncDirectory(Path dir) {
+        try (var channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // best effort
+        }
+    }
+
+    private static Stream<LineMatch> toStream(LineSearch search) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(search,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        search.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static Set<ChecksumAlgorithm> toChecksumSet(ChecksumAlgorithm... algorithms) {
+        var set = EnumSet.noneOf(ChecksumAlgorithm.class);
+        if (algorithms != null) {
+            for (var algorithm : algorithms) {
+                if (algorithm != null) {
+                    set.add(algorithm);
                 }
             }
         }
-        return path.toFile();
+        return set.isEmpty() ? EnumSet.allOf(ChecksumAlgorithm.class) : set;
+    }
+
+    private static Set<WriteOption> toSet(WriteOption... options) {
+        var set = EnumSet.noneOf(WriteOption.class);
+        if (options != null) {
+            for (var option : options) {
+                if (option != null) {
+                    set.add(option);
+                }
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Checksum algorithms, as published alongside artifacts in Maven repositories.
+     *
+     * @since 1.3
+     */
+    public enum ChecksumAlgorithm {
+        /**
+         * MD5, with the {@code md5} extension.
+         */
+        MD5("MD5", "md5"),
+        /**
+         * SHA-1, with the {@code sha1} extension.
+         */
+        SHA_1("SHA-1", "sha1"),
+        /**
+         * SHA-256, with the {@code sha256} extension.
+         */
+        SHA_256("SHA-256", "sha256"),
+        /**
+         * SHA-512, with the {@code sha512} extension.
+         */
+        SHA_512("SHA-512", "sha512");
+
+        private final String algorithm_;
+        private final String extension_;
+
+        ChecksumAlgorithm(String algorithm, String extension) {
+            algorithm_ = algorithm;
+            extension_ = extension;
+        }
+
+        /**
+         * Returns the extension of checksum files.
+         *
+         * @return the extension, without a leading dot
+         */
+        public String extension() {
+            return extension_;
+        }
+
+        MessageDigest newDigest() {
+            try {
+                return MessageDigest.getInstance(algorithm_);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(algorithm_ + " is not supported", e);
+            }
+        }
+    }
+
+    /**
+     * The result of partitioning paths by existence.
+     *
+     * @param existing the paths that exist, in iteration order
+     * @param missing  the paths that do not exist, in iteration order
+     * @since 1.3
+     */
+    public record ExistencePartition(List<Path> existing, List<Path> missing) {
+    }
+
+    /**
+     * A line found by a search.
+     *
+     * @param file       the searched file
+     * @param lineNumber the line number, starting at 1
+     * @param offset     the offset of the line in the file, in bytes
+     * @param line       the line, without its terminator
+     * @since 1.3
+     */
+    public record LineMatch(Path file, long lineNumber, long offset, String line) {
+    }
+
+    /**
+     * Options for atomic writes.
+     *
+     * @since 1.3
+     */
+    public enum WriteOption {
+        /**
+         * Leaves the file untouched, including its last modified time, if it already has the
+         * same content.
+         */
+        IF_CHANGED,
+        /**
+         * Forces the content and the renamed directory entry to the storage device before
+         * returning.
+         */
+        SYNC
+    }
+
+    /**
+     * Writes content to an output stream.
+     *
+     * @since 1.3
+     */
+    @FunctionalInterface
+    public interface StreamWriter {
+        /**
+         * Writes the content to the specified stream.
+         *
+         * @param out the stream to write to; must not be closed
+         * @throws IOException if the content cannot be written
+         */
+        void write(OutputStream out) throws IOException;
     }
-}
\ No newline at end of file
+}
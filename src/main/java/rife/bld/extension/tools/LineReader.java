@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Reads lines from a byte stream without an intermediate character buffer.
+ * <p>
+ * Scans the raw bytes for line terminators ({@code \n}, {@code \r} or {@code \r\n}, as with
+ * {@link BufferedReader#readLine()}) and decodes each line directly from the byte buffer. Lines
+ * without any high byte are decoded as Latin-1, which amounts to a plain copy; other lines are
+ * decoded with the configured charset.
+ * <p>
+ * The byte-level fast path requires an ASCII-compatible charset (UTF-8, US-ASCII, ISO-8859-x or
+ * windows-125x). For any other charset, reading falls back to a {@link BufferedReader}.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+final class LineReader implements Closeable {
+
+    /**
+     * Default initial buffer size in bytes.
+     */
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final long CR_BYTES = 0x0D0D0D0D0D0D0D0DL;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LF_BYTES = 0x0A0A0A0A0A0A0A0AL;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Charset charset_;
+    private final InputStream in_;
+    @Nullable
+    private final BufferedReader reader_;
+    private byte[] buf_;
+    private int limit_;
+    private int pos_;
+    private boolean skipLf_;
+
+    /**
+     * Creates a new line reader.
+     *
+     * @param in      the input stream
+     * @param charset the charset of the stream
+     */
+    LineReader(InputStream in, Charset charset) {
+        this(in, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new line reader with the specified initial buffer size.
+     * <p>
+     * The buffer grows as needed to hold the longest line.
+     *
+     * @param in         the input stream
+     * @param charset    the charset of the stream
+     * @param bufferSize the initial buffer size in bytes
+     */
+    LineReader(InputStream in, Charset charset, int bufferSize) {
+        in_ = in;
+        charset_ = charset;
+        if (isAsciiCompatible(charset)) {
+            buf_ = new byte[bufferSize];
+            reader_ = null;
+        } else {
+            buf_ = new byte[0];
+            reader_ = new BufferedReader(new InputStreamReader(in, charset), bufferSize);
+        }
+    }
+
+    /**
+     * Determines whether the charset encodes ASCII characters as single ASCII bytes and never
+     * uses bytes below {@code 0x80} within multibyte sequences.
+     *
+     * @param charset the charset
+     * @return {@code true} if the byte-level fast path can be used
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)
+                || StandardCharsets.ISO_8859_1.equals(charset)) {
+            return true;
+        }
+        var name = charset.name().toLowerCase(Locale.ENGLISH);
+        return name.startsWith("iso-8859-") || name.startsWith("windows-125");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader_ != null) {
+            reader_.close();
+        } else {
+            in_.close();
+        }
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return the line, without its terminator, or {@code null} at the end of the stream
+     * @throws IOException if an I/O error occurs
+     */
+    @Nullable
+    String readLine() throws IOException {
+        if (reader_ != null) {
+            return reader_.readLine();
+        }
+
+        if (skipLf_) {
+            if (pos_ == limit_ && !fill()) {
+                return null;
+            }
+            if (buf_[pos_] == '\n') {
+                pos_++;
+            }
+            skipLf_ = false;
+        }
+
+        var scan = pos_;
+        var high = 0L;
+        while (true) {
+            var buf = buf_;
+            var limit = limit_;
+            // Skip eight bytes at a time while none of them is a line terminator
+            for (; scan + Long.BYTES <= limit; scan += Long.BYTES) {
+                var word = (long) LONG_VIEW.get(buf, scan);
+                if (hasZeroByte(word ^ LF_BYTES) || hasZeroByte(word ^ CR_BYTES)) {
+                    break;
+                }
+                high |= word;
+            }
+            for (; scan < limit; scan++) {
+                var b = buf[scan];
+                if (b == '\n' || b == '\r') {
+                    var line = decode(pos_, scan, high);
+                    pos_ = scan + 1;
+                    skipLf_ = b == '\r';
+                    return line;
+                }
+                high |= b;
+            }
+
+            var scanned = scan - pos_;
+            if (!fill()) {
+                if (limit_ > pos_) {
+                    var line = decode(pos_, limit_, high);
+                    pos_ = limit_;
+                    return line;
+                }
+                return null;
+            }
+            scan = pos_ + scanned;
+        }
+    }
+
+    private String decode(int from, int to, long high) {
+        // No high bit set: ASCII, which Latin-1 decodes as a plain copy
+        return new String(buf_, from, to - from,
+                (high & HIGH_BITS) != 0 ? charset_ : StandardCharsets.ISO_8859_1);
+    }
+
+    // Moves the pending bytes to the front of the buffer, growing it if full, and reads more.
+    private boolean fill() throws IOException {
+        if (pos_ > 0) {
+            System.arraycopy(buf_, pos_, buf_, 0, limit_ - pos_);
+            limit_ -= pos_;
+            pos_ = 0;
+        }
+        if (limit_ == buf_.length) {
+            var grown = new byte[Math.max(DEFAULT_BUFFER_SIZE, buf_.length * 2)];
+            System.arraycopy(buf_, 0, grown, 0, limit_);
+            buf_ = grown;
+        }
+        var n = in_.read(buf_, limit_, buf_.length - limit_);
+        if (n < 0) {
+            return false;
+        }
+        limit_ += n;
+        return true;
+    }
+
+    private static boolean hasZeroByte(long word) {
+        return ((word - LOW_BITS) & ~word & HIGH_BITS) != 0;
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Searches the lines of a UTF-8 file, memory-mapped one region at a time, for a literal or a
+ * regular expression.
+ * <p>
+ * Line terminators are found eight bytes at a time, as with {@link LineReader}, and a literal is
+ * matched against the raw bytes, so that only matching lines are decoded. A pattern is matched
+ * against ASCII lines through a character view of the mapped bytes, and only lines with
+ * multibyte characters are decoded first.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+final class LineSearch implements Iterator<IOTools.LineMatch>, Closeable {
+
+    /**
+     * Size of each mapped region, in bytes; regions grow to hold longer lines.
+     */
+    static final int REGION_SIZE = (int) FileChunks.MAP_CHUNK_SIZE;
+
+    private static final long CR_BYTES = 0x0D0D0D0D0D0D0D0DL;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LF_BYTES = 0x0A0A0A0A0A0A0A0AL;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    // The largest region that can be mapped as a single buffer
+    private static final int MAX_REGION_SIZE = Integer.MAX_VALUE - 8;
+
+    private final FileChannel channel_;
+    private final Path file_;
+    @Nullable
+    private final byte[] literal_;
+    @Nullable
+    private final Matcher matcher_;
+    private final int regionSize_;
+    private final long size_;
+    private long lineNumber_;
+    @Nullable
+    private IOTools.LineMatch next_;
+    private int pos_;
+    @Nullable
+    private ByteBuffer region_;
+    private long regionStart_;
+    private boolean skipLf_;
+
+    /**
+     * Opens a search.
+     *
+     * @param file       the file
+     * @param literal    the literal to search for, or {@code null} to search for the pattern
+     * @param pattern    the pattern to search for, or {@code null} to search for the literal
+     * @param regionSize the initial size of mapped regions, in bytes
+     * @throws IOException if the file cannot be opened
+     */
+    LineSearch(Path file, @Nullable byte[] literal, @Nullable Pattern pattern, int regionSize) throws IOException {
+        file_ = file;
+        regionSize_ = regionSize;
+        literal_ = literal;
+        matcher_ = pattern == null ? null : pattern.matcher("");
+        channel_ = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            size_ = channel_.size();
+        } catch (IOException e) {
+            channel_.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a search for lines containing the specified literal.
+     *
+     * @param file    the file
+     * @param literal the literal
+     * @return the search, which must be closed
+     * @throws IOException if the file cannot be opened
+     */
+    static LineSearch literal(Path file, String literal) throws IOException {
+        return new LineSearch(file, literal.getBytes(StandardCharsets.UTF_8), null, REGION_SIZE);
+    }
+
+    /**
+     * Opens a search for lines in which the specified pattern is found.
+     *
+     * @param file    the file
+     * @param pattern the pattern
+     * @return the search, which must be closed
+     * @throws IOException if the file cannot be opened
+     */
+    static LineSearch pattern(Path file, Pattern pattern) throws IOException {
+        return new LineSearch(file, null, pattern, REGION_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        region_ = null;
+        channel_.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next_ == null) {
+            try {
+                next_ = advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next_ != null;
+    }
+
+    @Override
+    public IOTools.LineMatch next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var match = next_;
+        next_ = null;
+        return match;
+    }
+
+    /**
+     * Returns all the remaining matches.
+     *
+     * @return the matches, in file order
+     * @throws IOException if the file cannot be read
+     */
+    List<IOTools.LineMatch> toList() throws IOException {
+        var matches = new ArrayList<IOTools.LineMatch>();
+        try {
+            while (hasNext()) {
+                matches.add(next());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return matches;
+    }
+
+    @Nullable
+    private IOTools.LineMatch advance() throws IOException {
+        while (true) {
+            var region = region_;
+            if (region == null || pos_ >= region.limit()) {
+                var offset = region == null ? 0L : regionStart_ + pos_;
+                if (offset >= size_) {
+                    return null;
+                }
+                region = map(offset, regionSize_);
+                if (skipLf_ && region.get(0) == '\n') {
+                    pos_ = 1;
+                }
+                skipLf_ = false;
+                continue;
+            }
+
+            var start = pos_;
+            var end = indexOfTerminator(region, start);
+            if (end < 0) {
+                var regionEnd = regionStart_ + region.limit();
+                if (regionEnd < size_) {
+                    // The line continues past the region: remap from its start, with room for it
+                    var grown = start == 0 ? (int) Math.min((long) region.limit() * 2, MAX_REGION_SIZE)
+                            : regionSize_;
+                    if (start > 0 || grown > region.limit()) {
+                        map(regionStart_ + start, grown);
+                        continue;
+                    }
+                }
+                // The last line has no terminator, or is too long to map and is split
+                end = region.limit();
+            }
+
+            lineNumber_++;
+            if (end < region.limit()) {
+                var terminator = region.get(end);
+                pos_ = end + 1;
+                if (terminator == '\r') {
+                    if (pos_ < region.limit()) {
+                        if (region.get(pos_) == '\n') {
+                            pos_++;
+                        }
+                    } else {
+                        skipLf_ = true;
+                    }
+                }
+            } else {
+                pos_ = end;
+            }
+
+            if (matches(region, start, end)) {
+                var bytes = new byte[end - start];
+                region.get(start, bytes);
+                return new IOTools.LineMatch(file_, lineNumber_, regionStart_ + start,
+                        new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static boolean containsLiteral(ByteBuffer region, int start, int end, byte[] literal) {
+        if (literal.length == 0) {
+            return true;
+        }
+        var first = literal[0];
+        var last = end - literal.length;
+        outer:
+        for (var i = start; i <= last; i++) {
+            if (region.get(i) != first) {
+                continue;
+            }
+            for (var j = 1; j < literal.length; j++) {
+                if (region.get(i + j) != literal[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean hasZeroByte(long word) {
+        return ((word - LOW_BITS) & ~word & HIGH_BITS) != 0;
+    }
+
+    // Returns the index of the next line terminator, or -1 if none in the region
+    private static int indexOfTerminator(ByteBuffer region, int from) {
+        var limit = region.limit();
+        var i = from;
+        // Skip eight bytes at a time while none of them is a line terminator
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            var word = region.getLong(i);
+            if (hasZeroByte(word ^ LF_BYTES) || hasZeroByte(word ^ CR_BYTES)) {
+                break;
+            }
+        }
+        for (; i < limit; i++) {
+            var b = region.get(i);
+            if (b == '\n' || b == '\r') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isAscii(ByteBuffer region, int start, int end) {
+        var i = start;
+        var high = 0L;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            high |= region.getLong(i);
+        }
+        for (; i < end; i++) {
+            high |= region.get(i);
+        }
+        return (high & HIGH_BITS) == 0;
+    }
+
+    private ByteBuffer map(long offset, int length) throws IOException {
+        var region = channel_.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(length, size_ - offset));
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        region_ = region;
+        regionStart_ = offset;
+        pos_ = 0;
+        return region;
+    }
+
+    private boolean matches(ByteBuffer region, int start, int end) {
+        if (literal_ != null) {
+            return containsLiteral(region, start, end, literal_);
+        }
+        if (matcher_ == null) {
+            return false;
+        }
+        CharSequence line;
+        if (isAscii(region, start, end)) {
+            line = new AsciiSequence(region, start, end);
+        } else {
+            var bytes = new byte[end - start];
+            region.get(start, bytes);
+            line = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return matcher_.reset(line).find();
+    }
+
+    // A view of ASCII bytes as characters, so that patterns are matched without copying
+    private record AsciiSequence(ByteBuffer region, int start, int end) implements CharSequence {
+        @Override
+        public char charAt(int index) {
+            return (char) region.get(start + index);
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new AsciiSequence(region, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            var bytes = new byte[end - start];
+            region.get(start, bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.io.PrintStream;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Aggregates the output of concurrent executions through a single writer thread.
+ * <p>
+ * Each execution writes to its own {@link Source}, typically set as a
+ * {@link ProcessExecutor#outputConsumer(java.util.function.Consumer) output consumer}. Lines are
+ * tagged with the source name and handed off, through a lock-free queue, to a writer thread that
+ * batches everything pending into a single write to the sink. Output from different sources
+ * therefore only ever interleaves between whole lines and producers never contend on the sink.
+ * <p>
+ * In {@link #grouped(boolean) grouped} mode, each source buffers its output until it is closed and
+ * is then written as one contiguous block.
+ *
+ * <pre>{@code
+ * try (var aggregator = new OutputAggregator(System.out)) {
+ *     // for each concurrent execution
+ *     try (var source = aggregator.source("javadoc")) {
+ *         new ProcessExecutor().command("javadoc", "...").workDir(dir).outputConsumer(source).execute();
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class OutputAggregator implements AutoCloseable {
+
+    private static final String END = ""; // sources never queue empty blocks
+    private static final Logger logger = Logger.getLogger(OutputAggregator.class.getName());
+
+    private final Object lock_ = new Object();
+    private final LinkedTransferQueue<String> queue_ = new LinkedTransferQueue<>();
+    private final Consumer<String> sink_;
+    private final Set<Source> sources_ = ConcurrentHashMap.newKeySet();
+    private final Thread writer_;
+    private volatile boolean closed_;
+    private volatile boolean grouped_;
+    private volatile boolean tagged_ = true;
+
+    /**
+     * Creates a new aggregator writing to the specified stream.
+     *
+     * @param out the output stream, must not be null
+     * @throws NullPointerException if out is null
+     */
+    public OutputAggregator(@NonNull PrintStream out) {
+        this(printTo(Objects.requireNonNull(out, "output stream must not be null")));
+    }
+
+    /**
+     * Creates a new aggregator writing to the specified sink.
+     * <p>
+     * The sink is only ever called from the writer thread, with one or more complete lines, each
+     * terminated by the system line separator.
+     *
+     * @param sink the sink, must not be null
+     * @throws NullPointerException if sink is null
+     */
+    public OutputAggregator(@NonNull Consumer<String> sink) {
+        sink_ = Objects.requireNonNull(sink, "sink must not be null");
+        writer_ = new Thread(this::drain, "output-aggregator");
+        writer_.setDaemon(true);
+        writer_.start();
+    }
+
+    /**
+     * Flushes all pending output and stops the writer thread.
+     * <p>
+     * Sources that have not been closed are flushed first. Output received afterward is discarded.
+     * If the thread is interrupted while waiting for the writer, this method returns early with
+     * the thread's interrupt status set, leaving the writer to finish in the background.
+     */
+    @Override
+    public void close() {
+        synchronized (lock_) {
+            if (closed_) {
+                return;
+            }
+            // No source can be created past this point, so none is left undrained
+            closed_ = true;
+        }
+        for (var source : sources_) {
+            source.close();
+        }
+        queue_.add(END);
+        try {
+            writer_.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Configures whether each source's output is held back until the source is closed.
+     *
+     * @param grouped {@code true} to write each source as a single block, {@code false} to write
+     *                lines as they arrive
+     * @return this instance
+     */
+    public OutputAggregator grouped(boolean grouped) {
+        grouped_ = grouped;
+        return this;
+    }
+
+    /**
+     * Returns whether each source's output is held back until the source is closed.
+     *
+     * @return {@code true} if output is grouped per source
+     */
+    public boolean grouped() {
+        return grouped_;
+    }
+
+    /**
+     * Creates a new source with the specified tag.
+     *
+     * @param tag the tag identifying the source, must not be null or empty
+     * @return the source, never null
+     * @throws IllegalArgumentException if tag is null or empty
+     * @throws IllegalStateException    if the aggregator is closed
+     */
+    public Source source(@NonNull String tag) {
+        ObjectTools.requireNotEmpty(tag, "tag must not be null or empty");
+        synchronized (lock_) {
+            if (closed_) {
+                throw new IllegalStateException("The aggregator is closed.");
+            }
+            var source = new Source(tag);
+            sources_.add(source);
+            return source;
+        }
+    }
+
+    /**
+     * Configures whether lines are prefixed with their source tag, as in {@code [tag] line}.
+     *
+     * @param tagged {@code true} to prefix lines with their tag
+     * @return this instance
+     */
+    public OutputAggregator tagged(boolean tagged) {
+        tagged_ = tagged;
+        return this;
+    }
+
+    /**
+     * Returns whether lines are prefixed with their source tag.
+     *
+     * @return {@code true} if lines are tagged
+     */
+    public boolean tagged() {
+        return tagged_;
+    }
+
+    private void drain() {
+        var batch = new StringBuilder();
+        var done = false;
+        while (!done) {
+            try {
+                var block = queue_.take();
+                do {
+                    if (block.isEmpty()) {
+                        done = true;
+                    } else {
+                        batch.append(block);
+                    }
+                } while (!done && (block = queue_.poll()) != null);
+            } catch (InterruptedException e) {
+                done = true;
+                Thread.currentThread().interrupt();
+            }
+            if (batch.length() > 0) {
+                try {
+                    sink_.accept(batch.toString());
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Could not write output", e);
+                }
+                batch.setLength(0);
+            }
+        }
+    }
+
+    private static Consumer<String> printTo(PrintStream out) {
+        return block -> {
+            out.print(block);
+            out.flush();
+        };
+    }
+
+    /**
+     * Output source of a single execution.
+     * <p>
+     * A source is meant to be written to by one execution at a time and must be
+     * {@link #close() closed} once that execution is complete.
+     */
+    public final class Source implements Consumer<String>, AutoCloseable {
+
+        private final StringBuilder buffer_ = new StringBuilder();
+        private final String prefix_;
+        private boolean closed_;
+
+        private Source(String tag) {
+            prefix_ = '[' + tag + "] ";
+        }
+
+        /**
+         * Writes a line.
+         *
+         * @param line the line, without a line terminator
+         */
+        @Override
+        public synchronized void accept(String line) {
+            if (closed_) {
+                return;
+            }
+            if (tagged_) {
+                buffer_.append(prefix_);
+            }
+            buffer_.append(line).append(System.lineSeparator());
+            if (!grouped_) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes any buffered output and detaches the source from the aggregator.
+         * Subsequent calls have no effect.
+         */
+        @Override
+        public synchronized void close() {
+            if (!closed_) {
+                closed_ = true;
+                flush();
+                sources_.remove(this);
+            }
+        }
+
+        private void flush() {
+            if (buffer_.length() > 0) {
+                queue_.add(buffer_.toString());
+                buffer_.setLength(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs I/O-bound tasks over a collection on a short-lived pool of daemon threads.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+final class ParallelTasks {
+
+    private ParallelTasks() {
+        // no-op
+    }
+
+    /**
+     * Applies the function to each item, in parallel, and returns the results in iteration order.
+     * <p>
+     * Small collections, or a parallelism of 1, are processed on the calling thread. The first
+     * failure, in iteration order, is rethrown once the remaining tasks are cancelled.
+     *
+     * @param items       the items
+     * @param parallelism the maximum number of concurrent tasks
+     * @param name        the name of the pool threads
+     * @param function    the function to apply
+     * @param <T>         the type of the items
+     * @param <R>         the type of the results
+     * @return the results, in iteration order
+     * @throws IOException if the function fails for any item
+     */
+    static <T, R> List<R> map(Collection<T> items, int parallelism, String name, IOFunction<T, R> function)
+            throws IOException {
+        var results = new ArrayList<R>(items.size());
+        if (items.size() < 2 || parallelism <= 1) {
+            for (var item : items) {
+                results.add(function.apply(item));
+            }
+            return results;
+        }
+
+        var pool = Executors.newFixedThreadPool(Math.min(parallelism, items.size()), runnable -> {
+            var thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var futures = new ArrayList<Future<R>>(items.size());
+            for (var item : items) {
+                futures.add(pool.submit(() -> function.apply(item)));
+            }
+            for (var future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            var interrupted = new InterruptedIOException("Interrupted while running: " + name);
+            interrupted.initCause(e);
+            throw interrupted;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * A function that may throw an {@link IOException}.
+     *
+     * @param <T> the type of the input
+     * @param <R> the type of the result
+     */
+    @FunctionalInterface
+    interface IOFunction<T, R> {
+        R apply(T t) throws IOException;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Caches the normalized absolute and real forms of paths, interning the results so that equal
+ * paths share a single instance.
+ * <p>
+ * Once a map holds its maximum number of paths, about a quarter of them, chosen at random, are
+ * evicted. A cached real path is only returned while the path still leads to the same file, as
+ * identified by its file key, so it is resolved again once a symbolic link along the path points
+ * elsewhere. On file systems without file keys, real paths are not cached.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+final class PathCache {
+
+    static final int DEFAULT_MAX_SIZE = 16_384;
+    /**
+     * The cache shared by the tools.
+     */
+    static final PathCache SHARED = new PathCache(DEFAULT_MAX_SIZE);
+    // One in this many entries is evicted from a full map
+    private static final int EVICTION_RATIO = 4;
+
+    private final Map<Path, Path> interned_ = new ConcurrentHashMap<>();
+    private final int maxSize_;
+    private final Map<Path, Path> normalized_ = new ConcurrentHashMap<>();
+    private final Map<Path, RealPath> real_ = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of paths in each map
+     */
+    PathCache(int maxSize) {
+        maxSize_ = maxSize;
+    }
+
+    /**
+     * Removes all cached paths.
+     */
+    void clear() {
+        interned_.clear();
+        normalized_.clear();
+        real_.clear();
+    }
+
+    /**
+     * Returns the interned instance of the specified path.
+     *
+     * @param path the path
+     * @return the interned path, equal to the specified path
+     */
+    Path intern(Path path) {
+        var interned = interned_.get(path);
+        if (interned != null) {
+            return interned;
+        }
+        bound(interned_);
+        interned = interned_.putIfAbsent(path, path);
+        return interned != null ? interned : path;
+    }
+
+    /**
+     * Returns the absolute, normalized and interned form of the specified path.
+     *
+     * @param path the path
+     * @return the normalized path
+     */
+    Path normalized(Path path) {
+        var normalized = normalized_.get(path);
+        if (normalized == null) {
+            normalized = intern(path.toAbsolutePath().normalize());
+            bound(normalized_);
+            normalized_.put(path, normalized);
+        }
+        return normalized;
+    }
+
+    /**
+     * Returns the real and interned form of the specified path, with symbolic links resolved.
+     * <p>
+     * The path is stat-ed on every call, to check that it still leads to the cached real path.
+     *
+     * @param path the path
+     * @return the real path
+     * @throws IOException if the path does not exist or cannot be resolved
+     */
+    Path real(Path path) throws IOException {
+        var fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        var cached = real_.get(path);
+        if (cached != null && fileKey != null && fileKey.equals(cached.fileKey())) {
+            return cached.path();
+        }
+        var real = intern(path.toRealPath());
+        if (fileKey == null) {
+            real_.remove(path);
+        } else {
+            bound(real_);
+            real_.put(path, new RealPath(real, fileKey));
+        }
+        return real;
+    }
+
+    /**
+     * Returns the number of interned paths.
+     *
+     * @return the number of paths
+     */
+    int size() {
+        return interned_.size();
+    }
+
+    // Evicts a random portion of the entries once the map is full
+    private void bound(Map<Path, ?> map) {
+        if (map.size() < maxSize_) {
+            return;
+        }
+        var random = ThreadLocalRandom.current();
+        map.keySet().removeIf(key -> random.nextInt(EVICTION_RATIO) == 0);
+        // Too few entries drawn, in a small map
+        var keys = map.keySet().iterator();
+        while (map.size() >= maxSize_ && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    // A resolved real path, and the key of the file it was resolved to
+    private record RealPath(Path path, Object fileKey) {
+    }
+}
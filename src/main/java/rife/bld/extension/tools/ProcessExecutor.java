@@ -21,11 +21,14 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * Generic process executor with timeout, I/O control, and output capture.
@@ -46,14 +49,113 @@ public class ProcessExecutor {
      */
     static final int DEFAULT_TIMEOUT_SECONDS = 30;
 
-    private final List<String> command_ = new ArrayList<>();
-    private final Map<String, String> env_ = new HashMap<>();
+    private static final Logger logger = Logger.getLogger(ProcessExecutor.class.getName());
+
+    private final List<String> command_;
+    @Nullable
+    private AdmissionController admissionController_;
+    private Charset charset_ = StandardCharsets.UTF_8;
+    private List<Integer> cpuAffinity_ = List.of();
+    private Map<String, String> env_;
+    private boolean envShared_;
     private boolean inheritIO_;
+    private int niceness_;
     @Nullable
     private Consumer<String> outputConsumer_;
     private int timeout_ = DEFAULT_TIMEOUT_SECONDS;
+    @Nullable
+    private File validatedWorkDir_;
     private File workDir_;
 
+    /**
+     * Creates a new process executor.
+     */
+    public ProcessExecutor() {
+        command_ = new ArrayList<>();
+        env_ = new HashMap<>();
+    }
+
+    /**
+     * Creates a new process executor from a template, appending the specified arguments to its command.
+     * <p>
+     * The template's environment is shared until it is modified, and its working directory is not
+     * validated again.
+     *
+     * @param template the template
+     * @param args     the arguments, already validated
+     */
+    ProcessExecutor(ProcessTemplate template, Collection<String> args) {
+        command_ = new ArrayList<>(template.command().size() + args.size());
+        command_.addAll(template.command());
+        command_.addAll(args);
+        env_ = template.env();
+        envShared_ = true;
+        admissionController_ = template.admissionController();
+        charset_ = template.charset();
+        cpuAffinity_ = template.cpuAffinity();
+        inheritIO_ = template.inheritIO();
+        niceness_ = template.niceness();
+        outputConsumer_ = template.outputConsumer();
+        timeout_ = template.timeout();
+        workDir_ = template.workDir();
+        validatedWorkDir_ = workDir_;
+    }
+
+    /**
+     * Configures the admission controller used to delay the launch until resources are available.
+     * <p>
+     * The same controller should be shared by all executors running concurrently. A permit is
+     * acquired before the process is started and released once it has terminated. Time spent
+     * waiting for the permit counts against the {@link #timeout(int) timeout}; if none is granted
+     * in time, the execution is reported as timed out without being started.
+     *
+     * @param controller the admission controller, or null to disable
+     * @return this instance
+     * @since 1.3
+     */
+    public ProcessExecutor admissionController(@Nullable AdmissionController controller) {
+        admissionController_ = controller;
+        return this;
+    }
+
+    /**
+     * Returns the admission controller.
+     *
+     * @return the admission controller, or null if not set
+     * @since 1.3
+     */
+    @Nullable
+    public AdmissionController admissionController() {
+        return admissionController_;
+    }
+
+    /**
+     * Configures the charset used to decode the captured output.
+     * <p>
+     * The default is UTF-8. Output in an ASCII-compatible charset (UTF-8, US-ASCII, ISO-8859-x or
+     * windows-125x) is split into lines at the byte level, with pure ASCII lines copied without
+     * decoding.
+     *
+     * @param charset the charset, must not be null
+     * @return this instance
+     * @throws NullPointerException if charset is null
+     * @since 1.3
+     */
+    public ProcessExecutor charset(@NonNull Charset charset) {
+        charset_ = Objects.requireNonNull(charset, "charset must not be null");
+        return this;
+    }
+
+    /**
+     * Returns the charset used to decode the captured output.
+     *
+     * @return the charset, never null
+     * @since 1.3
+     */
+    public Charset charset() {
+        return charset_;
+    }
+
     /**
      * Sets the command and arguments to be executed, replacing any previously configured command.
      *
@@ -93,6 +195,43 @@ public class ProcessExecutor {
         return this;
     }
 
+    /**
+     * Configures the CPUs the child process is allowed to run on.
+     * <p>
+     * Only applied on Linux, by launching the command through {@code taskset}; ignored on other
+     * operating systems or if {@code taskset} is not available.
+     *
+     * @param cpus the CPU indices, or none to not restrict the affinity
+     * @return this instance
+     * @throws IllegalArgumentException if any CPU index is negative
+     * @since 1.3
+     */
+    public ProcessExecutor cpuAffinity(int... cpus) {
+        if (cpus == null || cpus.length == 0) {
+            cpuAffinity_ = List.of();
+        } else {
+            var sorted = new TreeSet<Integer>();
+            for (var cpu : cpus) {
+                if (cpu < 0) {
+                    throw new IllegalArgumentException("CPU indices must be >= 0");
+                }
+                sorted.add(cpu);
+            }
+            cpuAffinity_ = List.copyOf(sorted);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the CPUs the child process is allowed to run on.
+     *
+     * @return the sorted, unmodifiable list of CPU indices; empty if the affinity is not restricted
+     * @since 1.3
+     */
+    public List<Integer> cpuAffinity() {
+        return cpuAffinity_;
+    }
+
     /**
      * Adds an environment variable for the command.
      *
@@ -104,7 +243,7 @@ public class ProcessExecutor {
     public ProcessExecutor env(@NonNull String name, @NonNull String value) {
         Objects.requireNonNull(name, "environment variable name must not be null");
         Objects.requireNonNull(value, "environment variable value must not be null");
-        env_.put(name, value);
+        ownEnv().put(name, value);
         return this;
     }
 
@@ -117,7 +256,7 @@ public class ProcessExecutor {
      */
     public ProcessExecutor env(@NonNull Map<String, String> vars) {
         Objects.requireNonNull(vars, "environment variables map must not be null");
-        env_.putAll(vars);
+        ownEnv().putAll(vars);
         return this;
     }
 
@@ -127,7 +266,7 @@ public class ProcessExecutor {
      * @return the environment map, never null
      */
     public Map<String, String> env() {
-        return env_;
+        return ownEnv();
     }
 
     /**
@@ -135,7 +274,8 @@ public class ProcessExecutor {
      *
      * @return the process result containing exit code and captured output
      * @throws IOException           if the process cannot be started
-     * @throws InterruptedException  if the thread is interrupted while waiting
+     * @throws InterruptedException  if the thread is interrupted while waiting, including for an
+     *                               {@link #admissionController(AdmissionController) admission} permit
      * @throws IllegalStateException if no command is set, the working directory is invalid,
      *                               or both {@link #inheritIO()} and {@link #outputConsumer(Consumer)} are configured
      */
@@ -148,11 +288,20 @@ public class ProcessExecutor {
         Process proc = null;
         Thread outputThread = null;
         boolean timedOut = false;
+        // Waiting for an admission permit counts against the timeout
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout_);
+        AdmissionController.Permit permit = null;
+        if (admissionController_ != null) {
+            permit = admissionController_.acquire(timeout_, TimeUnit.SECONDS);
+            if (permit == null) {
+                return new ProcessResult(-1, "", true);
+            }
+        }
 
         try {
             proc = pb.start();
             outputThread = startOutputReader(proc, outputLines);
-            boolean finished = proc.waitFor(timeout_, TimeUnit.SECONDS);
+            boolean finished = proc.waitFor(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
 
             if (!finished) {
                 timedOut = true;
@@ -167,6 +316,9 @@ public class ProcessExecutor {
         } finally {
             cleanupProcess(proc);
             cleanupThread(outputThread);
+            if (permit != null) {
+                permit.close();
+            }
         }
     }
 
@@ -198,6 +350,37 @@ public class ProcessExecutor {
         return inheritIO_;
     }
 
+    /**
+     * Configures the scheduling priority adjustment of the child process.
+     * <p>
+     * Positive values lower the priority, making the process yield the CPU to others; negative values
+     * usually require elevated privileges. Only applied on Linux, by launching the command through
+     * {@code nice}; ignored on other operating systems or if {@code nice} is not available.
+     *
+     * @param niceness the niceness adjustment, from {@code -20} to {@code 19}; {@code 0} to leave the
+     *                 priority unchanged
+     * @return this instance
+     * @throws IllegalArgumentException if niceness is out of range
+     * @since 1.3
+     */
+    public ProcessExecutor niceness(int niceness) {
+        if (niceness < -20 || niceness > 19) {
+            throw new IllegalArgumentException("niceness must be between -20 and 19");
+        }
+        niceness_ = niceness;
+        return this;
+    }
+
+    /**
+     * Returns the scheduling priority adjustment of the child process.
+     *
+     * @return the niceness adjustment, {@code 0} if unchanged
+     * @since 1.3
+     */
+    public int niceness() {
+        return niceness_;
+    }
+
     /**
      * Sets a consumer to receive output lines as they arrive.
      * <p>
@@ -236,6 +419,29 @@ public class ProcessExecutor {
         return timeout_;
     }
 
+    /**
+     * Creates an immutable, thread-safe template from this executor's current configuration.
+     * <p>
+     * The template validates the configuration once, and can then derive any number of executors
+     * that only differ by the arguments appended to the command, for example:
+     * <pre>{@code
+     * var git = new ProcessExecutor().command("git").workDir(repo).toTemplate();
+     * var status = git.execute("status", "--short");
+     * var log = git.execute("log", "-1");
+     * }</pre>
+     * Later changes to this executor do not affect the template.
+     *
+     * @return the template, never null
+     * @throws IllegalStateException if no command is set, the working directory is invalid,
+     *                               or both {@link #inheritIO()} and {@link #outputConsumer(Consumer)} are configured
+     * @since 1.3
+     */
+    public ProcessTemplate toTemplate() {
+        validatePreconditions();
+        return new ProcessTemplate(command_, env_, workDir_, timeout_, inheritIO_, outputConsumer_, charset_,
+                cpuAffinity_, niceness_, admissionController_);
+    }
+
     /**
      * Configures the working directory.
      *
@@ -316,7 +522,7 @@ public class ProcessExecutor {
     @SuppressFBWarnings("COMMAND_INJECTION")
     private ProcessBuilder createProcessBuilder() {
         var pb = new ProcessBuilder();
-        pb.command(command_);
+        pb.command(wrapCommand(command_, cpuAffinity_, niceness_, SystemTools.isLinux()));
         pb.directory(workDir_);
 
         if (!env_.isEmpty()) {
@@ -333,18 +539,29 @@ public class ProcessExecutor {
         return pb;
     }
 
+    private static boolean isOnPath(String name) {
+        return SystemTools.which(name) != null;
+    }
+
     private String joinLines(Collection<String> lines) {
         return String.join(System.lineSeparator(), lines);
     }
 
+    private Map<String, String> ownEnv() {
+        if (envShared_) {
+            env_ = new HashMap<>(env_);
+            envShared_ = false;
+        }
+        return env_;
+    }
+
     private Thread startOutputReader(Process proc, Collection<String> outputLines) {
         if (inheritIO_) {
             return null;
         }
 
         var thread = new Thread(() -> {
-            try (var reader = new BufferedReader(
-                    new InputStreamReader(proc.getInputStream(), StandardCharsets.UTF_8))) {
+            try (var reader = new LineReader(proc.getInputStream(), charset_)) {
                 String line;
                 while ((line = reader.readLine()) != null) {
                     outputLines.add(line);
@@ -364,7 +581,7 @@ public class ProcessExecutor {
         if (ObjectTools.isEmpty(command_)) {
             throw new IllegalStateException("A command must be specified.");
         }
-        if (!IOTools.isDirectory(workDir_)) {
+        if (!(workDir_ != null && workDir_.equals(validatedWorkDir_)) && !IOTools.isDirectory(workDir_)) {
             throw new IllegalStateException("A valid working directory must be specified.");
         }
         if (inheritIO_ && outputConsumer_ != null) {
@@ -372,6 +589,44 @@ public class ProcessExecutor {
         }
     }
 
+    /**
+     * Wraps the command with {@code nice} and {@code taskset} as needed to apply the scheduling settings.
+     *
+     * @param command     the command
+     * @param cpuAffinity the CPU indices, empty for no restriction
+     * @param niceness    the niceness adjustment, {@code 0} for none
+     * @param isLinux     whether the settings can be applied
+     * @return the command to execute
+     */
+    static List<String> wrapCommand(List<String> command, List<Integer> cpuAffinity, int niceness,
+                                    boolean isLinux) {
+        if (!isLinux || (cpuAffinity.isEmpty() && niceness == 0)) {
+            return command;
+        }
+
+        var wrapped = new ArrayList<String>(command.size() + 6);
+        if (niceness != 0) {
+            if (isOnPath("nice")) {
+                wrapped.add("nice");
+                wrapped.add("-n");
+                wrapped.add(String.valueOf(niceness));
+            } else {
+                logger.warning("Ignoring niceness, nice is not available");
+            }
+        }
+        if (!cpuAffinity.isEmpty()) {
+            if (isOnPath("taskset")) {
+                wrapped.add("taskset");
+                wrapped.add("-c");
+                wrapped.add(cpuAffinity.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            } else {
+                logger.warning("Ignoring CPU affinity, taskset is not available");
+            }
+        }
+        wrapped.addAll(command);
+        return wrapped;
+    }
+
     /**
      * Result of a process execution.
      *
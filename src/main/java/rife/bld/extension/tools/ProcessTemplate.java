@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Immutable, thread-safe process execution template.
+ * <p>
+ * Holds a pre-validated command prefix, environment and working directory, along with the other
+ * settings of the {@link ProcessExecutor} it was {@link ProcessExecutor#toTemplate() created from}.
+ * Executions are derived by appending arguments to the command prefix; only those arguments are
+ * validated, and the derived executor shares the template's environment map instead of copying it
+ * until it is modified. Each launch still applies the environment to a new {@link ProcessBuilder},
+ * which starts from a copy of the current process's environment.
+ * <p>
+ * A template can be shared across threads. The {@link #outputConsumer() output consumer}, if any,
+ * is shared by all derived executions and must therefore be thread-safe.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public final class ProcessTemplate {
+
+    @Nullable
+    private final AdmissionController admissionController_;
+    private final Charset charset_;
+    private final List<String> command_;
+    private final List<Integer> cpuAffinity_;
+    private final Map<String, String> env_;
+    private final boolean inheritIO_;
+    private final int niceness_;
+    @Nullable
+    private final Consumer<String> outputConsumer_;
+    private final int timeout_;
+    private final File workDir_;
+
+    ProcessTemplate(List<String> command, Map<String, String> env, File workDir, int timeout,
+                    boolean inheritIO, @Nullable Consumer<String> outputConsumer, Charset charset,
+                    List<Integer> cpuAffinity, int niceness, @Nullable AdmissionController admissionController) {
+        command_ = List.copyOf(command);
+        env_ = Map.copyOf(env);
+        workDir_ = workDir;
+        timeout_ = timeout;
+        inheritIO_ = inheritIO;
+        outputConsumer_ = outputConsumer;
+        charset_ = charset;
+        cpuAffinity_ = List.copyOf(cpuAffinity);
+        niceness_ = niceness;
+        admissionController_ = admissionController;
+    }
+
+    /**
+     * Returns the admission controller.
+     *
+     * @return the admission controller, or null if not set
+     */
+    @Nullable
+    public AdmissionController admissionController() {
+        return admissionController_;
+    }
+
+    /**
+     * Returns the charset used to decode the captured output.
+     *
+     * @return the charset, never null
+     */
+    public Charset charset() {
+        return charset_;
+    }
+
+    /**
+     * Returns the command prefix.
+     *
+     * @return the unmodifiable command prefix, never empty
+     */
+    public List<String> command() {
+        return command_;
+    }
+
+    /**
+     * Returns the CPUs derived processes are allowed to run on.
+     *
+     * @return the unmodifiable list of CPU indices; empty if the affinity is not restricted
+     */
+    public List<Integer> cpuAffinity() {
+        return cpuAffinity_;
+    }
+
+    /**
+     * Returns the environment variables.
+     *
+     * @return the unmodifiable environment map, never null
+     */
+    public Map<String, String> env() {
+        return env_;
+    }
+
+    /**
+     * Executes the command prefix followed by the specified arguments.
+     *
+     * @param args the arguments to append, must not contain null/empty elements
+     * @return the process result containing exit code and captured output
+     * @throws IOException              if the process cannot be started
+     * @throws InterruptedException     if the thread is interrupted while waiting
+     * @throws IllegalArgumentException if args is null or contains null or empty elements
+     * @see ProcessExecutor#execute()
+     */
+    public ProcessExecutor.ProcessResult execute(@NonNull String... args)
+            throws IOException, InterruptedException {
+        return executor(args).execute();
+    }
+
+    /**
+     * Executes the command prefix followed by the specified arguments.
+     *
+     * @param args the arguments to append, must not contain null/empty elements
+     * @return the process result containing exit code and captured output
+     * @throws IOException              if the process cannot be started
+     * @throws InterruptedException     if the thread is interrupted while waiting
+     * @throws IllegalArgumentException if args is null or contains null or empty elements
+     * @see ProcessExecutor#execute()
+     */
+    public ProcessExecutor.ProcessResult execute(@NonNull Collection<String> args)
+            throws IOException, InterruptedException {
+        return executor(args).execute();
+    }
+
+    /**
+     * Derives a new executor running the command prefix followed by the specified arguments.
+     * <p>
+     * The executor can be further configured without affecting this template.
+     *
+     * @param args the arguments to append, must not contain null/empty elements
+     * @return a new executor, never null
+     * @throws IllegalArgumentException if args is null or contains null or empty elements
+     */
+    public ProcessExecutor executor(@NonNull String... args) {
+        requireValidArgs(args);
+        return new ProcessExecutor(this, List.of(args));
+    }
+
+    /**
+     * Derives a new executor running the command prefix followed by the specified arguments.
+     * <p>
+     * The executor can be further configured without affecting this template.
+     *
+     * @param args the arguments to append, must not contain null/empty elements
+     * @return a new executor, never null
+     * @throws IllegalArgumentException if args is null or contains null or empty elements
+     */
+    public ProcessExecutor executor(@NonNull Collection<String> args) {
+        requireValidArgs(args);
+        return new ProcessExecutor(this, args);
+    }
+
+    /**
+     * Returns whether derived processes inherit the I/O streams of the current JVM.
+     *
+     * @return {@code true} if I/O is inherited, {@code false} if output is captured
+     */
+    public boolean inheritIO() {
+        return inheritIO_;
+    }
+
+    /**
+     * Returns the scheduling priority adjustment of derived processes.
+     *
+     * @return the niceness adjustment, {@code 0} if unchanged
+     */
+    public int niceness() {
+        return niceness_;
+    }
+
+    /**
+     * Returns the consumer receiving output lines of derived processes.
+     *
+     * @return the output consumer, or null if not set
+     */
+    @Nullable
+    public Consumer<String> outputConsumer() {
+        return outputConsumer_;
+    }
+
+    /**
+     * Returns the command timeout in seconds.
+     *
+     * @return the timeout
+     */
+    public int timeout() {
+        return timeout_;
+    }
+
+    /**
+     * Returns the working directory.
+     *
+     * @return the directory, never null
+     */
+    public File workDir() {
+        return workDir_;
+    }
+
+    private static void requireValidArgs(@Nullable Object[] args) {
+        if (args == null || args.length > 0) {
+            ObjectTools.requireAllNotEmpty(args, ProcessExecutor.COMMAND_NOT_VALID);
+        }
+    }
+
+    private static void requireValidArgs(@Nullable Collection<String> args) {
+        if (args == null || !args.isEmpty()) {
+            ObjectTools.requireAllNotEmpty(args, ProcessExecutor.COMMAND_NOT_VALID);
+        }
+    }
+}
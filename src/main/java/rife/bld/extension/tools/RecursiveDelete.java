@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes directory trees, removing the subdirectories of each directory in parallel.
+ * <p>
+ * Symbolic links are deleted, never followed. Read-only files, and directories that cannot be
+ * listed or modified by their owner, are made writable and deleted. Permissions are only changed
+ * within the tree, never on the parent of its root.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+final class RecursiveDelete {
+
+    private RecursiveDelete() {
+        // no-op
+    }
+
+    /**
+     * Deletes the specified file or directory tree.
+     *
+     * @param root        the file or directory
+     * @param parallelism the maximum number of directories processed concurrently
+     * @return the number of files and directories deleted, {@code 0} if the root does not exist
+     * @throws IOException if an entry cannot be deleted
+     */
+    static long delete(Path root, int parallelism) throws IOException {
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(root, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return 0L;
+        }
+        if (!attrs.isDirectory()) {
+            return deleteEntry(root, root) ? 1L : 0L;
+        }
+
+        var deleted = new LongAdder();
+        var task = new DeleteTask(root, root, deleted);
+        if (parallelism <= 1) {
+            task.deleteTree();
+            return deleted.sum();
+        }
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdownNow();
+        }
+        return deleted.sum();
+    }
+
+    // Returns whether the entry existed
+    private static boolean deleteEntry(Path path, Path root) throws IOException {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (AccessDeniedException e) {
+            if (!makeDeletable(path, root)) {
+                throw e;
+            }
+            return Files.deleteIfExists(path);
+        }
+    }
+
+    private static boolean grantOwnerAccess(Path dir) {
+        var view = Files.getFileAttributeView(dir, PosixFileAttributeView.class, LinkOption.NOFOLLOW_LINKS);
+        if (view == null) {
+            return false;
+        }
+        try {
+            var permissions = view.readAttributes().permissions();
+            if (permissions.add(PosixFilePermission.OWNER_READ)
+                    | permissions.add(PosixFilePermission.OWNER_WRITE)
+                    | permissions.add(PosixFilePermission.OWNER_EXECUTE)) {
+                view.setPermissions(permissions);
+                return true;
+            }
+        } catch (IOException ignored) {
+            // fall through
+        }
+        return false;
+    }
+
+    private static DirectoryStream<Path> list(Path dir) throws IOException {
+        try {
+            return Files.newDirectoryStream(dir);
+        } catch (AccessDeniedException e) {
+            if (!grantOwnerAccess(dir)) {
+                throw e;
+            }
+            return Files.newDirectoryStream(dir);
+        }
+    }
+
+    // Clears the DOS read-only attribute, or grants write access to the parent directory if within the tree
+    private static boolean makeDeletable(Path path, Path root) {
+        var changed = false;
+        var dos = Files.getFileAttributeView(path, DosFileAttributeView.class, LinkOption.NOFOLLOW_LINKS);
+        if (dos != null) {
+            try {
+                dos.setReadOnly(false);
+                changed = true;
+            } catch (IOException ignored) {
+                // fall through
+            }
+        }
+        var parent = path.equals(root) ? null : path.getParent();
+        return (parent != null && grantOwnerAccess(parent)) || changed;
+    }
+
+    private static final class DeleteTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient LongAdder deleted_;
+        private final transient Path dir_;
+        private final transient Path root_;
+
+        DeleteTask(Path dir, Path root, LongAdder deleted) {
+            dir_ = dir;
+            root_ = root;
+            deleted_ = deleted;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                deleteTree();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void deleteTree() throws IOException {
+            var subtasks = new ArrayList<DeleteTask>();
+            try (var entries = list(dir_)) {
+                for (var entry : entries) {
+                    if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        subtasks.add(new DeleteTask(entry, root_, deleted_));
+                    } else if (deleteEntry(entry, root_)) {
+                        deleted_.increment();
+                    }
+                }
+            } catch (NoSuchFileException | NotDirectoryException e) {
+                // Removed or replaced concurrently
+                if (deleteEntry(dir_, root_)) {
+                    deleted_.increment();
+                }
+                return;
+            }
+
+            if (inForkJoinPool()) {
+                invokeAll(subtasks);
+            } else {
+                for (var subtask : subtasks) {
+                    subtask.deleteTree();
+                }
+            }
+            if (deleteEntry(dir_, root_)) {
+                deleted_.increment();
+            }
+        }
+    }
+}
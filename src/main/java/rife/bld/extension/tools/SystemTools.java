@@ -18,7 +18,14 @@ package rife.bld.extension.tools;
 
 import edu.umd.cs.findbugs.annotations.Nullable;
 
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -27,14 +34,17 @@ import java.util.function.Function;
  * <p>
  * Provides normalized OS-name checks for common platforms (AIX, FreeBSD,
  * Linux, macOS, OpenVMS, Solaris, Windows) along with heuristics for
- * identifying Cygwin and MinGW/MSYS2 environments. Designed for
- * null‑safety, testability, and minimal overhead.
+ * identifying Cygwin and MinGW/MSYS2 environments, and locates executables
+ * on the {@code PATH}. Designed for null‑safety, testability, and minimal
+ * overhead.
  *
  * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
  * @since 1.0
  */
 public final class SystemTools {
 
+    // The extensions Windows tries when PATHEXT is not set
+    private static final String DEFAULT_PATHEXT = ".COM;.EXE;.BAT;.CMD";
     private static final String OS_NAME = System.getProperty("os.name", "").toLowerCase(Locale.ENGLISH);
 
     private SystemTools() {
@@ -325,6 +335,85 @@ public final class SystemTools {
         return n.contains("windows") || n.startsWith("win");
     }
 
+    /**
+     * Locates the executable with the specified name on the {@code PATH}, like the {@code which}
+     * command.
+     *
+     * <p>This method delegates to {@link #which(Collection)}.</p>
+     *
+     * @param name the name of the executable, such as {@code git}
+     * @return the first matching executable; or {@code null} if none is found or the name is
+     * {@code null} or blank
+     * @since 1.3
+     */
+    @Nullable
+    public static Path which(@Nullable String name) {
+        if (TextTools.isBlank(name)) {
+            return null;
+        }
+        return which(List.of(name)).get(name);
+    }
+
+    /**
+     * Locates the executables with the specified names on the {@code PATH}, in a single pass.
+     *
+     * <p>On Windows, names are case-insensitive, and names without one of the extensions listed in
+     * {@code PATHEXT} are tried with each of them. Names containing a separator are resolved as
+     * paths. Directory listings are cached for as long as the directories are unchanged, so that
+     * repeated lookups only cost a stat per {@code PATH} entry.</p>
+     *
+     * @param names the names of the executables; {@code null} or blank names are ignored
+     * @return the first matching executable of each name found, in iteration order; an empty map
+     * if none is found or {@code names} is {@code null}
+     * @since 1.3
+     */
+    public static Map<String, Path> which(@Nullable Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return which(names, OS_NAME, System::getenv);
+    }
+
+    /**
+     * Locates the executables with the specified names on the {@code PATH} provided by the
+     * environment, for the given operating system.
+     *
+     * @param names       the names of the executables
+     * @param osName      the name of the operating system
+     * @param envProvider a function to retrieve environment variables
+     * @return the first matching executable of each name found, in iteration order
+     * @since 1.3
+     */
+    static Map<String, Path> which(Collection<String> names, @Nullable String osName,
+                                   Function<String, String> envProvider) {
+        var windows = isWindows(osName);
+        var dirs = new ArrayList<Path>();
+        var path = envProvider.apply("PATH");
+        if (path != null) {
+            for (var entry : path.split(windows ? ";" : ":")) {
+                var dir = windows ? entry.replace("\"", "").trim() : entry;
+                if (!dir.isEmpty()) {
+                    try {
+                        dirs.add(Path.of(dir));
+                    } catch (InvalidPathException ignored) {
+                        // not a valid path on this platform
+                    }
+                }
+            }
+        }
+
+        var extensions = new ArrayList<String>();
+        if (windows) {
+            var pathExt = envProvider.apply("PATHEXT");
+            for (var extension : (TextTools.isBlank(pathExt) ? DEFAULT_PATHEXT : pathExt).split(";")) {
+                if (!extension.isBlank()) {
+                    extensions.add(extension.trim());
+                }
+            }
+        }
+        return ExecutableCache.SHARED.resolve(names, dirs, extensions, windows);
+    }
+
     /**
      * Normalize the given OS name.
      *
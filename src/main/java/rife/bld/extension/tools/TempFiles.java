@@ -0,0 +1,381 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates temporary files and directories under a per-build root, and deletes them all at once.
+ * <p>
+ * Where a memory-backed file system is available, such as {@code /dev/shm} on Linux, entries are
+ * created there as long as it keeps at least {@link #minFreeSpace(long) some space} free after
+ * their expected size, which removes disk latency from short-lived scratch files such as argument
+ * files or spilled output; otherwise they are created in the default temporary directory. Each
+ * root is created on first use, and is only accessible by the current user on POSIX file systems.
+ * <p>
+ * Every entry created is tracked, and the roots are {@link #deleteAll() deleted}, their
+ * subdirectories in parallel, when this instance is closed. The {@link #shared() shared} instance
+ * is cleaned up when the JVM shuts down.
+ *
+ * <pre>{@code
+ * try (var temp = new TempFiles()) {
+ *     var argFile = temp.createFile("javac-", ".args");
+ *     Files.write(argFile, args);
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class TempFiles implements AutoCloseable {
+
+    /**
+     * The default space to keep free on a memory-backed file system, in bytes.
+     */
+    public static final long DEFAULT_MIN_FREE_SPACE = 256L * 1024L * 1024L;
+    private static final Logger logger = Logger.getLogger(TempFiles.class.getName());
+    private static final Path SHM = Path.of("/dev/shm");
+
+    // The entries created and not yet deleted
+    private final Set<Path> created_ = ConcurrentHashMap.newKeySet();
+    private final Path directory_;
+    private final Object lock_ = new Object();
+    @Nullable
+    private final Path memoryDirectory_;
+    @Nullable
+    private Path diskRoot_;
+    @Nullable
+    private Path memoryRoot_;
+    private long minFreeSpace_ = DEFAULT_MIN_FREE_SPACE;
+    private int parallelism_ = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private boolean preferMemory_ = true;
+
+    /**
+     * Creates a new instance using the default temporary directory and, on Linux, {@code /dev/shm}
+     * if it is a writable memory-backed file system.
+     */
+    public TempFiles() {
+        this(Path.of(System.getProperty("java.io.tmpdir")), defaultMemoryDirectory());
+    }
+
+    /**
+     * Creates a new instance using the specified directories.
+     *
+     * @param directory       the directory in which to create the disk root, must not be null
+     * @param memoryDirectory the existing directory, on a memory-backed file system, in which to
+     *                        create the memory root; or {@code null} to always use the disk
+     * @throws NullPointerException if directory is null
+     */
+    public TempFiles(@NonNull Path directory, @Nullable Path memoryDirectory) {
+        directory_ = Objects.requireNonNull(directory, "directory must not be null").toAbsolutePath();
+        memoryDirectory_ = memoryDirectory == null ? null : memoryDirectory.toAbsolutePath();
+    }
+
+    /**
+     * Returns the instance shared by the build, whose entries are deleted when the JVM shuts down.
+     *
+     * @return the shared instance
+     */
+    public static TempFiles shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Deletes all the entries created so far, then the roots.
+     *
+     * @throws IOException if an entry cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        deleteAll();
+    }
+
+    /**
+     * Creates a new temporary directory, preferring a memory-backed file system.
+     *
+     * @param prefix the prefix of the directory name; may be {@code null}
+     * @return the directory
+     * @throws IOException if the directory cannot be created
+     */
+    public Path createDirectory(@Nullable String prefix) throws IOException {
+        return createDirectory(prefix, 0L);
+    }
+
+    /**
+     * Creates a new temporary directory, on a memory-backed file system if its expected contents
+     * fit there.
+     *
+     * @param prefix       the prefix of the directory name; may be {@code null}
+     * @param expectedSize the expected size of the directory's contents, in bytes
+     * @return the directory
+     * @throws IOException if the directory cannot be created
+     */
+    public Path createDirectory(@Nullable String prefix, long expectedSize) throws IOException {
+        return create(expectedSize, root -> Files.createTempDirectory(root, prefix));
+    }
+
+    /**
+     * Creates a new empty temporary file, preferring a memory-backed file system.
+     *
+     * @param prefix the prefix of the file name; may be {@code null}
+     * @param suffix the suffix of the file name; {@code .tmp} if {@code null}
+     * @return the file
+     * @throws IOException if the file cannot be created
+     */
+    public Path createFile(@Nullable String prefix, @Nullable String suffix) throws IOException {
+        return createFile(prefix, suffix, 0L);
+    }
+
+    /**
+     * Creates a new empty temporary file, on a memory-backed file system if its expected size
+     * fits there.
+     *
+     * @param prefix       the prefix of the file name; may be {@code null}
+     * @param suffix       the suffix of the file name; {@code .tmp} if {@code null}
+     * @param expectedSize the expected size of the file, in bytes
+     * @return the file
+     * @throws IOException if the file cannot be created
+     */
+    public Path createFile(@Nullable String prefix, @Nullable String suffix, long expectedSize) throws IOException {
+        return create(expectedSize, root -> Files.createTempFile(root, prefix, suffix));
+    }
+
+    /**
+     * Deletes the specified entry before this instance is closed.
+     *
+     * @param path the file or directory; may be {@code null}
+     * @return {@code true} if the entry was created by this instance and has been deleted
+     * @throws IOException if the entry cannot be deleted
+     */
+    public boolean delete(@Nullable Path path) throws IOException {
+        if (path == null || !created_.remove(path)) {
+            return false;
+        }
+        return RecursiveDelete.delete(path, 1) > 0L;
+    }
+
+    /**
+     * Deletes the roots, with all the entries created so far and anything created in them by
+     * other means. Subdirectories are deleted in parallel.
+     * <p>
+     * Entries cannot be created while the roots are being deleted. This instance remains usable
+     * afterward; new roots are created as needed.
+     *
+     * @return the number of files and directories deleted
+     * @throws IOException if an entry cannot be deleted
+     */
+    public long deleteAll() throws IOException {
+        synchronized (lock_) {
+            var deleted = 0L;
+            try {
+                if (diskRoot_ != null) {
+                    deleted += RecursiveDelete.delete(diskRoot_, parallelism_);
+                }
+                if (memoryRoot_ != null) {
+                    deleted += RecursiveDelete.delete(memoryRoot_, parallelism_);
+                }
+            } finally {
+                diskRoot_ = null;
+                memoryRoot_ = null;
+                created_.clear();
+            }
+            return deleted;
+        }
+    }
+
+    /**
+     * Returns the directory in which the disk root is created.
+     *
+     * @return the directory
+     */
+    public Path directory() {
+        return directory_;
+    }
+
+    /**
+     * Returns the directory, on a memory-backed file system, in which the memory root is created.
+     *
+     * @return the directory; or {@code null} if none is available
+     */
+    @Nullable
+    public Path memoryDirectory() {
+        return memoryDirectory_;
+    }
+
+    /**
+     * Configures the space to keep free on the memory-backed file system; entries that would
+     * leave less are created on disk.
+     *
+     * @param minFreeSpace the space, in bytes, must be greater than or equal to 0
+     * @return this instance
+     * @throws IllegalArgumentException if the space is less than 0
+     */
+    public TempFiles minFreeSpace(long minFreeSpace) {
+        if (minFreeSpace < 0L) {
+            throw new IllegalArgumentException("minFreeSpace must be >= 0");
+        }
+        minFreeSpace_ = minFreeSpace;
+        return this;
+    }
+
+    /**
+     * Returns the space to keep free on the memory-backed file system.
+     *
+     * @return the space, in bytes
+     */
+    public long minFreeSpace() {
+        return minFreeSpace_;
+    }
+
+    /**
+     * Configures the maximum number of directories deleted concurrently.
+     *
+     * @param parallelism the parallelism, must be greater than 0
+     * @return this instance
+     * @throws IllegalArgumentException if the parallelism is less than or equal to 0
+     */
+    public TempFiles parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0");
+        }
+        parallelism_ = parallelism;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of directories deleted concurrently.
+     *
+     * @return the parallelism
+     */
+    public int parallelism() {
+        return parallelism_;
+    }
+
+    /**
+     * Configures whether entries are created on the memory-backed file system when space permits.
+     *
+     * @param preferMemory {@code true} to prefer memory, {@code false} to always use the disk
+     * @return this instance
+     */
+    public TempFiles preferMemory(boolean preferMemory) {
+        preferMemory_ = preferMemory;
+        return this;
+    }
+
+    /**
+     * Returns whether entries are created on the memory-backed file system when space permits.
+     *
+     * @return {@code true} if memory is preferred
+     */
+    public boolean preferMemory() {
+        return preferMemory_;
+    }
+
+    /**
+     * Returns the number of entries created and not yet deleted.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return created_.size();
+    }
+
+    @Nullable
+    private static Path defaultMemoryDirectory() {
+        if (!SystemTools.isLinux() || !Files.isDirectory(SHM) || !Files.isWritable(SHM)) {
+            return null;
+        }
+        try {
+            return "tmpfs".equals(Files.getFileStore(SHM).type()) ? SHM : null;
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static Path newRoot(Path directory) throws IOException {
+        IOTools.mkdirs(directory);
+        return Files.createTempDirectory(directory, "bld-" + ProcessHandle.current().pid() + "-");
+    }
+
+    // Creates and tracks an entry, holding the lock so that its root cannot be deleted meanwhile
+    private Path create(long expectedSize, ParallelTasks.IOFunction<Path, Path> creator) throws IOException {
+        var memoryDirectory = memoryDirectory_;
+        var memory = preferMemory_ && memoryDirectory != null && fitsInMemory(memoryDirectory, expectedSize);
+        synchronized (lock_) {
+            var path = creator.apply(root(memory));
+            created_.add(path);
+            return path;
+        }
+    }
+
+    private boolean fitsInMemory(Path memoryDirectory, long expectedSize) {
+        try {
+            var usable = Files.getFileStore(memoryDirectory).getUsableSpace();
+            return usable - Math.max(0L, expectedSize) >= minFreeSpace_;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Returns the root to create an entry in, creating it if needed; must hold the lock
+    private Path root(boolean memory) throws IOException {
+        if (memory && memoryDirectory_ != null) {
+            if (memoryRoot_ == null) {
+                try {
+                    memoryRoot_ = newRoot(memoryDirectory_);
+                } catch (IOException e) {
+                    if (logger.isLoggable(Level.FINE)) {
+                        logger.fine("Cannot create a temporary root in " + memoryDirectory_ + ": " + e);
+                    }
+                }
+            }
+            if (memoryRoot_ != null) {
+                return memoryRoot_;
+            }
+        }
+        if (diskRoot_ == null) {
+            diskRoot_ = newRoot(directory_);
+        }
+        return diskRoot_;
+    }
+
+    // Created on first use, so that the shutdown hook is only registered when needed
+    private static final class SharedHolder {
+        private static final TempFiles INSTANCE = new TempFiles();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    INSTANCE.deleteAll();
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Cannot delete temporary files", e);
+                }
+            }, "temp-files-cleanup"));
+        }
+    }
+}
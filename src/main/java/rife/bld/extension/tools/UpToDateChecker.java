@@ -0,0 +1,528 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Determines whether a build operation can be skipped because its inputs, outputs and
+ * configuration are unchanged since it last ran.
+ * <p>
+ * After a successful run, {@link #record()} stores a manifest of the declared input and output
+ * files (their paths, sizes and last modified times, and optionally content fingerprints) along
+ * with a configuration key summarizing the operation's settings. On the next run, {@link #check()}
+ * compares the current state against that manifest. Declared directories are expanded to the
+ * files they contain.
+ * <p>
+ * When a {@link #fingerprinter(FileFingerprinter) fingerprinter} is set, inputs whose size or
+ * last modified time changed are compared by content, so that files rewritten with identical
+ * content do not cause a rerun. Only those inputs are fingerprinted; the others keep the
+ * fingerprint recorded in the manifest.
+ * <p>
+ * The inputs are snapshotted by {@link #check()}, and that snapshot is what {@link #record()}
+ * stores, so that inputs modified while the operation runs are detected on the next check.
+ *
+ * <pre>{@code
+ * var checker = new UpToDateChecker(Path.of("build", ".javadoc.manifest"))
+ *         .inputs(sourceDir).outputs(javadocDir).configKey(String.join(" ", options));
+ * if (!checker.check().upToDate()) {
+ *     // run the operation
+ *     checker.record();
+ * }
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public class UpToDateChecker {
+
+    private static final int MANIFEST_MAGIC = 0x424C4455; // "BLDU"
+    private static final int MANIFEST_VERSION = 2;
+    private static final long MISSING = -1L;
+    private static final Logger logger = Logger.getLogger(UpToDateChecker.class.getName());
+
+    private final LinkedHashSet<Path> inputs_ = new LinkedHashSet<>();
+    private final Path manifest_;
+    private final LinkedHashSet<Path> outputs_ = new LinkedHashSet<>();
+    private String configKey_ = "";
+    @Nullable
+    private FileFingerprinter fingerprinter_;
+    @Nullable
+    private Map<Path, FileState> snapshot_;
+
+    /**
+     * Creates a new checker storing its manifest in the specified file.
+     *
+     * @param manifest the manifest file, must not be null
+     * @throws NullPointerException if manifest is null
+     */
+    public UpToDateChecker(@NonNull Path manifest) {
+        manifest_ = Objects.requireNonNull(manifest, "manifest must not be null");
+    }
+
+    /**
+     * Checks whether the operation is up to date.
+     *
+     * @return the result, never null
+     * @throws IOException if an input cannot be fingerprinted or a declared directory cannot be walked
+     */
+    public Result check() throws IOException {
+        var manifest = readManifest();
+        var current = scanInputs(manifest);
+        snapshot_ = current;
+
+        if (manifest == null) {
+            return new Result(Reason.NO_MANIFEST, List.copyOf(current.keySet()));
+        }
+        if (!manifest.configKey().equals(configKey_)) {
+            return new Result(Reason.CONFIG_CHANGED, List.of());
+        }
+
+        var changed = changedInputs(manifest.inputs(), current);
+        if (!changed.isEmpty()) {
+            return new Result(Reason.INPUTS_CHANGED, changed);
+        }
+
+        var outputs = scan(outputs_, null, Map.of());
+        if (!outputs.keySet().equals(manifest.outputs().keySet())) {
+            return new Result(Reason.OUTPUTS_CHANGED, List.of());
+        }
+        for (var output : outputs.entrySet()) {
+            if (!output.getValue().sameAttributes(manifest.outputs().get(output.getKey()))) {
+                return new Result(Reason.OUTPUTS_CHANGED, List.of());
+            }
+        }
+        return new Result(Reason.UP_TO_DATE, List.of());
+    }
+
+    /**
+     * Configures the key summarizing the operation's configuration, such as its options joined
+     * into a string. Any change to the key causes a rerun.
+     *
+     * @param configKey the configuration key, or {@code null} for none
+     * @return this instance
+     */
+    public UpToDateChecker configKey(@Nullable String configKey) {
+        configKey_ = configKey == null ? "" : configKey;
+        return this;
+    }
+
+    /**
+     * Returns the configuration key.
+     *
+     * @return the configuration key, never null
+     */
+    public String configKey() {
+        return configKey_;
+    }
+
+    /**
+     * Configures the fingerprinter used to compare the content of changed inputs.
+     *
+     * @param fingerprinter the fingerprinter, or {@code null} to compare sizes and last modified
+     *                      times only
+     * @return this instance
+     */
+    public UpToDateChecker fingerprinter(@Nullable FileFingerprinter fingerprinter) {
+        fingerprinter_ = fingerprinter;
+        return this;
+    }
+
+    /**
+     * Returns the fingerprinter used to compare the content of changed inputs.
+     *
+     * @return the fingerprinter, or {@code null} if not set
+     */
+    @Nullable
+    public FileFingerprinter fingerprinter() {
+        return fingerprinter_;
+    }
+
+    /**
+     * Adds input files.
+     * <p>
+     * {@code null} elements are ignored.
+     *
+     * @param files the input files or directories
+     * @return this instance
+     */
+    public UpToDateChecker inputFiles(@Nullable File... files) {
+        inputs_.addAll(CollectionTools.combineFilesToPaths(files));
+        return this;
+    }
+
+    /**
+     * Adds input files.
+     * <p>
+     * {@code null} collections and elements are ignored.
+     *
+     * @param files the input files or directories
+     * @return this instance
+     */
+    public UpToDateChecker inputFiles(@Nullable Collection<File> files) {
+        inputs_.addAll(CollectionTools.combineFilesToPaths(files));
+        return this;
+    }
+
+    /**
+     * Adds input paths.
+     * <p>
+     * {@code null} elements are ignored.
+     *
+     * @param paths the input files or directories
+     * @return this instance
+     */
+    public UpToDateChecker inputs(@Nullable Path... paths) {
+        inputs_.addAll(CollectionTools.combine(paths));
+        return this;
+    }
+
+    /**
+     * Adds input paths.
+     * <p>
+     * {@code null} collections and elements are ignored.
+     *
+     * @param paths the input files or directories
+     * @return this instance
+     */
+    public UpToDateChecker inputs(@Nullable Collection<Path> paths) {
+        inputs_.addAll(CollectionTools.combine(paths));
+        return this;
+    }
+
+    /**
+     * Returns the declared inputs.
+     *
+     * @return the unmodifiable list of input files and directories
+     */
+    public List<Path> inputs() {
+        return List.copyOf(inputs_);
+    }
+
+    /**
+     * Returns the manifest file.
+     *
+     * @return the manifest file
+     */
+    public Path manifest() {
+        return manifest_;
+    }
+
+    /**
+     * Adds output files.
+     * <p>
+     * {@code null} elements are ignored.
+     *
+     * @param files the output files or directories
+     * @return this instance
+     */
+    public UpToDateChecker outputFiles(@Nullable File... files) {
+        outputs_.addAll(CollectionTools.combineFilesToPaths(files));
+        return this;
+    }
+
+    /**
+     * Adds output files.
+     * <p>
+     * {@code null} collections and elements are ignored.
+     *
+     * @param files the output files or directories
+     * @return this instance
+     */
+    public UpToDateChecker outputFiles(@Nullable Collection<File> files) {
+        outputs_.addAll(CollectionTools.combineFilesToPaths(files));
+        return this;
+    }
+
+    /**
+     * Adds output paths.
+     * <p>
+     * {@code null} elements are ignored.
+     *
+     * @param paths the output files or directories
+     * @return this instance
+     */
+    public UpToDateChecker outputs(@Nullable Path... paths) {
+        outputs_.addAll(CollectionTools.combine(paths));
+        return this;
+    }
+
+    /**
+     * Adds output paths.
+     * <p>
+     * {@code null} collections and elements are ignored.
+     *
+     * @param paths the output files or directories
+     * @return this instance
+     */
+    public UpToDateChecker outputs(@Nullable Collection<Path> paths) {
+        outputs_.addAll(CollectionTools.combine(paths));
+        return this;
+    }
+
+    /**
+     * Returns the declared outputs.
+     *
+     * @return the unmodifiable list of output files and directories
+     */
+    public List<Path> outputs() {
+        return List.copyOf(outputs_);
+    }
+
+    /**
+     * Records the current state in the manifest, after the operation has run successfully.
+     * <p>
+     * The inputs are those snapshotted by the last {@link #check()}, if any.
+     *
+     * @throws IOException if the manifest cannot be written
+     */
+    public void record() throws IOException {
+        var inputs = snapshot_ != null ? snapshot_ : scanInputs(readManifest());
+        var outputs = scan(outputs_, null, Map.of());
+        snapshot_ = null;
+
+        IOTools.writeAtomically(manifest_, stream -> {
+            var out = new DataOutputStream(stream);
+            out.writeInt(MANIFEST_MAGIC);
+            out.writeByte(MANIFEST_VERSION);
+            writeString(out, configKey_);
+            writeStates(out, inputs);
+            writeStates(out, outputs);
+        });
+    }
+
+    private static List<Path> changedInputs(Map<Path, FileState> recorded, Map<Path, FileState> current) {
+        var changed = new ArrayList<Path>();
+        for (var entry : current.entrySet()) {
+            var path = entry.getKey();
+            var state = entry.getValue();
+            var previous = recorded.get(path);
+            if (previous == null) {
+                changed.add(path);
+            } else if (!state.sameAttributes(previous) && !sameContent(state, previous)) {
+                changed.add(path);
+            }
+        }
+        for (var path : recorded.keySet()) {
+            if (!current.containsKey(path)) {
+                changed.add(path);
+            }
+        }
+        return changed;
+    }
+
+    @Nullable
+    private Manifest readManifest() {
+        if (!Files.isRegularFile(manifest_)) {
+            return null;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifest_)))) {
+            if (in.readInt() != MANIFEST_MAGIC || in.readUnsignedByte() != MANIFEST_VERSION) {
+                return null;
+            }
+            var configKey = readString(in);
+            return new Manifest(configKey, readStates(in), readStates(in));
+        } catch (IOException | RuntimeException e) {
+            if (logger.isLoggable(Level.WARNING)) {
+                logger.log(Level.WARNING, "Could not read manifest: " + manifest_, e);
+            }
+            return null;
+        }
+    }
+
+    private static Map<Path, FileState> readStates(DataInputStream in) throws IOException {
+        var count = in.readInt();
+        var states = new TreeMap<Path, FileState>();
+        for (var i = 0; i < count; i++) {
+            var path = Path.of(readString(in));
+            var size = in.readLong();
+            var mtime = in.readLong();
+            var hash = new byte[in.readUnsignedByte()];
+            in.readFully(hash);
+            states.put(path, new FileState(size, mtime, hash));
+        }
+        return states;
+    }
+
+    // Reads a string written by writeString
+    private static String readString(DataInputStream in) throws IOException {
+        var length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        var bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Both fingerprinted, with the same content
+    private static boolean sameContent(FileState state, FileState previous) {
+        return state.size() == previous.size() && state.hash().length > 0
+                && Arrays.equals(state.hash(), previous.hash());
+    }
+
+    // Expands directories and reads the state of each file but the manifest, sorted by absolute path;
+    // only files whose size or last modified time differs from the recorded state are fingerprinted
+    private Map<Path, FileState> scan(Collection<Path> declared, @Nullable FileFingerprinter fingerprinter,
+                                      Map<Path, FileState> recorded) throws IOException {
+        var files = new LinkedHashSet<Path>();
+        for (var path : declared) {
+            var absolute = PathCache.SHARED.normalized(path);
+            if (IOTools.isDirectory(absolute)) {
+                try (var entries = new DirectoryWalker(absolute).stream()) {
+                    entries.forEach(entry -> files.add(entry.path()));
+                }
+            } else {
+                files.add(absolute);
+            }
+        }
+        // The manifest may well be stored in an output directory
+        files.remove(manifest_.toAbsolutePath().normalize());
+
+        var statuses = IOTools.fileStatus(files);
+        var states = new TreeMap<Path, FileState>();
+        var changed = new ArrayList<Path>();
+        for (var status : statuses) {
+            var state = new FileState(
+                    status.exists() ? status.size() : MISSING,
+                    status.lastModified() == null ? MISSING : status.lastModified().to(TimeUnit.NANOSECONDS),
+                    new byte[0]);
+            var previous = recorded.get(status.path());
+            if (fingerprinter != null && previous != null && previous.hash().length > 0
+                    && state.sameAttributes(previous)) {
+                state = new FileState(state.size(), state.mtime(), previous.hash());
+            } else if (fingerprinter != null && status.isRegularFile()) {
+                changed.add(status.path());
+            }
+            states.put(status.path(), state);
+        }
+
+        if (fingerprinter != null && !changed.isEmpty()) {
+            for (var entry : fingerprinter.fingerprint(changed).entrySet()) {
+                var state = states.get(entry.getKey());
+                if (state != null) {
+                    states.put(entry.getKey(),
+                            new FileState(state.size(), state.mtime(), HexFormat.of().parseHex(entry.getValue())));
+                }
+            }
+        }
+        return states;
+    }
+
+    private Map<Path, FileState> scanInputs(@Nullable Manifest manifest) throws IOException {
+        return scan(inputs_, fingerprinter_, manifest == null ? Map.of() : manifest.inputs());
+    }
+
+    private static void writeStates(DataOutputStream out, Map<Path, FileState> states) throws IOException {
+        out.writeInt(states.size());
+        for (var entry : states.entrySet()) {
+            var state = entry.getValue();
+            writeString(out, entry.getKey().toString());
+            out.writeLong(state.size());
+            out.writeLong(state.mtime());
+            out.writeByte(state.hash().length);
+            out.write(state.hash());
+        }
+    }
+
+    // Writes a string of any length, unlike writeUTF which is limited to 65535 encoded bytes
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reasons for an up-to-date check result.
+     */
+    public enum Reason {
+        /**
+         * The configuration key changed.
+         */
+        CONFIG_CHANGED,
+        /**
+         * One or more inputs were added, removed or modified.
+         */
+        INPUTS_CHANGED,
+        /**
+         * No manifest was recorded, or it could not be read.
+         */
+        NO_MANIFEST,
+        /**
+         * One or more outputs were added, removed or modified.
+         */
+        OUTPUTS_CHANGED,
+        /**
+         * Nothing changed.
+         */
+        UP_TO_DATE
+    }
+
+    /**
+     * The result of an up-to-date check.
+     *
+     * @param reason        the reason the operation must run, or {@link Reason#UP_TO_DATE}
+     * @param changedInputs the inputs added, removed or modified since the operation last ran;
+     *                      all inputs if no manifest was recorded, and empty if the configuration
+     *                      changed
+     */
+    public record Result(Reason reason, List<Path> changedInputs) {
+
+        /**
+         * Determines whether the operation can be skipped.
+         *
+         * @return {@code true} if nothing changed
+         */
+        public boolean upToDate() {
+            return reason == Reason.UP_TO_DATE;
+        }
+    }
+
+    private record FileState(long size, long mtime, byte[] hash) {
+        boolean sameAttributes(@Nullable FileState other) {
+            return other != null && size == other.size && mtime == other.mtime;
+        }
+    }
+
+    private record Manifest(String configKey, Map<Path, FileState> inputs, Map<Path, FileState> outputs) {
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Lists the entries of a ZIP or JAR file by reading only its central directory.
+ * <p>
+ * Opening an index reads the end of the file and the central directory, with two positional
+ * reads, and inflates nothing. Entry contents are read on demand. ZIP64 archives, and archives
+ * with prepended data such as self-extracting executables, are supported.
+ *
+ * <pre>{@code
+ * try (var zip = ZipIndex.open(Path.of("lib", "compile", "dependency.jar"))) {
+ *     for (var entry : zip.entries()) {
+ *         System.out.println(entry.name() + ": " + entry.size());
+ *     }
+ *     var manifest = zip.manifest();
+ * }
+ * }</pre>
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.3
+ */
+public final class ZipIndex implements Closeable {
+
+    private static final int CEN_HEADER_SIZE = 46;
+    private static final int CEN_SIGNATURE = 0x02014b50;
+    private static final int END_HEADER_SIZE = 22;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int LOC_HEADER_SIZE = 30;
+    private static final int LOC_SIGNATURE = 0x04034b50;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int ZIP64_END_HEADER_SIZE = 56;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private final FileChannel channel_;
+    private final List<Entry> entries_;
+    private final Map<String, Entry> entriesByName_;
+    private final Path path_;
+
+    private ZipIndex(Path path, FileChannel channel, List<Entry> entries) {
+        path_ = path;
+        channel_ = channel;
+        entries_ = Collections.unmodifiableList(entries);
+        entriesByName_ = new HashMap<>(entries.size() * 4 / 3 + 1);
+        for (var entry : entries) {
+            entriesByName_.putIfAbsent(entry.name(), entry);
+        }
+    }
+
+    /**
+     * Opens the index of the specified ZIP or JAR file.
+     *
+     * @param path the file, must not be null
+     * @return the index, to be closed after use
+     * @throws NullPointerException if path is null
+     * @throws ZipException         if the file is not a valid ZIP file
+     * @throws IOException          if the file cannot be read
+     */
+    public static ZipIndex open(@NonNull Path path) throws IOException {
+        Objects.requireNonNull(path, "path must not be null");
+        var channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new ZipIndex(path, channel, readEntries(channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the underlying file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel_.close();
+    }
+
+    /**
+     * Returns all entries, in central directory order.
+     *
+     * @return the unmodifiable list of entries
+     */
+    public List<Entry> entries() {
+        return entries_;
+    }
+
+    /**
+     * Returns the entry with the specified name.
+     *
+     * @param name the entry name, such as {@code META-INF/MANIFEST.MF}
+     * @return the entry, or {@code null} if not found
+     */
+    @Nullable
+    public Entry entry(@Nullable String name) {
+        return name == null ? null : entriesByName_.get(name);
+    }
+
+    /**
+     * Reads and parses the JAR manifest.
+     *
+     * @return the manifest, or {@code null} if the file has none
+     * @throws IOException if the manifest cannot be read
+     */
+    @Nullable
+    public Manifest manifest() throws IOException {
+        var entry = entry(JarFile.MANIFEST_NAME);
+        if (entry == null) {
+            return null;
+        }
+        return new Manifest(new ByteArrayInputStream(read(entry)));
+    }
+
+    /**
+     * Returns the path of the file.
+     *
+     * @return the path
+     */
+    public Path path() {
+        return path_;
+    }
+
+    /**
+     * Reads the content of the entry with the specified name, inflating it if compressed.
+     *
+     * @param name the entry name
+     * @return the content, or {@code null} if not found
+     * @throws ZipException if the entry is corrupt or uses an unsupported compression method
+     * @throws IOException  if the entry cannot be read
+     */
+    @Nullable
+    public byte[] read(@Nullable String name) throws IOException {
+        var entry = entry(name);
+        return entry == null ? null : read(entry);
+    }
+
+    /**
+     * Reads the content of the specified entry, inflating it if compressed.
+     *
+     * @param entry the entry, must not be null and belong to this index
+     * @return the content
+     * @throws NullPointerException if entry is null
+     * @throws ZipException         if the entry is corrupt or uses an unsupported compression method
+     * @throws IOException          if the entry cannot be read
+     */
+    public byte[] read(@NonNull Entry entry) throws IOException {
+        Objects.requireNonNull(entry, "entry must not be null");
+        if (entry.size() > Integer.MAX_VALUE - 8 || entry.compressedSize() > Integer.MAX_VALUE - 8) {
+            throw new ZipException("entry too large: " + entry.name());
+        }
+
+        var header = readFully(entry.localHeaderOffset(), LOC_HEADER_SIZE);
+        if (header.getInt(0) != LOC_SIGNATURE) {
+            throw new ZipException("invalid local header: " + entry.name());
+        }
+        var dataOffset = entry.localHeaderOffset() + LOC_HEADER_SIZE
+                + Short.toUnsignedInt(header.getShort(26)) + Short.toUnsignedInt(header.getShort(28));
+        var data = readFully(dataOffset, (int) entry.compressedSize());
+
+        byte[] content;
+        if (entry.method() == Entry.STORED) {
+            content = new byte[data.remaining()];
+            data.get(content);
+        } else if (entry.method() == Entry.DEFLATED) {
+            content = inflate(entry, data);
+        } else {
+            throw new ZipException("unsupported compression method " + entry.method() + ": " + entry.name());
+        }
+
+        var crc = new CRC32();
+        crc.update(content);
+        if (crc.getValue() != entry.crc()) {
+            throw new ZipException("invalid CRC: " + entry.name());
+        }
+        return content;
+    }
+
+    private static long extraValue(ByteBuffer cen, int extraStart, int extraLength, int index) {
+        var pos = extraStart;
+        var end = extraStart + extraLength;
+        while (pos + 4 <= end) {
+            var id = Short.toUnsignedInt(cen.getShort(pos));
+            var size = Short.toUnsignedInt(cen.getShort(pos + 2));
+            if (id == ZIP64_EXTRA_ID) {
+                var offset = pos + 4 + index * 8;
+                return offset + 8 <= pos + 4 + size ? cen.getLong(offset) : -1L;
+            }
+            pos += 4 + size;
+        }
+        return -1L;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("unexpected end of ZIP file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static List<Entry> readEntries(FileChannel channel) throws IOException {
+        var fileSize = channel.size();
+        if (fileSize < END_HEADER_SIZE) {
+            throw new ZipException("not a ZIP file: too short");
+        }
+
+        // The end record is followed by a comment of up to 64 KiB
+        var tailLength = (int) Math.min(fileSize, END_HEADER_SIZE + MAX_COMMENT_SIZE + ZIP64_LOCATOR_SIZE);
+        var tailStart = fileSize - tailLength;
+        var tail = read(channel, tailStart, tailLength);
+        var end = -1;
+        for (var i = tailLength - END_HEADER_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_SIGNATURE
+                    && i + END_HEADER_SIZE + Short.toUnsignedInt(tail.getShort(i + 20)) <= tailLength) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            throw new ZipException("not a ZIP file: end of central directory not found");
+        }
+
+        long count = Short.toUnsignedInt(tail.getShort(end + 10));
+        long cenSize = Integer.toUnsignedLong(tail.getInt(end + 12));
+        long cenOffset = Integer.toUnsignedLong(tail.getInt(end + 16));
+        var endPosition = tailStart + end;
+        var base = 0L;
+
+        var locator = end - ZIP64_LOCATOR_SIZE;
+        if (locator >= 0 && tail.getInt(locator) == ZIP64_LOCATOR_SIGNATURE) {
+            var zip64 = read(channel, tail.getLong(locator + 8), ZIP64_END_HEADER_SIZE);
+            if (zip64.getInt(0) != ZIP64_END_SIGNATURE) {
+                throw new ZipException("invalid ZIP64 end of central directory");
+            }
+            count = zip64.getLong(32);
+            cenSize = zip64.getLong(40);
+            cenOffset = zip64.getLong(48);
+        } else {
+            // Account for data prepended to the archive
+            base = endPosition - cenSize - cenOffset;
+        }
+        if (cenSize > Integer.MAX_VALUE || count > cenSize / CEN_HEADER_SIZE || base < 0) {
+            throw new ZipException("invalid central directory");
+        }
+
+        var cen = read(channel, base + cenOffset, (int) cenSize);
+        var entries = new ArrayList<Entry>((int) count);
+        var pos = 0;
+        for (var i = 0L; i < count; i++) {
+            if (pos + CEN_HEADER_SIZE > cenSize || cen.getInt(pos) != CEN_SIGNATURE) {
+                throw new ZipException("invalid central directory header");
+            }
+            var nameLength = Short.toUnsignedInt(cen.getShort(pos + 28));
+            var extraLength = Short.toUnsignedInt(cen.getShort(pos + 30));
+            var commentLength = Short.toUnsignedInt(cen.getShort(pos + 32));
+            var nameStart = pos + CEN_HEADER_SIZE;
+            if (nameStart + nameLength + extraLength + commentLength > cenSize) {
+                throw new ZipException("invalid central directory header");
+            }
+            var name = new String(cen.array(), nameStart, nameLength, StandardCharsets.UTF_8);
+
+            // ZIP64 extra values are present, in order, only for the fields set to the magic value
+            var extraStart = nameStart + nameLength;
+            var extraIndex = 0;
+            var size = Integer.toUnsignedLong(cen.getInt(pos + 24));
+            if (size == ZIP64_MAGIC) {
+                size = extraValue(cen, extraStart, extraLength, extraIndex++);
+            }
+            var compressedSize = Integer.toUnsignedLong(cen.getInt(pos + 20));
+            if (compressedSize == ZIP64_MAGIC) {
+                compressedSize = extraValue(cen, extraStart, extraLength, extraIndex++);
+            }
+            var offset = Integer.toUnsignedLong(cen.getInt(pos + 42));
+            if (offset == ZIP64_MAGIC) {
+                offset = extraValue(cen, extraStart, extraLength, extraIndex);
+            }
+            if (size < 0 || compressedSize < 0 || offset < 0) {
+                throw new ZipException("invalid ZIP64 extra field: " + name);
+            }
+
+            entries.add(new Entry(name, size, compressedSize, Integer.toUnsignedLong(cen.getInt(pos + 16)),
+                    Short.toUnsignedInt(cen.getShort(pos + 10)), base + offset));
+            pos = extraStart + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    private byte[] inflate(Entry entry, ByteBuffer data) throws ZipException {
+        var content = new byte[(int) entry.size()];
+        var inflater = new Inflater(true);
+        try {
+            inflater.setInput(data);
+            var length = 0;
+            while (length < content.length) {
+                var inflated = inflater.inflate(content, length, content.length - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != content.length) {
+                throw new ZipException("invalid entry size: " + entry.name());
+            }
+            return content;
+        } catch (DataFormatException e) {
+            var zip = new ZipException("invalid compressed data: " + entry.name());
+            zip.initCause(e);
+            throw zip;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        return read(channel_, position, length);
+    }
+
+    /**
+     * An entry of the central directory.
+     *
+     * @param name              the name, with '/' separators
+     * @param size              the uncompressed size
+     * @param compressedSize    the compressed size
+     * @param crc               the CRC-32 of the uncompressed content
+     * @param method            the compression method, {@link #STORED} or {@link #DEFLATED}
+     * @param localHeaderOffset the offset of the local header in the file
+     */
+    public record Entry(String name, long size, long compressedSize, long crc, int method,
+                        long localHeaderOffset) {
+        /**
+         * The compression method of deflated entries.
+         */
+        public static final int DEFLATED = 8;
+        /**
+         * The compression method of uncompressed entries.
+         */
+        public static final int STORED = 0;
+
+        /**
+         * Returns whether the entry is a directory.
+         *
+         * @return {@code true} if the name ends with '/'
+         */
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+}
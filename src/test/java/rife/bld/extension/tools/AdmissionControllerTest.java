@@ -0,0 +1,387 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rife.bld.extension.tools.AdmissionController.ResourceUsage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Admission Controller Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class AdmissionControllerTest {
+
+    private static final ResourceUsage IDLE = new ResourceUsage(0.1, 4, 8_000L, 10_000L);
+    private static final ResourceUsage LOW_MEMORY = new ResourceUsage(0.1, 4, 500L, 10_000L);
+    private static final ResourceUsage OVERLOADED = new ResourceUsage(16.0, 4, 8_000L, 10_000L);
+
+    private static Thread acquireInBackground(AdmissionController controller, CountDownLatch acquired) {
+        var thread = new Thread(() -> {
+            try (var ignored = controller.acquire()) {
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @Nested
+    @DisplayName("Admission Tests")
+    class AdmissionTests {
+
+        @Test
+        void acquireBlocksAtLimit() throws Exception {
+            var controller = new AdmissionController(() -> IDLE).concurrency(1, 1).sampleInterval(10);
+            var acquired = new CountDownLatch(1);
+
+            try (var ignored = controller.acquire()) {
+                acquireInBackground(controller, acquired);
+                assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+                assertEquals(1, controller.metrics().active());
+            }
+
+            assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        void acquireBlocksWhileLowOnMemory() throws Exception {
+            var usage = new AtomicReference<>(LOW_MEMORY);
+            var controller = new AdmissionController(usage::get).sampleInterval(10);
+            var acquired = new CountDownLatch(1);
+
+            try (var ignored = controller.acquire()) {
+                acquireInBackground(controller, acquired);
+                assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+
+                usage.set(IDLE);
+                assertTrue(acquired.await(5, TimeUnit.SECONDS));
+            }
+        }
+
+        @Test
+        void acquireBlocksWhileOverloaded() throws Exception {
+            var usage = new AtomicReference<>(OVERLOADED);
+            var controller = new AdmissionController(usage::get).sampleInterval(10);
+            var acquired = new CountDownLatch(1);
+
+            try (var ignored = controller.acquire()) {
+                acquireInBackground(controller, acquired);
+                assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+
+                usage.set(IDLE);
+                assertTrue(acquired.await(5, TimeUnit.SECONDS));
+            }
+            assertTrue(controller.metrics().maxWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(200));
+        }
+
+        @Test
+        void acquireTimesOut() throws Exception {
+            var controller = new AdmissionController(() -> OVERLOADED).sampleInterval(10);
+            try (var ignored = controller.acquire()) {
+                assertNull(controller.acquire(100, TimeUnit.MILLISECONDS));
+                assertEquals(0, controller.metrics().waiting());
+                assertEquals(1, controller.metrics().active());
+            }
+            assertEquals(1L, controller.metrics().admitted());
+        }
+
+        @Test
+        void minimumConcurrencyIsAdmittedWhileOverloaded() throws Exception {
+            var controller = new AdmissionController(() -> OVERLOADED).concurrency(2, 4).sampleInterval(10);
+            try (var first = controller.acquire(1, TimeUnit.SECONDS);
+                 var second = controller.acquire(1, TimeUnit.SECONDS)) {
+                assertNotNull(first);
+                assertNotNull(second);
+                assertNull(controller.acquire(100, TimeUnit.MILLISECONDS));
+            }
+        }
+
+        @Test
+        void permitCloseIsIdempotent() throws Exception {
+            var controller = new AdmissionController(() -> IDLE);
+            var permit = controller.acquire();
+            permit.close();
+            permit.close();
+            assertEquals(0, controller.metrics().active());
+        }
+
+        @Test
+        void releaseDoesNotWaitForSampling() throws Exception {
+            var sampling = new CountDownLatch(1);
+            var resume = new CountDownLatch(1);
+            var blocking = new AtomicBoolean();
+            var controller = new AdmissionController(() -> {
+                if (blocking.get()) {
+                    sampling.countDown();
+                    try {
+                        resume.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return IDLE;
+            }).concurrency(1, 1).sampleInterval(10);
+
+            var permit = controller.acquire();
+            blocking.set(true);
+            var acquired = new CountDownLatch(1);
+            acquireInBackground(controller, acquired);
+            assertTrue(sampling.await(5, TimeUnit.SECONDS));
+            try {
+                var released = new CountDownLatch(1);
+                var releaser = new Thread(() -> {
+                    permit.close();
+                    released.countDown();
+                });
+                releaser.start();
+                assertTrue(released.await(5, TimeUnit.SECONDS));
+                assertEquals(0, controller.metrics().active());
+            } finally {
+                resume.countDown();
+            }
+            assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        void unknownUsageDoesNotBlock() throws Exception {
+            var controller = new AdmissionController(() -> new ResourceUsage(-1, 4, -1L, -1L));
+            try (var ignored = controller.acquire()) {
+                assertEquals(1, controller.metrics().active());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Adaptive Limit Tests")
+    class AdaptiveLimitTests {
+
+        @Test
+        void limitDecreasesWhenOverloaded() throws Exception {
+            var usage = new AtomicReference<>(IDLE);
+            var controller = new AdmissionController(usage::get).concurrency(1, 8).sampleInterval(10);
+            controller.concurrency(8, 8).concurrency(1, 8);
+            assertEquals(8, controller.limit());
+
+            usage.set(OVERLOADED);
+            try (var ignored = controller.acquire()) {
+                var acquired = new CountDownLatch(1);
+                acquireInBackground(controller, acquired);
+                assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+                assertEquals(1, controller.limit());
+
+                usage.set(IDLE);
+                assertTrue(acquired.await(5, TimeUnit.SECONDS));
+            }
+        }
+
+        @Test
+        void limitIncreasesWithDemand() throws Exception {
+            var controller = new AdmissionController(() -> IDLE).concurrency(1, 2).sampleInterval(10);
+            controller.concurrency(1, 1).concurrency(1, 2);
+            assertEquals(1, controller.limit());
+
+            var acquired = new CountDownLatch(1);
+            try (var ignored = controller.acquire()) {
+                acquireInBackground(controller, acquired);
+                assertTrue(acquired.await(5, TimeUnit.SECONDS));
+            }
+            assertEquals(2, controller.limit());
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        void concurrencyInvalidThrows() {
+            var controller = new AdmissionController();
+            assertThrows(IllegalArgumentException.class, () -> controller.concurrency(0, 1));
+            assertThrows(IllegalArgumentException.class, () -> controller.concurrency(2, 1));
+        }
+
+        @Test
+        void defaults() {
+            var controller = new AdmissionController();
+            assertEquals(AdmissionController.DEFAULT_MAX_LOAD_PER_CPU, controller.maxLoadPerCpu());
+            assertEquals(AdmissionController.DEFAULT_MIN_AVAILABLE_MEMORY, controller.minAvailableMemory());
+            assertEquals(AdmissionController.DEFAULT_SAMPLE_INTERVAL_MILLIS, controller.sampleInterval());
+            assertEquals(Runtime.getRuntime().availableProcessors(), controller.limit());
+        }
+
+        @Test
+        void maxLoadPerCpuInvalidThrows() {
+            assertThrows(IllegalArgumentException.class, () -> new AdmissionController().maxLoadPerCpu(0));
+        }
+
+        @Test
+        void minAvailableMemoryInvalidThrows() {
+            var controller = new AdmissionController();
+            assertThrows(IllegalArgumentException.class, () -> controller.minAvailableMemory(-0.1));
+            assertThrows(IllegalArgumentException.class, () -> controller.minAvailableMemory(1));
+        }
+
+        @Test
+        void sampleIntervalInvalidThrows() {
+            assertThrows(IllegalArgumentException.class, () -> new AdmissionController().sampleInterval(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics Tests")
+    class MetricsTests {
+
+        @Test
+        void averageWaitWithoutAdmissions() {
+            assertEquals(0, new AdmissionController().metrics().averageWaitNanos());
+        }
+
+        @Test
+        void metricsCountAdmissions() throws Exception {
+            var controller = new AdmissionController(() -> IDLE);
+            for (var i = 0; i < 3; i++) {
+                controller.acquire().close();
+            }
+            var metrics = controller.metrics();
+            assertEquals(3, metrics.admitted());
+            assertEquals(0, metrics.active());
+            assertEquals(0, metrics.waiting());
+            assertTrue(metrics.averageWaitNanos() <= metrics.maxWaitNanos());
+        }
+    }
+
+    @Nested
+    @DisplayName("Resource Usage Tests")
+    class ResourceUsageTests {
+
+        @TempDir
+        private Path proc;
+        @TempDir
+        private Path cgroup;
+
+        private void writeProc() throws IOException {
+            Files.writeString(proc.resolve("loadavg"), "2.50 1.00 0.50 3/73 940\n");
+            Files.writeString(proc.resolve("meminfo"), """
+                    MemTotal:        8000 kB
+                    MemFree:         2000 kB
+                    MemAvailable:    4000 kB
+                    """);
+        }
+
+        @Test
+        void readCgroupV1() throws IOException {
+            writeProc();
+            Files.createDirectories(cgroup.resolve("memory"));
+            Files.writeString(cgroup.resolve("memory/memory.limit_in_bytes"), "2048000\n");
+            Files.writeString(cgroup.resolve("memory/memory.usage_in_bytes"), "1024000\n");
+
+            var usage = ResourceUsage.read(proc, cgroup);
+            assertEquals(2_048_000L, usage.memoryTotal());
+            assertEquals(1_024_000L, usage.memoryAvailable());
+        }
+
+        @Test
+        void readCgroupV2() throws IOException {
+            writeProc();
+            Files.writeString(cgroup.resolve("memory.max"), "4096000\n");
+            Files.writeString(cgroup.resolve("memory.current"), "4000000\n");
+
+            var usage = ResourceUsage.read(proc, cgroup);
+            assertEquals(4_096_000L, usage.memoryTotal());
+            assertEquals(96_000L, usage.memoryAvailable());
+        }
+
+        @Test
+        void readCgroupV2InactiveFile() throws IOException {
+            writeProc();
+            Files.writeString(cgroup.resolve("memory.max"), "4096000\n");
+            Files.writeString(cgroup.resolve("memory.current"), "4000000\n");
+            Files.writeString(cgroup.resolve("memory.stat"), """
+                    anon 1000000
+                    file 3000000
+                    inactive_file 2000000
+                    """);
+
+            var usage = ResourceUsage.read(proc, cgroup);
+            assertEquals(4_096_000L, usage.memoryTotal());
+            assertEquals(2_096_000L, usage.memoryAvailable());
+        }
+
+        @Test
+        void readCgroupV2Nested() throws IOException {
+            writeProc();
+            Files.createDirectories(proc.resolve("self"));
+            Files.writeString(proc.resolve("self/cgroup"), "0::/build.slice/job\n");
+            var job = Files.createDirectories(cgroup.resolve("build.slice/job"));
+            Files.writeString(job.resolve("memory.max"), "max\n");
+            Files.writeString(job.resolve("memory.current"), "1000000\n");
+            var slice = cgroup.resolve("build.slice");
+            Files.writeString(slice.resolve("memory.max"), "2048000\n");
+            Files.writeString(slice.resolve("memory.current"), "1024000\n");
+            var other = Files.createDirectories(cgroup.resolve("other.slice"));
+            Files.writeString(other.resolve("memory.max"), "1000\n");
+            Files.writeString(other.resolve("memory.current"), "0\n");
+
+            var usage = ResourceUsage.read(proc, cgroup);
+            assertEquals(2_048_000L, usage.memoryTotal());
+            assertEquals(1_024_000L, usage.memoryAvailable());
+        }
+
+        @Test
+        void readCgroupV2Unlimited() throws IOException {
+            writeProc();
+            Files.writeString(cgroup.resolve("memory.max"), "max\n");
+            Files.writeString(cgroup.resolve("memory.current"), "4000000\n");
+
+            var usage = ResourceUsage.read(proc, cgroup);
+            assertEquals(8000L * 1024, usage.memoryTotal());
+            assertEquals(4000L * 1024, usage.memoryAvailable());
+        }
+
+        @Test
+        void readMissingFiles() {
+            var usage = ResourceUsage.read(proc, cgroup);
+            assertTrue(usage.loadAverage() < 0);
+            assertTrue(usage.memoryTotal() < 0);
+            assertTrue(usage.memoryAvailable() < 0);
+        }
+
+        @Test
+        void readProc() throws IOException {
+            writeProc();
+            var usage = ResourceUsage.read(proc, cgroup);
+            assertEquals(2.5, usage.loadAverage());
+            assertEquals(8000L * 1024, usage.memoryTotal());
+            assertEquals(4000L * 1024, usage.memoryAvailable());
+            assertEquals(Runtime.getRuntime().availableProcessors(), usage.cpus());
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Archive Writer Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ArchiveWriterTest {
+
+    private static final byte[] TEXT = "Hello, World! ".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    private static Path createTree(Path root) throws IOException {
+        Files.createDirectories(root.resolve("com/example/util"));
+        Files.write(root.resolve("com/example/Main.class"), TEXT);
+        Files.write(root.resolve("com/example/util/Util.class"), TEXT);
+        Files.writeString(root.resolve("app.properties"), "name=app");
+        return root;
+    }
+
+    private static byte[] random(int size) {
+        var bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static List<String> names(Path archive) throws IOException {
+        var names = new ArrayList<String>();
+        try (var in = new ZipInputStream(Files.newInputStream(archive))) {
+            for (var entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        void invalidValues() {
+            var writer = new ArchiveWriter();
+            assertThrows(IllegalArgumentException.class, () -> writer.add("", new byte[0]));
+            assertThrows(IllegalArgumentException.class, () -> writer.add("/absolute", new byte[0]));
+            assertThrows(NullPointerException.class, () -> writer.add("name", (byte[]) null));
+            assertThrows(NullPointerException.class, () -> writer.add("name", (Path) null));
+            assertThrows(IllegalArgumentException.class, () -> writer.addDirectory("/prefix", Path.of(".")));
+            assertThrows(IllegalArgumentException.class, () -> writer.level(10));
+            assertThrows(IllegalArgumentException.class, () -> writer.parallelism(0));
+            assertThrows(IllegalArgumentException.class, () -> writer.store(""));
+            assertThrows(IllegalArgumentException.class, () -> writer.timestamp(LocalDateTime.of(1970, 1, 1, 0, 0)));
+            assertThrows(NullPointerException.class, () -> writer.write(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Write Tests")
+    class WriteTests {
+
+        @Test
+        void entriesAreSortedWithManifestFirst(@TempDir Path tmp) throws IOException {
+            var manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "com.example.Main");
+            var archive = tmp.resolve("app.jar");
+            var result = new ArchiveWriter()
+                    .addDirectory(createTree(tmp.resolve("classes")))
+                    .add("LICENSE", "license".getBytes(StandardCharsets.UTF_8))
+                    .manifest(manifest)
+                    .write(archive);
+
+            assertEquals(List.of("META-INF/", JarFile.MANIFEST_NAME, "LICENSE", "app.properties", "com/",
+                    "com/example/", "com/example/Main.class", "com/example/util/",
+                    "com/example/util/Util.class"), names(archive));
+            assertEquals(9, result.entries());
+            assertEquals(Files.size(archive), result.archiveSize());
+            try (var jar = new JarFile(archive.toFile())) {
+                assertEquals("com.example.Main", jar.getManifest().getMainAttributes().getValue("Main-Class"));
+                assertArrayEquals(TEXT, jar.getInputStream(jar.getEntry("com/example/util/Util.class"))
+                        .readAllBytes());
+                assertTrue(jar.getEntry("com/").isDirectory());
+                assertEquals(ZipEntry.DEFLATED, jar.getEntry("com/example/Main.class").getMethod());
+            }
+        }
+
+        @Test
+        void largeEntriesAreStreamed(@TempDir Path tmp) throws IOException {
+            var text = new byte[ArchiveWriter.LARGE_ENTRY_SIZE * 3];
+            for (var i = 0; i < text.length; i++) {
+                text[i] = (byte) ('a' + i % 26);
+            }
+            var compressed = Files.write(tmp.resolve("large.txt"), text);
+            var stored = Files.write(tmp.resolve("large.zip"), random(ArchiveWriter.LARGE_ENTRY_SIZE + 1));
+            var archive = tmp.resolve("large.jar");
+            new ArchiveWriter().add("large.txt", compressed).add("large.zip", stored).write(archive);
+
+            try (var zip = new ZipFile(archive.toFile())) {
+                assertArrayEquals(text, zip.getInputStream(zip.getEntry("large.txt")).readAllBytes());
+                assertArrayEquals(Files.readAllBytes(stored),
+                        zip.getInputStream(zip.getEntry("large.zip")).readAllBytes());
+                assertEquals(ZipEntry.STORED, zip.getEntry("large.zip").getMethod());
+            }
+            try (var in = new ZipInputStream(Files.newInputStream(archive))) {
+                assertEquals("large.txt", in.getNextEntry().getName());
+                assertArrayEquals(text, in.readAllBytes());
+            }
+            try (var index = ZipIndex.open(archive)) {
+                assertArrayEquals(text, index.read("large.txt"));
+            }
+        }
+
+        @Test
+        void outputIsReproducible(@TempDir Path tmp) throws IOException {
+            var classes = createTree(tmp.resolve("classes"));
+            var first = tmp.resolve("first.jar");
+            new ArchiveWriter().addDirectory(classes).parallelism(1).write(first);
+
+            Files.setLastModifiedTime(classes.resolve("app.properties"), FileTime.fromMillis(0L));
+            var second = tmp.resolve("second.jar");
+            new ArchiveWriter().addDirectory(classes).parallelism(8).write(second);
+
+            assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+            try (var zip = new ZipFile(first.toFile())) {
+                assertEquals(ArchiveWriter.DEFAULT_TIMESTAMP,
+                        zip.getEntry("app.properties").getTimeLocal());
+            }
+        }
+
+        @Test
+        void prefixAndTimestamp(@TempDir Path tmp) throws IOException {
+            var archive = tmp.resolve("web.zip");
+            var timestamp = LocalDateTime.of(2024, 6, 15, 10, 30, 42);
+            new ArchiveWriter()
+                    .addDirectory("static", createTree(tmp.resolve("classes")))
+                    .timestamp(timestamp)
+                    .write(archive);
+            try (var zip = new ZipFile(archive.toFile())) {
+                assertNotNull(zip.getEntry("static/com/example/Main.class"));
+                assertEquals(timestamp, zip.getEntry("static/app.properties").getTimeLocal());
+            }
+        }
+
+        @Test
+        void storedEntries(@TempDir Path tmp) throws IOException {
+            var archive = tmp.resolve("stored.zip");
+            new ArchiveWriter()
+                    .add("image.png", TEXT)
+                    .add("random.bin", random(4096))
+                    .add("text.txt", TEXT)
+                    .add("data/text.dat", TEXT)
+                    .add("café.txt", TEXT)
+                    .add("photos/été.JPG", TEXT)
+                    .add("web/gen/app.min.js", TEXT)
+                    .add("web/app.js", TEXT)
+                    .store("data/*.dat", "*.[Jj][Pp][Gg]", "**/gen/*.{css,js}")
+                    .level(9)
+                    .write(archive);
+            try (var zip = new ZipFile(archive.toFile())) {
+                assertEquals(ZipEntry.STORED, zip.getEntry("image.png").getMethod());
+                assertEquals(ZipEntry.STORED, zip.getEntry("random.bin").getMethod());
+                assertEquals(ZipEntry.STORED, zip.getEntry("data/text.dat").getMethod());
+                assertEquals(ZipEntry.STORED, zip.getEntry("photos/été.JPG").getMethod());
+                assertEquals(ZipEntry.STORED, zip.getEntry("web/gen/app.min.js").getMethod());
+                assertEquals(ZipEntry.DEFLATED, zip.getEntry("web/app.js").getMethod());
+                assertEquals(ZipEntry.DEFLATED, zip.getEntry("text.txt").getMethod());
+                assertArrayEquals(TEXT, zip.getInputStream(zip.getEntry("café.txt")).readAllBytes());
+                assertArrayEquals(TEXT, zip.getInputStream(zip.getEntry("image.png")).readAllBytes());
+            }
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void symbolicLinksAreFollowed(@TempDir Path tmp) throws IOException {
+            var classes = createTree(tmp.resolve("classes"));
+            var large = Files.write(tmp.resolve("large.bin"), random(ArchiveWriter.LARGE_ENTRY_SIZE + 1));
+            Files.createSymbolicLink(classes.resolve("Main.class"), Path.of("com/example/Main.class"));
+            Files.createSymbolicLink(classes.resolve("large.bin"), large);
+            Files.createSymbolicLink(classes.resolve("broken"), Path.of("missing"));
+            Files.createSymbolicLink(classes.resolve("example"), Path.of("com/example"));
+            var archive = tmp.resolve("links.jar");
+            new ArchiveWriter().addDirectory(classes).write(archive);
+
+            assertFalse(names(archive).contains("broken"));
+            assertFalse(names(archive).contains("example"));
+            try (var zip = new ZipFile(archive.toFile())) {
+                assertArrayEquals(TEXT, zip.getInputStream(zip.getEntry("Main.class")).readAllBytes());
+                assertArrayEquals(Files.readAllBytes(large),
+                        zip.getInputStream(zip.getEntry("large.bin")).readAllBytes());
+            }
+        }
+
+        @Test
+        void zip64EntryCount(@TempDir Path tmp) throws IOException {
+            var writer = new ArchiveWriter();
+            var count = 70_000;
+            for (var i = 0; i < count; i++) {
+                writer.add("e" + i, new byte[0]);
+            }
+            var archive = tmp.resolve("zip64.zip");
+            assertEquals(count, writer.write(archive).entries());
+            try (var zip = new ZipFile(archive.toFile())) {
+                assertEquals(count, zip.size());
+            }
+            try (var index = ZipIndex.open(archive)) {
+                assertEquals(count, index.entries().size());
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Directory Cache Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class DirectoryCacheTest {
+
+    @Test
+    void childOfKnownDirectoryIsCreated(@TempDir Path tmp) throws IOException {
+        var cache = new DirectoryCache(DirectoryCache.DEFAULT_MAX_SIZE);
+        cache.mkdirs(tmp.resolve("a"));
+        cache.mkdirs(tmp.resolve("a/b/c"));
+        assertTrue(Files.isDirectory(tmp.resolve("a/b/c")));
+    }
+
+    @Test
+    void concurrentCreation(@TempDir Path tmp) throws Exception {
+        var cache = new DirectoryCache(DirectoryCache.DEFAULT_MAX_SIZE);
+        var pool = Executors.newFixedThreadPool(8);
+        try {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (var i = 0; i < 200; i++) {
+                var dir = tmp.resolve("shared/dir" + (i % 10) + "/sub" + (i % 3));
+                tasks.add(() -> {
+                    cache.mkdirs(dir);
+                    return null;
+                });
+            }
+            for (var future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (var i = 0; i < 10; i++) {
+            for (var j = 0; j < 3; j++) {
+                assertTrue(Files.isDirectory(tmp.resolve("shared/dir" + i + "/sub" + j)));
+            }
+        }
+    }
+
+    @Test
+    void deletedKnownDirectoryIsRecreated(@TempDir Path tmp) throws IOException {
+        var cache = new DirectoryCache(DirectoryCache.DEFAULT_MAX_SIZE);
+        cache.mkdirs(tmp.resolve("a/b"));
+        Files.delete(tmp.resolve("a/b"));
+        Files.delete(tmp.resolve("a"));
+
+        cache.mkdirs(tmp.resolve("a/b/c"));
+        assertTrue(Files.isDirectory(tmp.resolve("a/b/c")));
+    }
+
+    @Test
+    void fileInTheWayThrows(@TempDir Path tmp) throws IOException {
+        var cache = new DirectoryCache(DirectoryCache.DEFAULT_MAX_SIZE);
+        cache.mkdirs(tmp);
+        Files.writeString(tmp.resolve("file"), "content");
+        assertThrows(FileAlreadyExistsException.class, () -> cache.mkdirs(tmp.resolve("file")));
+        assertThrows(IOException.class, () -> cache.mkdirs(tmp.resolve("file/sub")));
+    }
+
+    @Test
+    void invalidateForgetsDescendants(@TempDir Path tmp) throws IOException {
+        var cache = new DirectoryCache(DirectoryCache.DEFAULT_MAX_SIZE);
+        cache.mkdirs(tmp.resolve("a/b/c"));
+        cache.mkdirs(tmp.resolve("x"));
+        var size = cache.size();
+
+        cache.invalidate(tmp.resolve("a"));
+        assertEquals(size - 3, cache.size());
+        Files.delete(tmp.resolve("a/b/c"));
+        cache.mkdirs(tmp.resolve("a/b/c"));
+        assertTrue(Files.isDirectory(tmp.resolve("a/b/c")));
+    }
+
+    @Test
+    void invalidateNormalizesPaths(@TempDir Path tmp) throws IOException {
+        var cache = new DirectoryCache(DirectoryCache.DEFAULT_MAX_SIZE);
+        cache.mkdirs(tmp.resolve("a/./b"));
+        var size = cache.size();
+        cache.invalidate(tmp.resolve("x/../a"));
+        assertEquals(size - 2, cache.size());
+    }
+
+    @Test
+    void knownDirectoryDeletedByOtherMeansIsRecreated(@TempDir Path tmp) throws IOException {
+        var cache = new DirectoryCache(DirectoryCache.DEFAULT_MAX_SIZE);
+        var dir = tmp.resolve("a/b");
+        cache.mkdirs(dir.resolve("c"));
+        assertTrue(Files.isDirectory(dir));
+
+        Files.delete(dir.resolve("c"));
+        Files.delete(dir);
+        cache.mkdirs(dir);
+        assertTrue(Files.isDirectory(dir));
+        // The descendants of the deleted directory are forgotten too
+        cache.mkdirs(dir.resolve("c"));
+        assertTrue(Files.isDirectory(dir.resolve("c")));
+    }
+
+    @Test
+    void sizeIsBounded(@TempDir Path tmp) throws IOException {
+        var cache = new DirectoryCache(10);
+        for (var i = 0; i < 20; i++) {
+            cache.mkdirs(tmp.resolve("dir" + i));
+            assertTrue(cache.size() <= 10);
+        }
+        for (var i = 0; i < 20; i++) {
+            assertTrue(Files.isDirectory(tmp.resolve("dir" + i)));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Directory Snapshot Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class DirectorySnapshotTest {
+
+    private static Path createTree(Path root) throws IOException {
+        Files.createDirectories(root.resolve("com/example/util"));
+        Files.writeString(root.resolve("com/example/Main.java"), "class Main {}");
+        Files.writeString(root.resolve("com/example/util/Util.java"), "class Util {}");
+        Files.writeString(root.resolve("app.properties"), "name=app");
+        return root;
+    }
+
+    @Nested
+    @DisplayName("Diff Tests")
+    class DiffTests {
+
+        @Test
+        void addedRemovedAndModified(@TempDir Path tmp) throws IOException {
+            var root = createTree(tmp.resolve("src"));
+            var before = DirectorySnapshot.of(root);
+            assertTrue(before.diff(DirectorySnapshot.of(root)).isEmpty());
+
+            Files.writeString(root.resolve("com/example/Main.java"), "class Main { }");
+            Files.delete(root.resolve("app.properties"));
+            Files.writeString(root.resolve("com/example/New.java"), "class New {}");
+            Files.writeString(root.resolve("z.txt"), "z");
+
+            var diff = before.diff(DirectorySnapshot.of(root));
+            assertFalse(diff.isEmpty());
+            assertEquals(List.of(Path.of("com/example/New.java"), Path.of("z.txt")), diff.added());
+            assertEquals(List.of(Path.of("app.properties")), diff.removed());
+            assertEquals(List.of(Path.of("com/example/Main.java")), diff.modified());
+        }
+
+        @Test
+        void fingerprintsIgnoreTouchedFiles(@TempDir Path tmp) throws IOException {
+            var root = createTree(tmp.resolve("src"));
+            var file = root.resolve("app.properties");
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256)) {
+                var before = DirectorySnapshot.of(new DirectoryWalker(root), fingerprinter);
+                assertNotNull(before.entry(Path.of("app.properties")).fingerprint());
+
+                Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L));
+                assertTrue(before.diff(DirectorySnapshot.of(new DirectoryWalker(root), fingerprinter)).isEmpty());
+                assertEquals(List.of(Path.of("app.properties")),
+                        before.diff(DirectorySnapshot.of(root)).modified());
+
+                Files.writeString(file, "name=other");
+                Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L));
+                assertEquals(List.of(Path.of("app.properties")),
+                        before.diff(DirectorySnapshot.of(new DirectoryWalker(root), fingerprinter)).modified());
+            }
+        }
+
+        @Test
+        void walkerFiltersApply(@TempDir Path tmp) throws IOException {
+            var root = createTree(tmp.resolve("src"));
+            var snapshot = DirectorySnapshot.of(new DirectoryWalker(root).include("*.java")
+                    .includeDirectories(true), null);
+            assertEquals(List.of(Path.of("com/example/Main.java"), Path.of("com/example/util/Util.java")),
+                    snapshot.entries().stream().map(DirectorySnapshot.Entry::relativePath).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot Tests")
+    class SnapshotTests {
+
+        @Test
+        void emptyDirectory(@TempDir Path tmp) throws IOException {
+            var snapshot = DirectorySnapshot.of(tmp);
+            assertEquals(0, snapshot.size());
+            var file = tmp.resolve("snapshot.bin");
+            snapshot.write(file);
+            assertEquals(0, DirectorySnapshot.read(file).size());
+        }
+
+        @Test
+        void entriesAreSorted(@TempDir Path tmp) throws IOException {
+            var root = createTree(tmp.resolve("src"));
+            var snapshot = DirectorySnapshot.of(root);
+            assertEquals(root.toAbsolutePath().normalize(), snapshot.root());
+            assertEquals(3, snapshot.size());
+            assertEquals(List.of(Path.of("app.properties"), Path.of("com/example/Main.java"),
+                            Path.of("com/example/util/Util.java")),
+                    snapshot.entries().stream().map(DirectorySnapshot.Entry::relativePath).toList());
+
+            var entry = snapshot.entry(Path.of("app.properties"));
+            assertNotNull(entry);
+            assertEquals(8L, entry.size());
+            assertEquals(Files.getLastModifiedTime(root.resolve("app.properties")).toMillis(),
+                    entry.lastModified() / 1_000_000L);
+            assertNull(entry.fingerprint());
+            assertNull(snapshot.entry(Path.of("missing")));
+            assertNull(snapshot.entry(null));
+        }
+
+        @Test
+        void invalidInputs(@TempDir Path tmp) throws IOException {
+            assertThrows(NullPointerException.class, () -> DirectorySnapshot.of((Path) null));
+            assertThrows(NoSuchFileException.class, () -> DirectorySnapshot.of(tmp.resolve("missing")));
+            var notSnapshot = Files.writeString(tmp.resolve("snapshot.bin"), "not a snapshot");
+            assertThrows(StreamCorruptedException.class, () -> DirectorySnapshot.read(notSnapshot));
+            assertNull(IOTools.snapshot(null));
+            assertNull(IOTools.snapshot(notSnapshot));
+        }
+
+        @Test
+        void writeAndRead(@TempDir Path tmp) throws IOException {
+            var root = createTree(tmp.resolve("src"));
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.CRC32C)) {
+                var snapshot = DirectorySnapshot.of(new DirectoryWalker(root), fingerprinter);
+                var file = tmp.resolve("state/snapshot.bin");
+                snapshot.write(file);
+
+                var read = DirectorySnapshot.read(file);
+                assertEquals(snapshot.root(), read.root());
+                assertEquals(snapshot.entries(), read.entries());
+                assertTrue(snapshot.diff(read).isEmpty());
+                assertTrue(read.diff(IOTools.snapshot(root)).isEmpty());
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Directory Sync Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class DirectorySyncTest {
+
+    @TempDir
+    private Path tmp;
+    private Path source;
+    private Path target;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        source = Files.createDirectories(tmp.resolve("src"));
+        target = tmp.resolve("dst");
+        Files.writeString(source.resolve("a.txt"), "a");
+        Files.createDirectories(source.resolve("sub/empty"));
+        Files.writeString(source.resolve("sub/b.txt"), "bb");
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        void invalidValues() {
+            assertThrows(NullPointerException.class, () -> new DirectorySync(null, target));
+            assertThrows(IllegalArgumentException.class, () -> new DirectorySync(source, source.resolve("out")));
+            assertThrows(IllegalArgumentException.class, () -> new DirectorySync(source, tmp));
+            assertThrows(IllegalArgumentException.class, () -> new DirectorySync(source, target).parallelism(0));
+            assertThrows(IllegalArgumentException.class, () -> new DirectorySync(source, target).exclude(""));
+        }
+
+        @Test
+        void missingSourceThrows() {
+            var sync = new DirectorySync(tmp.resolve("missing"), target);
+            assertThrows(NoSuchFileException.class, sync::sync);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sync Tests")
+    class SyncTests {
+
+        @Test
+        void changedFileIsCopied() throws IOException {
+            new DirectorySync(source, target).sync();
+            Files.writeString(source.resolve("sub/b.txt"), "changed");
+            Files.setLastModifiedTime(source.resolve("sub/b.txt"), FileTime.fromMillis(1_000_000L));
+
+            var result = new DirectorySync(source, target).sync();
+            assertEquals(1, result.filesCopied());
+            assertEquals(1, result.filesSkipped());
+            assertEquals("changed".length(), result.bytesCopied());
+            assertEquals("changed", Files.readString(target.resolve("sub/b.txt")));
+        }
+
+        @Test
+        void excludedEntriesAreNotCopied() throws IOException {
+            new DirectorySync(source, target).exclude("sub").sync();
+            assertTrue(Files.exists(target.resolve("a.txt")));
+            assertFalse(Files.exists(target.resolve("sub")));
+        }
+
+        @Test
+        void fileWhereSourceHasDirectoryIsReplaced() throws IOException {
+            Files.createDirectories(target);
+            Files.writeString(target.resolve("sub"), "file");
+            new DirectorySync(source, target).sync();
+            assertTrue(Files.isDirectory(target.resolve("sub/empty")));
+            assertEquals("bb", Files.readString(target.resolve("sub/b.txt")));
+        }
+
+        @Test
+        void firstSyncCopiesEverything() throws IOException {
+            var result = new DirectorySync(source, target).sync();
+            assertEquals(2, result.filesCopied());
+            assertEquals(0, result.filesSkipped());
+            assertEquals(3, result.bytesCopied());
+            assertEquals("a", Files.readString(target.resolve("a.txt")));
+            assertEquals("bb", Files.readString(target.resolve("sub/b.txt")));
+            assertTrue(Files.isDirectory(target.resolve("sub/empty")));
+            assertEquals(Files.getLastModifiedTime(source.resolve("a.txt")).toMillis(),
+                    Files.getLastModifiedTime(target.resolve("a.txt")).toMillis());
+            assertNotNull(result.elapsed());
+        }
+
+        @Test
+        void identicalContentOnlyUpdatesTimestamp() throws IOException {
+            new DirectorySync(source, target).sync();
+            Files.setLastModifiedTime(source.resolve("a.txt"), FileTime.fromMillis(2_000_000L));
+
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.CRC32C);
+            var result = new DirectorySync(source, target).fingerprinter(fingerprinter).sync();
+            assertEquals(0, result.filesCopied());
+            assertEquals(2, result.filesSkipped());
+            assertEquals(FileTime.fromMillis(2_000_000L), Files.getLastModifiedTime(target.resolve("a.txt")));
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void linkWhereSourceHasDirectoryIsReplaced() throws IOException {
+            Files.createDirectories(target);
+            Files.createSymbolicLink(target.resolve("sub"), Path.of("missing"));
+            new DirectorySync(source, target).sync();
+            assertFalse(Files.isSymbolicLink(target.resolve("sub")));
+            assertEquals("bb", Files.readString(target.resolve("sub/b.txt")));
+        }
+
+        @Test
+        void orphansAreKeptByDefault() throws IOException {
+            new DirectorySync(source, target).sync();
+            Files.delete(source.resolve("a.txt"));
+            var result = new DirectorySync(source, target).sync();
+            assertEquals(0, result.filesDeleted());
+            assertTrue(Files.exists(target.resolve("a.txt")));
+        }
+
+        @Test
+        void orphansAreDeleted() throws IOException {
+            new DirectorySync(source, target).sync();
+            Files.writeString(target.resolve("orphan.txt"), "x");
+            Files.createDirectories(target.resolve("gone/deeper"));
+            Files.writeString(target.resolve("gone/deeper/file"), "x");
+
+            var result = new DirectorySync(source, target).deleteOrphans(true).sync();
+            assertEquals(4, result.filesDeleted());
+            assertFalse(Files.exists(target.resolve("orphan.txt")));
+            assertFalse(Files.exists(target.resolve("gone")));
+            assertTrue(Files.exists(target.resolve("sub/b.txt")));
+        }
+
+        @Test
+        void parallelSyncOfManyFiles() throws IOException {
+            for (var i = 0; i < 200; i++) {
+                Files.writeString(source.resolve("file" + i), "content " + i);
+            }
+            var result = new DirectorySync(source, target).parallelism(8).sync();
+            assertEquals(202, result.filesCopied());
+            for (var i = 0; i < 200; i++) {
+                assertEquals("content " + i, Files.readString(target.resolve("file" + i)));
+            }
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void symbolicLinkReplacesDirectory() throws IOException {
+            Files.createSymbolicLink(source.resolve("link"), Path.of("a.txt"));
+            Files.createDirectories(target.resolve("link/nested"));
+            Files.writeString(target.resolve("link/nested/c.txt"), "c");
+            new DirectorySync(source, target).sync();
+            assertTrue(Files.isSymbolicLink(target.resolve("link")));
+            assertEquals(Path.of("a.txt"), Files.readSymbolicLink(target.resolve("link")));
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void symbolicLinksAreCopiedAsLinks() throws IOException {
+            Files.createSymbolicLink(source.resolve("link"), Path.of("a.txt"));
+            new DirectorySync(source, target).sync();
+            assertTrue(Files.isSymbolicLink(target.resolve("link")));
+            assertEquals(Path.of("a.txt"), Files.readSymbolicLink(target.resolve("link")));
+            assertEquals(3, new DirectorySync(source, target).sync().filesSkipped());
+        }
+
+        @Test
+        void unchangedFilesAreSkipped() throws IOException {
+            new DirectorySync(source, target).sync();
+            var result = new DirectorySync(source, target).sync();
+            assertEquals(0, result.filesCopied());
+            assertEquals(2, result.filesSkipped());
+            assertEquals(0, result.bytesCopied());
+        }
+    }
+}
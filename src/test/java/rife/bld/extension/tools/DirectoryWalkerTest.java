@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Directory Walker Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class DirectoryWalkerTest {
+
+    private static void createTree(Path root) throws IOException {
+        for (var file : new String[]{"a.java", "b.txt", "src/c.java", "src/main/d.java", "src/main/e.kt",
+                "build/f.java", "build/classes/g.class"}) {
+            var path = root.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file);
+        }
+    }
+
+    private static Set<String> walk(DirectoryWalker walker) throws IOException {
+        try (var entries = walker.stream()) {
+            return entries.map(entry -> entry.relativePath().toString().replace('\\', '/'))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        void invalidValues(@TempDir Path tmp) {
+            var walker = new DirectoryWalker(tmp);
+            assertThrows(IllegalArgumentException.class, () -> walker.maxDepth(0));
+            assertThrows(IllegalArgumentException.class, () -> walker.parallelism(0));
+            assertThrows(IllegalArgumentException.class, () -> walker.include(""));
+            assertThrows(IllegalArgumentException.class, () -> walker.exclude((String[]) null));
+            assertThrows(NullPointerException.class, () -> walker.include((Pattern) null));
+            assertThrows(NullPointerException.class, () -> new DirectoryWalker(null));
+        }
+
+        @Test
+        void missingRootThrows(@TempDir Path tmp) throws IOException {
+            assertThrows(NoSuchFileException.class, () -> new DirectoryWalker(tmp.resolve("missing")).stream());
+            var file = Files.writeString(tmp.resolve("file"), "x");
+            assertThrows(NotDirectoryException.class, () -> new DirectoryWalker(file).stream());
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter Tests")
+    class FilterTests {
+
+        @Test
+        void excludePrunesSubtrees(@TempDir Path tmp) throws IOException {
+            createTree(tmp);
+            assertEquals(Set.of("a.java", "b.txt", "src/c.java", "src/main/d.java", "src/main/e.kt"),
+                    walk(new DirectoryWalker(tmp).exclude("build")));
+        }
+
+        @Test
+        void excludeRegex(@TempDir Path tmp) throws IOException {
+            createTree(tmp);
+            assertEquals(Set.of("a.java", "b.txt", "build/f.java", "build/classes/g.class", "src/c.java"),
+                    walk(new DirectoryWalker(tmp).exclude(Pattern.compile("src/main"))));
+        }
+
+        @Test
+        void includeByName(@TempDir Path tmp) throws IOException {
+            createTree(tmp);
+            assertEquals(Set.of("a.java", "src/c.java", "src/main/d.java"),
+                    walk(new DirectoryWalker(tmp).include("*.java").exclude("build")));
+        }
+
+        @Test
+        void includeByRelativePath(@TempDir Path tmp) throws IOException {
+            createTree(tmp);
+            assertEquals(Set.of("src/main/d.java", "src/main/e.kt"),
+                    walk(new DirectoryWalker(tmp).include("src/main/*")));
+        }
+
+        @Test
+        void includeRegex(@TempDir Path tmp) throws IOException {
+            createTree(tmp);
+            assertEquals(Set.of("build/f.java", "src/c.java", "src/main/d.java"),
+                    walk(new DirectoryWalker(tmp).include(Pattern.compile(".+/.*\\.java"))));
+        }
+    }
+
+    @Nested
+    @DisplayName("Walk Tests")
+    class WalkTests {
+
+        @Test
+        void directoriesAreReportedWhenIncluded(@TempDir Path tmp) throws IOException {
+            createTree(tmp);
+            var walked = walk(new DirectoryWalker(tmp).includeDirectories(true).maxDepth(1));
+            assertEquals(Set.of("a.java", "b.txt", "build", "src"), walked);
+        }
+
+        @Test
+        void earlyCloseStopsWalk(@TempDir Path tmp) throws IOException {
+            for (var i = 0; i < 50; i++) {
+                var dir = Files.createDirectories(tmp.resolve("d" + i));
+                for (var j = 0; j < 200; j++) {
+                    Files.createFile(dir.resolve("f" + j));
+                }
+            }
+            try (var entries = new DirectoryWalker(tmp).parallelism(4).stream()) {
+                assertEquals(10, entries.limit(10).count());
+            }
+        }
+
+        @Test
+        void entriesCarryStatus(@TempDir Path tmp) throws IOException {
+            createTree(tmp);
+            try (var entries = new DirectoryWalker(tmp).include("b.txt").stream()) {
+                var entry = entries.findFirst().orElseThrow();
+                assertEquals(tmp.resolve("b.txt"), entry.path());
+                assertTrue(entry.status().isRegularFile());
+                assertEquals("b.txt".length(), entry.status().size());
+            }
+        }
+
+        @Test
+        void largeTreeMatchesFilesWalk(@TempDir Path tmp) throws IOException {
+            for (var i = 0; i < 20; i++) {
+                for (var j = 0; j < 10; j++) {
+                    var dir = Files.createDirectories(tmp.resolve("d" + i).resolve("e" + j));
+                    Files.createFile(dir.resolve("f.txt"));
+                }
+            }
+            Set<String> expected;
+            try (var files = Files.walk(tmp)) {
+                expected = files.filter(Files::isRegularFile)
+                        .map(path -> tmp.relativize(path).toString().replace('\\', '/'))
+                        .collect(Collectors.toCollection(TreeSet::new));
+            }
+            assertEquals(200, expected.size());
+            assertEquals(expected, walk(new DirectoryWalker(tmp).parallelism(8)));
+        }
+
+        @Test
+        void maxDepth(@TempDir Path tmp) throws IOException {
+            createTree(tmp);
+            assertEquals(Set.of("a.java", "b.txt", "build/f.java", "src/c.java"),
+                    walk(new DirectoryWalker(tmp).maxDepth(2)));
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void symbolicLinkCyclesAreWalkedOnce(@TempDir Path tmp) throws IOException {
+            var dir = Files.createDirectory(tmp.resolve("dir"));
+            Files.createFile(dir.resolve("file"));
+            Files.createSymbolicLink(dir.resolve("loop"), tmp);
+
+            assertEquals(Set.of("dir/file", "dir/loop"), walk(new DirectoryWalker(tmp)));
+            assertEquals(Set.of("dir/file"), walk(new DirectoryWalker(tmp).followLinks(true)));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Executable Cache Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ExecutableCacheTest {
+
+    private static final FileTime OLD = FileTime.fromMillis(1_000_000L);
+
+    private static Path executable(Path dir, String name) throws IOException {
+        var file = Files.createFile(Files.createDirectories(dir).resolve(name));
+        if (!file.toFile().setExecutable(true)) {
+            fail("cannot make " + file + " executable");
+        }
+        return file;
+    }
+
+    @Test
+    void changedDirectoryIsListedAgain(@TempDir Path tmp) throws IOException {
+        var git = executable(tmp, "git");
+        Files.setLastModifiedTime(tmp, OLD);
+        var cache = new ExecutableCache(ExecutableCache.DEFAULT_MAX_SIZE);
+        assertEquals(Map.of("git", git), cache.resolve(List.of("git", "node"), List.of(tmp), List.of(), false));
+
+        var node = executable(tmp, "node");
+        assertEquals(Map.of("git", git, "node", node),
+                cache.resolve(List.of("git", "node"), List.of(tmp), List.of(), false));
+        assertEquals(2L, cache.listed());
+    }
+
+    @Test
+    void deletedExecutableIsNotReturned(@TempDir Path tmp) throws IOException {
+        var dir = tmp.resolve("bin");
+        var git = executable(dir, "git");
+        Files.setLastModifiedTime(dir, OLD);
+        var cache = new ExecutableCache(ExecutableCache.DEFAULT_MAX_SIZE);
+        assertEquals(Map.of("git", git), cache.resolve(List.of("git"), List.of(dir), List.of(), false));
+
+        Files.delete(git);
+        Files.setLastModifiedTime(dir, OLD);
+        assertTrue(cache.resolve(List.of("git"), List.of(dir), List.of(), false).isEmpty());
+    }
+
+    @Test
+    void maxSizeClearsCache(@TempDir Path tmp) throws IOException {
+        var cache = new ExecutableCache(2);
+        var dirs = List.of(tmp.resolve("a"), tmp.resolve("b"), tmp.resolve("c"));
+        for (var dir : dirs) {
+            Files.createDirectories(dir);
+            Files.setLastModifiedTime(dir, OLD);
+        }
+        cache.resolve(List.of("tool"), dirs, List.of(), false);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void recentlyModifiedDirectoryIsNotCached(@TempDir Path tmp) throws IOException {
+        var git = executable(tmp, "git");
+        var cache = new ExecutableCache(ExecutableCache.DEFAULT_MAX_SIZE);
+        assertEquals(Map.of("git", git), cache.resolve(List.of("git"), List.of(tmp), List.of(), false));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void unchangedDirectoriesAreListedOnce(@TempDir Path tmp) throws IOException {
+        var first = tmp.resolve("first");
+        var second = tmp.resolve("second");
+        var git = executable(first, "git");
+        var node = executable(second, "node");
+        Files.setLastModifiedTime(first, OLD);
+        Files.setLastModifiedTime(second, OLD);
+
+        var cache = new ExecutableCache(ExecutableCache.DEFAULT_MAX_SIZE);
+        var dirs = List.of(first, tmp.resolve("missing"), first, second);
+        for (var i = 0; i < 10; i++) {
+            assertEquals(Map.of("git", git, "node", node),
+                    cache.resolve(List.of("git", "node", "missing"), dirs, List.of(), false));
+        }
+        assertEquals(2L, cache.listed());
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Existence Check Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ExistenceCheckTest {
+
+    // Checks the paths with and without listing directories, sequentially and in parallel
+    private static void assertExists(List<Path> paths, boolean... expected) {
+        for (var listThreshold : new int[]{1, Integer.MAX_VALUE}) {
+            for (var parallel : new boolean[]{false, true}) {
+                assertArrayEquals(expected, ExistenceCheck.exists(paths, listThreshold, parallel),
+                        "listThreshold=" + listThreshold + ", parallel=" + parallel);
+            }
+        }
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void brokenSymbolicLinkIsMissing(@TempDir Path tmp) throws IOException {
+        var artifact = Files.createFile(tmp.resolve("artifact.jar"));
+        var link = Files.createSymbolicLink(tmp.resolve("link.jar"), artifact);
+        var broken = Files.createSymbolicLink(tmp.resolve("broken.jar"), tmp.resolve("deleted.jar"));
+        var paths = List.of(link, broken, tmp.resolve("deleted.jar"), artifact);
+        assertExists(paths, true, false, false, true);
+        for (var path : paths) {
+            assertEquals(IOTools.exists(path), IOTools.existsAll(List.of(path)), path.toString());
+        }
+        assertEquals(List.of(broken, tmp.resolve("deleted.jar")), IOTools.partitionExisting(paths).missing());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5})
+    void filesAndDirectories(int depth, @TempDir Path tmp) throws IOException {
+        var paths = new ArrayList<Path>();
+        var dir = tmp;
+        for (var i = 0; i < depth; i++) {
+            dir = Files.createDirectories(dir.resolve("level" + i));
+            paths.add(dir);
+            paths.add(Files.createFile(dir.resolve("file.jar")));
+            paths.add(dir.resolve("missing.jar"));
+        }
+        var expected = new boolean[paths.size()];
+        for (var i = 0; i < expected.length; i++) {
+            expected[i] = i % 3 != 2;
+        }
+        assertExists(paths, expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"missing", "file.jar"})
+    void missingOrFileParent(String parent, @TempDir Path tmp) throws IOException {
+        Files.createFile(tmp.resolve("file.jar"));
+        var dir = tmp.resolve(parent);
+        assertExists(List.of(dir.resolve("a.jar"), dir.resolve("b.jar"), dir.resolve("c.jar")),
+                false, false, false);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {".", "..", ""})
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void specialNames(String name, @TempDir Path tmp) throws IOException {
+        var dir = Files.createDirectories(tmp.resolve("dir"));
+        assertExists(List.of(dir.resolve(name), Path.of(name), tmp.resolve("missing").resolve(name)),
+                true, true, false);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void unlistableDirectoryIsStated(boolean parallel, @TempDir Path tmp) throws IOException {
+        var dir = Files.createDirectories(tmp.resolve("dir"));
+        var file = Files.createFile(dir.resolve("file.jar"));
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("-wx------"));
+        try {
+            assertArrayEquals(new boolean[]{true, false},
+                    ExistenceCheck.exists(List.of(file, dir.resolve("missing.jar")), 1, parallel));
+        } finally {
+            Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwx------"));
+        }
+    }
+}
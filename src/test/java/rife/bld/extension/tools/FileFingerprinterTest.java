@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("File Fingerprinter Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class FileFingerprinterTest {
+
+    private static final String HELLO_SHA_256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    // Files modified within the racy window are never cached
+    private static Path writeOld(Path file, String content) throws IOException {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()
+                - TimeUnit.MINUTES.toMillis(5)));
+        return file;
+    }
+
+    @Nested
+    @DisplayName("Cache Tests")
+    class CacheTests {
+
+        @Test
+        void modifiedFileIsRehashed(@TempDir Path tmp) throws IOException {
+            var file = writeOld(tmp.resolve("file.txt"), "hello");
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256);
+            assertEquals(HELLO_SHA_256, fingerprinter.fingerprint(file));
+
+            Files.writeString(file, "world");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()
+                    - TimeUnit.MINUTES.toMillis(1)));
+            assertNotEquals(HELLO_SHA_256, fingerprinter.fingerprint(file));
+            assertEquals(2, fingerprinter.hashed());
+            assertEquals(0, fingerprinter.cached());
+        }
+
+        @Test
+        void racilyModifiedFileIsNotCached(@TempDir Path tmp) throws IOException {
+            var file = Files.writeString(tmp.resolve("file.txt"), "hello");
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256);
+            fingerprinter.fingerprint(file);
+            fingerprinter.fingerprint(file);
+            assertEquals(2, fingerprinter.hashed());
+            assertEquals(0, fingerprinter.cached());
+        }
+
+        @Test
+        void unchangedFileIsNotRehashed(@TempDir Path tmp) throws IOException {
+            var file = writeOld(tmp.resolve("file.txt"), "hello");
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256);
+            assertEquals(HELLO_SHA_256, fingerprinter.fingerprint(file));
+            assertEquals(HELLO_SHA_256, fingerprinter.fingerprint(tmp.resolve("./file.txt")));
+            assertEquals(1, fingerprinter.hashed());
+            assertEquals(1, fingerprinter.cached());
+        }
+    }
+
+    @Nested
+    @DisplayName("Hash Tests")
+    class HashTests {
+
+        @Test
+        void crc32c(@TempDir Path tmp) throws IOException {
+            var file = Files.writeString(tmp.resolve("file.txt"), "123456789");
+            assertEquals("e3069283", new FileFingerprinter(FileFingerprinter.Algorithm.CRC32C).fingerprint(file));
+        }
+
+        @Test
+        void directoryThrows(@TempDir Path tmp) {
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256);
+            assertThrows(NoSuchFileException.class, () -> fingerprinter.fingerprint(tmp));
+            assertThrows(NoSuchFileException.class, () -> fingerprinter.fingerprint(tmp.resolve("missing")));
+        }
+
+        @Test
+        void emptyFile(@TempDir Path tmp) throws IOException {
+            var file = Files.createFile(tmp.resolve("empty"));
+            assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                    new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).fingerprint(file));
+        }
+
+        @Test
+        void largeFileIsMapped(@TempDir Path tmp) throws Exception {
+            var bytes = new byte[(int) FileChunks.MAP_THRESHOLD * 3 + 17];
+            new Random(42).nextBytes(bytes);
+            var file = Files.write(tmp.resolve("large.bin"), bytes);
+            var expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            assertEquals(expected, new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).fingerprint(file));
+        }
+
+        @Test
+        void nullArguments() {
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256);
+            assertThrows(NullPointerException.class, () -> fingerprinter.fingerprint((Path) null));
+            assertThrows(NullPointerException.class, () -> fingerprinter.fingerprint((List<Path>) null));
+            assertThrows(NullPointerException.class, () -> new FileFingerprinter(null));
+            assertThrows(IllegalArgumentException.class, () -> fingerprinter.parallelism(0));
+        }
+
+        @Test
+        void parallelFingerprintsKeepOrder(@TempDir Path tmp) throws Exception {
+            var files = new ArrayList<Path>();
+            for (var i = 0; i < 100; i++) {
+                files.add(Files.writeString(tmp.resolve("file" + i), "content " + i));
+            }
+            var fingerprints = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256)
+                    .parallelism(8).fingerprint(files);
+            assertEquals(files, new ArrayList<>(fingerprints.keySet()));
+            var md = MessageDigest.getInstance("SHA-256");
+            for (var i = 0; i < 100; i++) {
+                var expected = HexFormat.of().formatHex(md.digest(("content " + i).getBytes()));
+                assertEquals(expected, fingerprints.get(files.get(i)));
+            }
+        }
+
+        @Test
+        void parallelFailurePropagates(@TempDir Path tmp) throws IOException {
+            var files = List.of(Files.writeString(tmp.resolve("a"), "a"), tmp.resolve("missing"));
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).parallelism(2);
+            assertThrows(NoSuchFileException.class, () -> fingerprinter.fingerprint(files));
+        }
+    }
+
+    @Nested
+    @DisplayName("Index Tests")
+    class IndexTests {
+
+        @Test
+        void concurrentCallersWaitForIndex(@TempDir Path tmp) throws Exception {
+            var file = writeOld(tmp.resolve("file.txt"), "hello");
+            var index = tmp.resolve("index");
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                fingerprinter.fingerprint(file);
+            }
+
+            var threads = 8;
+            var start = new CountDownLatch(1);
+            var pool = Executors.newFixedThreadPool(threads);
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                var futures = new ArrayList<Future<String>>();
+                for (var i = 0; i < threads; i++) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        return fingerprinter.fingerprint(file);
+                    }));
+                }
+                start.countDown();
+                for (var future : futures) {
+                    assertEquals(HELLO_SHA_256, future.get(10, TimeUnit.SECONDS));
+                }
+                assertEquals(0, fingerprinter.hashed());
+                assertEquals(threads, fingerprinter.cached());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        @Test
+        void corruptIndexIsIgnored(@TempDir Path tmp) throws IOException {
+            var file = writeOld(tmp.resolve("file.txt"), "hello");
+            var index = Files.writeString(tmp.resolve("index"), "garbage");
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                assertEquals(HELLO_SHA_256, fingerprinter.fingerprint(file));
+                assertEquals(1, fingerprinter.hashed());
+            }
+        }
+
+        @Test
+        void indexForOtherAlgorithmIsIgnored(@TempDir Path tmp) throws IOException {
+            var file = writeOld(tmp.resolve("file.txt"), "hello");
+            var index = tmp.resolve("index");
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.CRC32C).index(index)) {
+                fingerprinter.fingerprint(file);
+            }
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                assertEquals(HELLO_SHA_256, fingerprinter.fingerprint(file));
+                assertEquals(1, fingerprinter.hashed());
+            }
+        }
+
+        @Test
+        void indexPersistsAcrossInstances(@TempDir Path tmp) throws IOException {
+            var file = writeOld(tmp.resolve("file.txt"), "hello");
+            var index = tmp.resolve("build/fingerprints");
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                assertEquals(HELLO_SHA_256, fingerprinter.fingerprint(file));
+                assertEquals(1, fingerprinter.hashed());
+            }
+            assertTrue(Files.isRegularFile(index));
+
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                assertEquals(HELLO_SHA_256, fingerprinter.fingerprint(file));
+                assertEquals(0, fingerprinter.hashed());
+                assertEquals(1, fingerprinter.cached());
+            }
+        }
+
+        @Test
+        void longPathsArePersisted(@TempDir Path tmp) throws IOException {
+            var file = writeOld(tmp.resolve("file.txt"), "hello");
+            var index = tmp.resolve("index");
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                fingerprinter.fingerprint(file);
+            }
+
+            // Prepend an entry whose path exceeds the 65535 bytes writeUTF can encode
+            var longPath = "/" + "a".repeat(70_000);
+            var bytes = new ByteArrayOutputStream();
+            try (var in = new DataInputStream(Files.newInputStream(index));
+                 var out = new DataOutputStream(bytes)) {
+                out.writeInt(in.readInt());
+                out.writeByte(in.readUnsignedByte());
+                var algorithm = in.readNBytes(in.readInt());
+                out.writeInt(algorithm.length);
+                out.write(algorithm);
+                out.writeInt(in.readInt() + 1);
+                out.writeInt(longPath.length());
+                out.write(longPath.getBytes(StandardCharsets.UTF_8));
+                out.writeLong(5L);
+                out.writeLong(0L);
+                out.writeInt(0);
+                out.writeByte(32);
+                out.write(new byte[32]);
+                in.transferTo(out);
+            }
+            Files.write(index, bytes.toByteArray());
+
+            var other = writeOld(tmp.resolve("other.txt"), "other");
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                assertEquals(HELLO_SHA_256, fingerprinter.fingerprint(file));
+                fingerprinter.fingerprint(other);
+                assertEquals(1, fingerprinter.cached());
+            }
+            assertTrue(Files.size(index) > longPath.length());
+
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                fingerprinter.fingerprint(List.of(file, other));
+                assertEquals(0, fingerprinter.hashed());
+                assertEquals(2, fingerprinter.cached());
+            }
+        }
+
+        @Test
+        void unmodifiedIndexIsNotRewritten(@TempDir Path tmp) throws IOException {
+            var file = writeOld(tmp.resolve("file.txt"), "hello");
+            var index = tmp.resolve("index");
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                fingerprinter.fingerprint(file);
+            }
+            var written = FileTime.fromMillis(1_000_000L);
+            Files.setLastModifiedTime(index, written);
+            try (var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256).index(index)) {
+                fingerprinter.fingerprint(file);
+            }
+            assertEquals(written, Files.getLastModifiedTime(index));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("File Materializer Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class FileMaterializerTest {
+
+    private static Path createSource(Path dir) throws IOException {
+        var source = Files.writeString(dir.resolve("lib.jar"), "jar content");
+        Files.setLastModifiedTime(source, FileTime.fromMillis(1_000_000L));
+        return source;
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        void defaults() {
+            var materializer = new FileMaterializer();
+            assertEquals(FileMaterializer.Policy.LINK_CLONE_OR_COPY, materializer.policy());
+            assertEquals(Runtime.getRuntime().availableProcessors(), materializer.parallelism());
+            assertEquals(0L, materializer.bytesCopied());
+            for (var strategy : FileMaterializer.Strategy.values()) {
+                assertEquals(0L, materializer.count(strategy));
+            }
+        }
+
+        @Test
+        void invalidValues(@TempDir Path tmp) throws IOException {
+            var materializer = new FileMaterializer();
+            assertThrows(IllegalArgumentException.class, () -> materializer.parallelism(0));
+            assertThrows(NullPointerException.class, () -> materializer.policy(null));
+            assertThrows(NullPointerException.class, () -> materializer.count(null));
+            assertThrows(NullPointerException.class, () -> materializer.materialize(null, tmp.resolve("a")));
+            assertThrows(NullPointerException.class, () -> materializer.materialize(tmp, null));
+            assertThrows(NullPointerException.class, () -> materializer.materialize(null));
+            assertThrows(NoSuchFileException.class,
+                    () -> materializer.materialize(tmp.resolve("missing"), tmp.resolve("target")));
+            assertThrows(NoSuchFileException.class, () -> materializer.materialize(tmp, tmp.resolve("target")));
+            assertNull(IOTools.materialize(null, tmp.resolve("target")));
+            assertNull(IOTools.materialize(createSource(tmp), null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Materialize Tests")
+    class MaterializeTests {
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void cloneInterruptedLeavesNoTemporaryFile(@TempDir Path tmp) throws IOException {
+            var source = createSource(tmp);
+            var target = tmp.resolve("lib.clone.jar");
+            var materializer = new FileMaterializer().policy(FileMaterializer.Policy.CLONE_OR_COPY);
+            Thread.currentThread().interrupt();
+            try {
+                // Either cloning or the fallback copy is interrupted, depending on how quickly cp exits
+                assertThrows(IOException.class, () -> materializer.materialize(source, target));
+            } finally {
+                assertTrue(Thread.interrupted());
+            }
+            try (var files = Files.list(tmp)) {
+                assertEquals(List.of(source), files.toList());
+            }
+        }
+
+        @Test
+        void cloneOrCopyNeverLinks(@TempDir Path tmp) throws IOException {
+            var source = createSource(tmp);
+            var target = tmp.resolve("lib/lib.jar");
+            var materializer = new FileMaterializer().policy(FileMaterializer.Policy.CLONE_OR_COPY);
+            var strategy = materializer.materialize(source, target);
+            assertTrue(strategy == FileMaterializer.Strategy.CLONE || strategy == FileMaterializer.Strategy.COPY);
+            assertFalse(Files.isSameFile(source, target));
+            assertEquals("jar content", Files.readString(target));
+            assertEquals(1L, materializer.count(strategy));
+
+            // Modifying the target leaves the source untouched
+            Files.writeString(target, "modified");
+            assertEquals("jar content", Files.readString(source));
+        }
+
+        @Test
+        void copyPreservesLastModified(@TempDir Path tmp) throws IOException {
+            var source = createSource(tmp);
+            var target = tmp.resolve("lib/lib.jar");
+            var materializer = new FileMaterializer().policy(FileMaterializer.Policy.COPY);
+            assertEquals(FileMaterializer.Strategy.COPY, materializer.materialize(source, target));
+            assertEquals("jar content", Files.readString(target));
+            assertEquals(Files.getLastModifiedTime(source), Files.getLastModifiedTime(target));
+            assertEquals(Files.size(source), materializer.bytesCopied());
+            assertEquals(FileMaterializer.Strategy.UNCHANGED, materializer.materialize(source, target));
+            assertEquals(1L, materializer.count(FileMaterializer.Strategy.COPY));
+            assertEquals(1L, materializer.count(FileMaterializer.Strategy.UNCHANGED));
+        }
+
+        @Test
+        void copyReplacesHardLink(@TempDir Path tmp) throws IOException {
+            var source = createSource(tmp);
+            var target = tmp.resolve("lib.link.jar");
+            Files.createLink(target, source);
+            var materializer = new FileMaterializer().policy(FileMaterializer.Policy.COPY);
+            assertEquals(FileMaterializer.Strategy.COPY, materializer.materialize(source, target));
+            assertFalse(Files.isSameFile(source, target));
+            assertEquals("jar content", Files.readString(target));
+        }
+
+        @Test
+        void hardLinkOnSameFileSystem(@TempDir Path tmp) throws IOException {
+            var source = createSource(tmp);
+            var target = tmp.resolve("lib/lib.jar");
+            var materializer = new FileMaterializer();
+            assertEquals(FileMaterializer.Strategy.HARD_LINK, materializer.materialize(source, target));
+            assertTrue(Files.isSameFile(source, target));
+            assertEquals(0L, materializer.bytesCopied());
+            assertEquals(FileMaterializer.Strategy.UNCHANGED, IOTools.materialize(source, target));
+            assertEquals(1L, materializer.count(FileMaterializer.Strategy.HARD_LINK));
+        }
+
+        @Test
+        void manyFilesInParallel(@TempDir Path tmp) throws IOException {
+            var sources = new LinkedHashMap<Path, Path>();
+            for (var i = 0; i < 20; i++) {
+                var source = Files.writeString(tmp.resolve("lib" + i + ".jar"), "jar " + i);
+                sources.put(tmp.resolve("staging/lib/lib" + i + ".jar"), source);
+            }
+            var materializer = new FileMaterializer().policy(FileMaterializer.Policy.COPY).parallelism(4);
+            var strategies = materializer.materialize(sources);
+            assertEquals(List.copyOf(sources.keySet()), List.copyOf(strategies.keySet()));
+            assertTrue(strategies.values().stream().allMatch(s -> s == FileMaterializer.Strategy.COPY));
+            for (var entry : sources.entrySet()) {
+                assertEquals(Files.readString(entry.getValue()), Files.readString(entry.getKey()));
+            }
+            assertEquals(20L, materializer.count(FileMaterializer.Strategy.COPY));
+            assertTrue(materializer.materialize(new LinkedHashMap<>()).isEmpty());
+        }
+
+        @Test
+        void replacesStaleTarget(@TempDir Path tmp) throws IOException {
+            var source = createSource(tmp);
+            var target = Files.writeString(tmp.resolve("target.jar"), "stale content");
+            var materializer = new FileMaterializer().policy(FileMaterializer.Policy.COPY);
+            assertEquals(FileMaterializer.Strategy.COPY, materializer.materialize(source, target));
+            assertEquals("jar content", Files.readString(target));
+            try (var files = Files.list(tmp)) {
+                assertEquals(2L, files.count(), "temporary files left behind");
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("File Status Cache Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class FileStatusCacheTest {
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(20);
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching Tests")
+    class CachingTests {
+
+        @Test
+        void entriesExpireAfterTtl(@TempDir Path tmp) throws IOException {
+            var now = new AtomicLong();
+            try (var cache = new FileStatusCache(now::get).ttl(100)) {
+                var file = tmp.resolve("file.txt");
+                assertFalse(cache.exists(file));
+
+                Files.writeString(file, "x");
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(99));
+                assertFalse(cache.exists(file));
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+                assertTrue(cache.exists(file));
+            }
+        }
+
+        @Test
+        void hitsAndMisses(@TempDir Path tmp) throws IOException {
+            try (var cache = new FileStatusCache()) {
+                assertTrue(cache.isDirectory(tmp));
+                assertTrue(cache.exists(tmp));
+                assertTrue(cache.exists(tmp.resolve("a/..")));
+                assertEquals(1, cache.misses());
+                assertEquals(2, cache.hits());
+                assertEquals(1, cache.size());
+            }
+        }
+
+        @Test
+        void invalidateRemovesDescendants(@TempDir Path tmp) throws IOException {
+            try (var cache = new FileStatusCache()) {
+                var dir = tmp.resolve("dir");
+                var file = dir.resolve("file.txt");
+                assertFalse(cache.exists(file));
+                assertFalse(cache.exists(dir));
+                assertTrue(cache.exists(tmp));
+                assertEquals(3, cache.size());
+
+                Files.createDirectory(dir);
+                Files.writeString(file, "x");
+                cache.invalidate(dir);
+                assertEquals(1, cache.size());
+                assertTrue(cache.exists(file));
+            }
+        }
+
+        @Test
+        void leastRecentlyUsedEntriesAreEvicted(@TempDir Path tmp) throws IOException {
+            try (var cache = new FileStatusCache().maxSize(2)) {
+                cache.exists(tmp.resolve("a"));
+                cache.exists(tmp.resolve("b"));
+                cache.exists(tmp.resolve("a"));
+                cache.exists(tmp.resolve("c"));
+                assertEquals(2, cache.size());
+
+                var misses = cache.misses();
+                cache.exists(tmp.resolve("a"));
+                assertEquals(misses, cache.misses());
+                cache.exists(tmp.resolve("b"));
+                assertEquals(misses + 1, cache.misses());
+            }
+        }
+
+        @Test
+        void nullPaths() throws IOException {
+            try (var cache = new FileStatusCache()) {
+                assertFalse(cache.exists(null));
+                assertFalse(cache.isDirectory(null));
+                assertFalse(cache.canExecute(null));
+                cache.invalidate(null);
+                assertThrows(NullPointerException.class, () -> cache.status(null));
+            }
+        }
+
+        @Test
+        void statusIsAbsoluteAndNormalized(@TempDir Path tmp) throws IOException {
+            try (var cache = new FileStatusCache()) {
+                var status = cache.status(tmp.resolve("sub/../file"));
+                assertEquals(tmp.toAbsolutePath().resolve("file"), status.path());
+                assertFalse(status.exists());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        void defaults() throws IOException {
+            try (var cache = new FileStatusCache()) {
+                assertEquals(FileStatusCache.DEFAULT_MAX_SIZE, cache.maxSize());
+                assertEquals(FileStatusCache.DEFAULT_TTL_MILLIS, cache.ttl());
+            }
+        }
+
+        @Test
+        void invalidValues() throws IOException {
+            try (var cache = new FileStatusCache()) {
+                assertThrows(IllegalArgumentException.class, () -> cache.maxSize(0));
+                assertThrows(IllegalArgumentException.class, () -> cache.ttl(0));
+                assertThrows(NullPointerException.class, () -> cache.watch(null));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Executable Tests")
+    class ExecutableTests {
+
+        @Test
+        void directoryIsNotExecutable(@TempDir Path tmp) throws IOException {
+            try (var cache = new FileStatusCache()) {
+                assertFalse(cache.canExecute(tmp));
+            }
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void executableMatchesIOTools(@TempDir Path tmp) throws IOException {
+            var script = Files.createFile(tmp.resolve("script.sh"));
+            Files.setPosixFilePermissions(script, Set.of(PosixFilePermission.OWNER_READ,
+                    PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE));
+            var data = Files.createFile(tmp.resolve("data.txt"));
+            try (var cache = new FileStatusCache()) {
+                assertTrue(cache.canExecute(script));
+                assertTrue(cache.canExecute(script));
+                assertFalse(cache.canExecute(data));
+                assertEquals(IOTools.canExecute(script), cache.canExecute(script));
+                assertEquals(2, cache.misses());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Watch Tests")
+    class WatchTests {
+
+        @Test
+        void closeStopsWatching(@TempDir Path tmp) throws IOException {
+            var cache = new FileStatusCache().watch(tmp);
+            assertTrue(cache.exists(tmp));
+            cache.close();
+            assertEquals(0, cache.size());
+            cache.close();
+        }
+
+        @Test
+        void createdFileInvalidatesCachedStatus(@TempDir Path tmp) throws Exception {
+            try (var cache = new FileStatusCache().ttl(TimeUnit.HOURS.toMillis(1)).watch(tmp)) {
+                var file = tmp.resolve("file.txt");
+                assertFalse(cache.exists(file));
+                Files.writeString(file, "x");
+                await(() -> cache.exists(file));
+            }
+        }
+
+        @Test
+        void deletedDirectoryInvalidatesDescendants(@TempDir Path tmp) throws Exception {
+            var dir = Files.createDirectory(tmp.resolve("dir"));
+            var file = Files.writeString(dir.resolve("file.txt"), "x");
+            try (var cache = new FileStatusCache().ttl(TimeUnit.HOURS.toMillis(1)).watch(tmp)) {
+                assertTrue(cache.exists(dir));
+                assertTrue(cache.exists(file));
+                Files.delete(file);
+                Files.delete(dir);
+                await(() -> !cache.exists(dir));
+                assertFalse(cache.exists(file));
+            }
+        }
+
+        @Test
+        void watchNonDirectoryThrows(@TempDir Path tmp) throws IOException {
+            try (var cache = new FileStatusCache()) {
+                assertThrows(IOException.class, () -> cache.watch(tmp.resolve("missing")));
+            }
+        }
+    }
+}
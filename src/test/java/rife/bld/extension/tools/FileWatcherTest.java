@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("File Watcher Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class FileWatcherTest {
+
+    // Generous, since some platforms poll for changes
+    private static final long TIMEOUT_SECONDS = 30L;
+
+    // Collects change sets until all the expected paths have been reported
+    private static Set<Path> awaitPaths(BlockingQueue<FileWatcher.ChangeSet> queue, Set<Path> expected)
+            throws InterruptedException {
+        var paths = new HashSet<Path>();
+        while (!paths.containsAll(expected)) {
+            paths.addAll(next(queue).paths());
+        }
+        return paths;
+    }
+
+    private static FileWatcher.ChangeSet next(BlockingQueue<FileWatcher.ChangeSet> queue)
+            throws InterruptedException {
+        var changes = queue.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(changes, "no changes reported");
+        return changes;
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        void invalidValues(@TempDir Path tmp) throws IOException {
+            try (var watcher = new FileWatcher()) {
+                assertThrows(IllegalArgumentException.class, () -> watcher.debounce(0L));
+                assertThrows(NullPointerException.class, () -> watcher.onChange(null));
+                assertThrows(NullPointerException.class, () -> watcher.watch(null));
+                var file = Files.createFile(tmp.resolve("file.txt"));
+                assertThrows(NotDirectoryException.class, () -> watcher.watch(file));
+                assertThrows(NotDirectoryException.class, () -> watcher.watch(tmp.resolve("missing")));
+            }
+        }
+
+        @Test
+        void nestedRootsAreIgnored(@TempDir Path tmp) throws IOException {
+            var sub = Files.createDirectories(tmp.resolve("a/b"));
+            try (var watcher = new FileWatcher().debounce(50L)) {
+                assertEquals(50L, watcher.debounce());
+                watcher.watch(tmp).watch(sub).watch(tmp);
+                assertEquals(Set.of(tmp.toAbsolutePath().normalize()), watcher.roots());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Watch Tests")
+    class WatchTests {
+
+        @Test
+        void burstIsCoalesced(@TempDir Path tmp) throws Exception {
+            var queue = new LinkedBlockingQueue<FileWatcher.ChangeSet>();
+            try (var watcher = new FileWatcher().debounce(500L).onChange(queue::add)) {
+                watcher.watch(tmp);
+                var expected = new HashSet<Path>();
+                for (var i = 0; i < 50; i++) {
+                    expected.add(Files.writeString(tmp.resolve("Class" + i + ".class"), "class"));
+                }
+                assertEquals(expected, next(queue).paths());
+            }
+        }
+
+        @Test
+        void changesAreGroupedByRoot(@TempDir Path tmp) throws Exception {
+            var main = Files.createDirectories(tmp.resolve("main"));
+            var test = Files.createDirectories(tmp.resolve("test"));
+            var queue = new LinkedBlockingQueue<FileWatcher.ChangeSet>();
+            try (var watcher = new FileWatcher().debounce(100L).onChange(queue::add)) {
+                watcher.watch(main).watch(test);
+                var mainFile = Files.writeString(main.resolve("Main.java"), "class Main {}");
+                var testFile = Files.writeString(test.resolve("MainTest.java"), "class MainTest {}");
+                awaitPaths(queue, Set.of(mainFile, testFile));
+
+                Files.writeString(mainFile, "class Main { }");
+                var changes = next(queue);
+                assertEquals(Set.of(mainFile), changes.changes(main));
+                assertTrue(changes.changes(test).isEmpty());
+                assertTrue(changes.rescanned().isEmpty());
+            }
+        }
+
+        @Test
+        void deletionsAreReported(@TempDir Path tmp) throws Exception {
+            var file = Files.writeString(tmp.resolve("file.txt"), "content");
+            var queue = new LinkedBlockingQueue<FileWatcher.ChangeSet>();
+            try (var watcher = new FileWatcher().debounce(100L).onChange(queue::add)) {
+                watcher.watch(tmp);
+                Files.delete(file);
+                assertEquals(Set.of(file), next(queue).changes(tmp));
+            }
+        }
+
+        @Test
+        void failingListenerDoesNotStopOthers(@TempDir Path tmp) throws Exception {
+            var queue = new LinkedBlockingQueue<FileWatcher.ChangeSet>();
+            try (var watcher = new FileWatcher().debounce(100L)) {
+                watcher.onChange(changes -> {
+                    throw new IllegalStateException("failed");
+                }).onChange(queue::add).watch(tmp);
+                var file = Files.writeString(tmp.resolve("file.txt"), "content");
+                awaitPaths(queue, Set.of(file));
+            }
+        }
+
+        @Test
+        void newDirectoriesAreWatched(@TempDir Path tmp) throws Exception {
+            var queue = new LinkedBlockingQueue<FileWatcher.ChangeSet>();
+            try (var watcher = new FileWatcher().debounce(100L).onChange(queue::add)) {
+                watcher.watch(tmp);
+                var dir = Files.createDirectories(tmp.resolve("a/b"));
+                var file = Files.writeString(dir.resolve("created.txt"), "content");
+                awaitPaths(queue, Set.of(tmp.resolve("a"), file));
+
+                var later = Files.writeString(dir.resolve("later.txt"), "content");
+                awaitPaths(queue, Set.of(later));
+            }
+        }
+
+        @Test
+        void removedListenerIsNotCalled(@TempDir Path tmp) throws Exception {
+            var removed = new LinkedBlockingQueue<FileWatcher.ChangeSet>();
+            Consumer<FileWatcher.ChangeSet> listener = removed::add;
+            var queue = new LinkedBlockingQueue<FileWatcher.ChangeSet>();
+            try (var watcher = new FileWatcher().debounce(100L).onChange(listener).onChange(queue::add)) {
+                assertTrue(watcher.removeListener(listener));
+                assertFalse(watcher.removeListener(listener));
+                watcher.watch(tmp);
+                var file = Files.writeString(tmp.resolve("file.txt"), "content");
+                awaitPaths(queue, Set.of(file));
+                assertTrue(removed.isEmpty());
+            }
+        }
+    }
+}
@@ -27,9 +27,23 @@ import org.junit.jupiter.params.provider.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -307,6 +321,217 @@ class IOToolsTest {
         }
     }
 
+    @Nested
+    @DisplayName("checksums(...) and writeChecksums(...) Tests")
+    class ChecksumsTests {
+
+        private static String expected(String algorithm, byte[] content) throws NoSuchAlgorithmException {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(content));
+        }
+
+        @Test
+        void allAlgorithmsByDefault(@TempDir Path tempDir) throws Exception {
+            // Larger than the memory-mapping threshold, and not a multiple of the chunk size
+            var content = new byte[3 * 1024 * 1024 + 17];
+            new Random(7).nextBytes(content);
+            var file = Files.write(tempDir.resolve("app.jar"), content);
+
+            var checksums = IOTools.checksums(file);
+            assertEquals(List.of(IOTools.ChecksumAlgorithm.values()), List.copyOf(checksums.keySet()));
+            assertEquals(expected("MD5", content), checksums.get(IOTools.ChecksumAlgorithm.MD5));
+            assertEquals(expected("SHA-1", content), checksums.get(IOTools.ChecksumAlgorithm.SHA_1));
+            assertEquals(expected("SHA-256", content), checksums.get(IOTools.ChecksumAlgorithm.SHA_256));
+            assertEquals(expected("SHA-512", content), checksums.get(IOTools.ChecksumAlgorithm.SHA_512));
+        }
+
+        @Test
+        void missingFileThrows(@TempDir Path tempDir) {
+            assertThrows(IOException.class, () -> IOTools.checksums(tempDir.resolve("missing.jar")));
+            assertThrows(IOException.class, () -> IOTools.writeChecksums(List.of(tempDir.resolve("missing.jar"))));
+        }
+
+        @Test
+        void nullInputs() throws IOException {
+            assertTrue(IOTools.checksums(null).isEmpty());
+            assertTrue(IOTools.writeChecksums(null).isEmpty());
+        }
+
+        @Test
+        void selectedAlgorithms(@TempDir Path tempDir) throws Exception {
+            var file = Files.writeString(tempDir.resolve("app.pom"), "<project/>");
+            var checksums = IOTools.checksums(file, IOTools.ChecksumAlgorithm.SHA_256, null);
+            assertEquals(Set.of(IOTools.ChecksumAlgorithm.SHA_256), checksums.keySet());
+            assertEquals(expected("SHA-256", "<project/>".getBytes()),
+                    checksums.get(IOTools.ChecksumAlgorithm.SHA_256));
+        }
+
+        @Test
+        void writesSidecarFiles(@TempDir Path tempDir) throws Exception {
+            var files = new ArrayList<Path>();
+            for (var i = 0; i < 4; i++) {
+                files.add(Files.writeString(tempDir.resolve("app-" + i + ".jar"), "content " + i));
+            }
+            files.add(null);
+
+            var checksums = IOTools.writeChecksums(files, IOTools.ChecksumAlgorithm.MD5,
+                    IOTools.ChecksumAlgorithm.SHA_1);
+            assertEquals(files.subList(0, 4), List.copyOf(checksums.keySet()));
+            for (var i = 0; i < 4; i++) {
+                var file = files.get(i);
+                var content = ("content " + i).getBytes();
+                assertEquals(expected("MD5", content), Files.readString(tempDir.resolve(file.getFileName() + ".md5")));
+                assertEquals(expected("SHA-1", content),
+                        Files.readString(tempDir.resolve(file.getFileName() + ".sha1")));
+                assertTrue(Files.notExists(tempDir.resolve(file.getFileName() + ".sha256")));
+            }
+
+            var sidecar = tempDir.resolve("app-0.jar.md5");
+            var modified = FileTime.fromMillis(1_000_000L);
+            Files.setLastModifiedTime(sidecar, modified);
+            IOTools.writeChecksums(files);
+            assertEquals(modified, Files.getLastModifiedTime(sidecar));
+            assertTrue(Files.exists(tempDir.resolve("app-0.jar.sha512")));
+        }
+    }
+
+    @Nested
+    @DisplayName("deleteRecursively(...) Tests")
+    class DeleteRecursivelyTests {
+
+        private static long createTree(Path root) throws IOException {
+            var count = 1L;
+            Files.createDirectories(root);
+            for (var i = 0; i < 5; i++) {
+                var dir = Files.createDirectories(root.resolve("dir" + i + "/nested"));
+                count += 2;
+                for (var j = 0; j < 20; j++) {
+                    Files.writeString(dir.resolve("file" + j), "content");
+                    Files.writeString(dir.getParent().resolve("file" + j), "content");
+                    count += 2;
+                }
+            }
+            return count;
+        }
+
+        @Test
+        void asyncDeleteRenamesBeforeReturning(@TempDir Path tempDir) throws Exception {
+            var root = tempDir.resolve("build");
+            var count = createTree(root);
+            var future = IOTools.deleteRecursivelyAsync(root);
+            assertFalse(Files.exists(root));
+            Files.createDirectories(root);
+            assertEquals(count, future.get().longValue());
+            try (var entries = Files.list(tempDir)) {
+                assertEquals(List.of(root), entries.toList());
+            }
+        }
+
+        @Test
+        void asyncDeleteOfMissingOrNullPath(@TempDir Path tempDir) throws Exception {
+            assertEquals(0L, IOTools.deleteRecursivelyAsync(null).get().longValue());
+            assertEquals(0L, IOTools.deleteRecursivelyAsync(tempDir.resolve("missing")).get().longValue());
+        }
+
+        @Test
+        void asyncDeleteRemovesStaleTrash(@TempDir Path tempDir) throws Exception {
+            var root = Files.createDirectories(tempDir.resolve("build"));
+            Files.writeString(root.resolve("file"), "content");
+            var stale = Files.createDirectories(tempDir.resolve(".build.trash-123/build/nested"));
+            Files.writeString(stale.resolve("file"), "content");
+            Files.setLastModifiedTime(tempDir.resolve(".build.trash-123"),
+                    FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)));
+            // Possibly still being deleted by another build
+            var recent = Files.createDirectories(tempDir.resolve(".build.trash-456/build"));
+            var other = Files.createDirectories(tempDir.resolve(".other.trash-123"));
+            Files.setLastModifiedTime(other, FileTime.fromMillis(0L));
+
+            assertEquals(2L, IOTools.deleteRecursivelyAsync(root).get().longValue());
+            try (var entries = Files.list(tempDir)) {
+                assertEquals(Set.of(recent.getParent(), other), entries.collect(Collectors.toSet()));
+            }
+        }
+
+        @Test
+        void deletesDirectoryTree(@TempDir Path tempDir) throws IOException {
+            var root = tempDir.resolve("build");
+            var count = createTree(root);
+            assertEquals(count, IOTools.deleteRecursively(root));
+            assertFalse(Files.exists(root));
+        }
+
+        @Test
+        void deletesSingleFile(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("file.txt"), "content");
+            assertEquals(1L, IOTools.deleteRecursively(file.toFile()));
+            assertFalse(Files.exists(file));
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void doesNotFollowSymbolicLinks(@TempDir Path tempDir) throws IOException {
+            var outside = Files.writeString(tempDir.resolve("outside.txt"), "keep");
+            var root = Files.createDirectories(tempDir.resolve("build"));
+            Files.createSymbolicLink(root.resolve("link"), outside);
+            Files.createSymbolicLink(root.resolve("dirLink"), tempDir);
+            assertEquals(3L, IOTools.deleteRecursively(root));
+            assertTrue(Files.exists(outside));
+        }
+
+        @Test
+        void missingOrNullPathDeletesNothing(@TempDir Path tempDir) throws IOException {
+            assertEquals(0L, IOTools.deleteRecursively((Path) null));
+            assertEquals(0L, IOTools.deleteRecursively((File) null));
+            assertEquals(0L, IOTools.deleteRecursively(tempDir.resolve("missing")));
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void readOnlyDirectoriesAreDeleted(@TempDir Path tempDir) throws IOException {
+            var root = tempDir.resolve("build");
+            var dir = Files.createDirectories(root.resolve("classes"));
+            Files.writeString(dir.resolve("A.class"), "A");
+            Files.setPosixFilePermissions(dir, Set.of(PosixFilePermission.OWNER_READ,
+                    PosixFilePermission.OWNER_EXECUTE));
+            Files.setPosixFilePermissions(root.resolve("classes/A.class"), Set.of(PosixFilePermission.OWNER_READ));
+            assertEquals(3L, IOTools.deleteRecursively(root));
+            assertFalse(Files.exists(root));
+        }
+
+        @Test
+        void readOnlyFilesAreDeleted(@TempDir Path tempDir) throws IOException {
+            var root = Files.createDirectories(tempDir.resolve("build"));
+            var file = Files.writeString(root.resolve("file.txt"), "content");
+            assertTrue(file.toFile().setReadOnly());
+            assertEquals(2L, IOTools.deleteRecursively(root));
+            assertFalse(Files.exists(root));
+        }
+    }
+
+    @Nested
+    @DisplayName("existsAll(...) Tests")
+    class ExistsAllTests {
+
+        @Test
+        void allExist(@TempDir Path tmp) throws IOException {
+            var paths = new ArrayList<Path>();
+            for (var i = 0; i < 10; i++) {
+                paths.add(Files.createFile(tmp.resolve("file" + i + ".jar")));
+            }
+            paths.add(tmp);
+            assertTrue(IOTools.existsAll(paths));
+            assertTrue(IOTools.existsAll(List.of()));
+        }
+
+        @Test
+        void missingOrNull(@TempDir Path tmp) throws IOException {
+            var file = Files.createFile(tmp.resolve("file.jar"));
+            assertFalse(IOTools.existsAll(null));
+            assertFalse(IOTools.existsAll(Arrays.asList(file, null)));
+            assertFalse(IOTools.existsAll(List.of(file, tmp.resolve("missing.jar"))));
+            assertFalse(IOTools.existsAll(List.of(file, tmp.resolve("missing/file.jar"))));
+        }
+    }
+
     @Nested
     @DisplayName("exists(...) Tests")
     class ExistsTests {
@@ -454,6 +679,115 @@ class IOToolsTest {
         }
     }
 
+    @Nested
+    @DisplayName("fileStatus(...) Tests")
+    class FileStatusTests {
+
+        @Test
+        void bulkStatusKeepsOrderAndSkipsNulls(@TempDir Path tempDir) throws IOException {
+            var paths = new ArrayList<Path>();
+            for (var i = 0; i < 300; i++) {
+                var path = tempDir.resolve("file" + i);
+                if (i % 2 == 0) {
+                    Files.writeString(path, "x".repeat(i));
+                }
+                paths.add(path);
+            }
+            paths.add(null);
+
+            var statuses = IOTools.fileStatus(paths);
+            assertEquals(300, statuses.size());
+            for (var i = 0; i < 300; i++) {
+                var status = statuses.get(i);
+                assertEquals(paths.get(i), status.path());
+                assertEquals(i % 2 == 0, status.exists());
+                assertEquals(i % 2 == 0 ? i : 0, status.size());
+            }
+        }
+
+        @Test
+        void bulkStatusOfNullOrEmpty() {
+            assertTrue(IOTools.fileStatus((Collection<Path>) null).isEmpty());
+            assertTrue(IOTools.fileStatus(List.<Path>of()).isEmpty());
+        }
+
+        @Test
+        void directoryStatus(@TempDir Path tempDir) {
+            var status = IOTools.fileStatus(tempDir);
+            assertTrue(status.exists());
+            assertTrue(status.isDirectory());
+            assertFalse(status.isRegularFile());
+            assertFalse(status.hasExecutePermission());
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void executePermission(@TempDir Path tempDir) throws IOException {
+            var file = Files.createFile(tempDir.resolve("script.sh"));
+            Files.setPosixFilePermissions(file, Set.of(PosixFilePermission.OWNER_READ,
+                    PosixFilePermission.OWNER_WRITE));
+            var status = IOTools.fileStatus(file);
+            assertFalse(status.hasExecutePermission());
+            assertEquals(Set.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE),
+                    status.permissions());
+
+            Files.setPosixFilePermissions(file, Set.of(PosixFilePermission.OWNER_READ,
+                    PosixFilePermission.OWNER_EXECUTE));
+            assertTrue(IOTools.fileStatus(file).hasExecutePermission());
+        }
+
+        @Test
+        void fileStatusMatchesAttributes(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("file.txt"), "hello");
+            var status = IOTools.fileStatus(file);
+            assertTrue(status.exists());
+            assertTrue(status.isRegularFile());
+            assertEquals(5, status.size());
+            assertEquals(Files.getLastModifiedTime(file), status.lastModified());
+            assertEquals(Files.getLastModifiedTime(file).toMillis(), status.lastModifiedMillis());
+            assertEquals(Files.readAttributes(file, BasicFileAttributes.class).fileKey(), status.fileKey());
+        }
+
+        @Test
+        void fileAndStringVariants(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("file.txt"), "hello");
+            assertEquals(IOTools.fileStatus(file), IOTools.fileStatus(file.toFile()));
+            assertEquals(IOTools.fileStatus(file), IOTools.fileStatus(file.toString()));
+        }
+
+        @Test
+        void missingStatus(@TempDir Path tempDir) {
+            var missing = tempDir.resolve("missing");
+            var status = IOTools.fileStatus(missing);
+            assertFalse(status.exists());
+            assertEquals(FileStatus.Type.MISSING, status.type());
+            assertEquals(missing, status.path());
+            assertEquals(0, status.size());
+            assertNull(status.lastModified());
+            assertEquals(0, status.lastModifiedMillis());
+        }
+
+        @Test
+        void nullAndBlankStatus() {
+            assertFalse(IOTools.fileStatus((Path) null).exists());
+            assertFalse(IOTools.fileStatus((File) null).exists());
+            assertFalse(IOTools.fileStatus((String) null).exists());
+            assertFalse(IOTools.fileStatus("  ").exists());
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void symbolicLinkNotFollowed(@TempDir Path tempDir) throws IOException {
+            var target = Files.writeString(tempDir.resolve("target.txt"), "hello");
+            var link = Files.createSymbolicLink(tempDir.resolve("link"), target);
+
+            assertTrue(IOTools.fileStatus(link).isRegularFile());
+            var status = IOTools.fileStatus(link, LinkOption.NOFOLLOW_LINKS);
+            assertTrue(status.isSymbolicLink());
+            assertTrue(status.exists());
+        }
+    }
+
     @Nested
     @DisplayName("IsDirectory Tests")
     @SuppressWarnings("PMD.UseUtilityClass")
@@ -991,6 +1325,41 @@ class IOToolsTest {
 
     }
 
+    @Nested
+    @DisplayName("normalizedPath(...) and realPath(...) Tests")
+    class NormalizedPathTests {
+
+        @Test
+        void clearedPathsAreResolvedAgain(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("file.txt"), "content");
+            var real = IOTools.realPath(file);
+            IOTools.clearPathCache();
+            assertEquals(real, IOTools.realPath(file));
+            assertEquals(tempDir.toAbsolutePath().resolve("b"), IOTools.normalizedPath(tempDir.resolve("b")));
+        }
+
+        @Test
+        void normalizedPathIsAbsoluteAndShared(@TempDir Path tempDir) {
+            var normalized = IOTools.normalizedPath(tempDir.resolve("a/../b"));
+            assertEquals(tempDir.toAbsolutePath().resolve("b"), normalized);
+            assertSame(normalized, IOTools.normalizedPath(tempDir.resolve("b").toFile()));
+        }
+
+        @Test
+        void nullPathsReturnNull() throws IOException {
+            assertNull(IOTools.normalizedPath((Path) null));
+            assertNull(IOTools.normalizedPath((File) null));
+            assertNull(IOTools.realPath(null));
+        }
+
+        @Test
+        void realPathOfExistingFile(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("file.txt"), "content");
+            assertEquals(file.toRealPath(), IOTools.realPath(tempDir.resolve("./file.txt")));
+            assertThrows(IOException.class, () -> IOTools.realPath(tempDir.resolve("missing")));
+        }
+    }
+
     @Nested
     @DisplayName("notExists(...) Tests")
     class NotExistsTests {
@@ -1135,6 +1504,52 @@ class IOToolsTest {
         }
     }
 
+    @Nested
+    @DisplayName("partitionExisting(...) Tests")
+    class PartitionExistingTests {
+
+        @Test
+        void largeCollectionInParallel(@TempDir Path tmp) throws IOException {
+            var paths = new ArrayList<Path>();
+            var expected = new ArrayList<Path>();
+            for (var i = 0; i < 1000; i++) {
+                var file = tmp.resolve("group" + (i % 50)).resolve("artifact-" + i + ".jar");
+                if (i % 7 != 0) {
+                    Files.createDirectories(file.getParent());
+                    expected.add(Files.createFile(file));
+                }
+                paths.add(file);
+            }
+            var partition = IOTools.partitionExisting(paths);
+            assertEquals(expected, partition.existing());
+            assertEquals(paths.stream().filter(p -> !expected.contains(p)).toList(), partition.missing());
+            assertFalse(IOTools.existsAll(paths));
+            assertTrue(IOTools.existsAll(expected));
+        }
+
+        @Test
+        void nullsAndEmpty() {
+            var partition = IOTools.partitionExisting(null);
+            assertTrue(partition.existing().isEmpty());
+            assertTrue(partition.missing().isEmpty());
+            partition = IOTools.partitionExisting(Arrays.asList(null, null));
+            assertTrue(partition.existing().isEmpty());
+            assertTrue(partition.missing().isEmpty());
+        }
+
+        @Test
+        void preservesOrder(@TempDir Path tmp) throws IOException {
+            var a = Files.createFile(tmp.resolve("a.jar"));
+            var b = tmp.resolve("b.jar");
+            var c = Files.createFile(tmp.resolve("c.jar"));
+            var d = Files.createDirectories(tmp.resolve("d"));
+            var e = tmp.resolve("c.jar/e.jar");
+            var partition = IOTools.partitionExisting(Arrays.asList(c, b, null, a, d, e, tmp, Path.of(".")));
+            assertEquals(List.of(c, a, d, tmp, Path.of(".")), partition.existing());
+            assertEquals(List.of(b, e), partition.missing());
+        }
+    }
+
     @Nested
     @DisplayName("Resolve File Tests")
     class ResolveFileTests {
@@ -1168,6 +1583,21 @@ class IOToolsTest {
         @DisplayName("When resolving paths with edge case segments")
         class EdgeCaseSegmentsTests {
 
+            @Test
+            @DisplayName("should match resolving each segment")
+            void shouldMatchResolvingEachSegment() {
+                var base = new File("home");
+                var segments = new String[]{"/a", null, "b/c", "", "//d", "e:f", "./g"};
+                var expected = base.toPath();
+                for (var segment : segments) {
+                    if (segment != null && !segment.isEmpty()) {
+                        expected = expected.resolve(segment.startsWith("/") ? segment.substring(1) : segment);
+                    }
+                }
+                assertEquals(expected.toFile(), IOTools.resolveFile(base, segments));
+                assertEquals(Path.of("a", "b").toFile(), IOTools.resolveFile(null, "/a", "b"));
+            }
+
             @Test
             @DisplayName("should handle blank segment")
             void shouldHandleBlankSegment() {
@@ -1398,4 +1828,153 @@ class IOToolsTest {
             }
         }
     }
+
+    @Nested
+    @DisplayName("search(...) Tests")
+    class SearchTests {
+
+        @Test
+        void literalSearchIsLazy(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("build.log"),
+                    "INFO start\nWARN deprecated API\nINFO step\nWARN unchecked call\n");
+            try (var matches = IOTools.search(file, "WARN")) {
+                var first = matches.findFirst().orElseThrow();
+                assertEquals(2L, first.lineNumber());
+                assertEquals("WARN deprecated API", first.line());
+                assertEquals(11L, first.offset());
+            }
+            try (var matches = IOTools.search(file, "WARN")) {
+                assertEquals(List.of(2L, 4L), matches.map(IOTools.LineMatch::lineNumber).toList());
+            }
+        }
+
+        @Test
+        void manyFilesInParallel(@TempDir Path tempDir) throws IOException {
+            var files = new ArrayList<Path>();
+            for (var i = 0; i < 10; i++) {
+                var header = i % 3 == 0 ? "// no license\n" : "/*\n * Copyright 2026 the original author\n */\n";
+                files.add(Files.writeString(tempDir.resolve("File" + i + ".java"), header + "class File" + i + " {}\n"));
+            }
+            files.add(null);
+
+            var matches = IOTools.search(files, Pattern.compile("Copyright \\d{4}"));
+            assertEquals(6, matches.size());
+            for (var entry : matches.entrySet()) {
+                assertEquals(1, entry.getValue().size());
+                assertEquals(2L, entry.getValue().get(0).lineNumber());
+            }
+            assertFalse(matches.containsKey(files.get(0)));
+            assertEquals(List.of(files.get(0), files.get(3), files.get(6), files.get(9)),
+                    List.copyOf(IOTools.search(files, "no license").keySet()));
+        }
+
+        @Test
+        void missingFileThrows(@TempDir Path tempDir) {
+            var missing = tempDir.resolve("missing.log");
+            assertThrows(IOException.class, () -> IOTools.search(missing, "text"));
+            assertThrows(IOException.class, () -> IOTools.search(List.of(missing), Pattern.compile("text")));
+        }
+
+        @Test
+        void nullInputs(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("file.txt"), "text");
+            try (var matches = IOTools.search((Path) null, "text")) {
+                assertEquals(0L, matches.count());
+            }
+            try (var matches = IOTools.search(file, (Pattern) null)) {
+                assertEquals(0L, matches.count());
+            }
+            assertTrue(IOTools.search((Collection<Path>) null, "text").isEmpty());
+            assertTrue(IOTools.search(List.of(file), (String) null).isEmpty());
+        }
+
+        @Test
+        void patternSearch(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("Main.java"),
+                    "import java.util.Vector;\r\nimport java.util.List;\r\n// café Vector\r\n");
+            try (var matches = IOTools.search(file, Pattern.compile("\\bVector\\b"))) {
+                assertEquals(List.of("import java.util.Vector;", "// café Vector"),
+                        matches.map(IOTools.LineMatch::line).toList());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("writeAtomically(...) Tests")
+    class WriteAtomicallyTests {
+
+        @Test
+        void createsParentDirectories(@TempDir Path tempDir) throws IOException {
+            var file = tempDir.resolve("a/b/file.txt");
+            assertTrue(IOTools.writeAtomically(file, "content", IOTools.WriteOption.SYNC));
+            assertEquals("content", Files.readString(file));
+        }
+
+        @Test
+        void failedWriterLeavesFileUntouched(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("file.txt"), "original");
+            assertThrows(IOException.class, () -> IOTools.writeAtomically(file, out -> {
+                out.write("partial".getBytes());
+                throw new IOException("failed");
+            }));
+            assertEquals("original", Files.readString(file));
+            try (var entries = Files.list(tempDir)) {
+                assertEquals(1, entries.count());
+            }
+        }
+
+        @Test
+        void ifChangedSkipsIdenticalContent(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("file.txt"), "content");
+            var modified = FileTime.fromMillis(1_000_000L);
+            Files.setLastModifiedTime(file, modified);
+
+            assertFalse(IOTools.writeAtomically(file, "content", IOTools.WriteOption.IF_CHANGED));
+            assertFalse(IOTools.writeAtomically(file, out -> out.write("content".getBytes()),
+                    IOTools.WriteOption.IF_CHANGED));
+            assertEquals(modified, Files.getLastModifiedTime(file));
+
+            assertTrue(IOTools.writeAtomically(file, "changed", IOTools.WriteOption.IF_CHANGED));
+            assertEquals("changed", Files.readString(file));
+            assertTrue(IOTools.writeAtomically(file, out -> out.write("streamed".getBytes()),
+                    IOTools.WriteOption.IF_CHANGED));
+            assertEquals("streamed", Files.readString(file));
+            try (var entries = Files.list(tempDir)) {
+                assertEquals(1, entries.count());
+            }
+        }
+
+        @Test
+        void nullArgumentsWriteNothing(@TempDir Path tempDir) throws IOException {
+            var file = tempDir.resolve("file.txt");
+            assertFalse(IOTools.writeAtomically(null, new byte[0]));
+            assertFalse(IOTools.writeAtomically(file, (byte[]) null));
+            assertFalse(IOTools.writeAtomically(file, (CharSequence) null));
+            assertFalse(IOTools.writeAtomically(file, (IOTools.StreamWriter) null));
+            assertFalse(Files.exists(file));
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void preservesPermissions(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("run.sh"), "#!/bin/sh");
+            var permissions = Set.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE,
+                    PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.GROUP_READ);
+            Files.setPosixFilePermissions(file, permissions);
+            IOTools.writeAtomically(file, "#!/bin/sh\necho");
+            assertEquals(permissions, Files.getPosixFilePermissions(file));
+        }
+
+        @Test
+        void replacesExistingFile(@TempDir Path tempDir) throws IOException {
+            var file = Files.writeString(tempDir.resolve("file.txt"), "original");
+            assertTrue(IOTools.writeAtomically(file, "replaced".getBytes()));
+            assertEquals("replaced", Files.readString(file));
+            assertTrue(IOTools.writeAtomically(file, new StringBuilder("caf\u00e9")));
+            assertEquals("caf\u00e9", Files.readString(file));
+            try (var entries = Files.list(tempDir)) {
+                assertEquals(1, entries.count());
+            }
+        }
+    }
 }
\ No newline at end of file
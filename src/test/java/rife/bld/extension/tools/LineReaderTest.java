@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Line Reader Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class LineReaderTest {
+
+    private static List<String> expectedLines(String text) throws IOException {
+        var lines = new ArrayList<String>();
+        try (var reader = new BufferedReader(new StringReader(text))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static List<String> readLines(String text, Charset charset, int bufferSize) throws IOException {
+        var lines = new ArrayList<String>();
+        try (var reader = new LineReader(new ByteArrayInputStream(text.getBytes(charset)), charset, bufferSize)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static void assertSameAsBufferedReader(String text, Charset charset) throws IOException {
+        var expected = expectedLines(text);
+        for (var size : new int[]{1, 2, 3, 7, 64, LineReader.DEFAULT_BUFFER_SIZE}) {
+            assertEquals(expected, readLines(text, charset, size), "buffer size " + size);
+        }
+    }
+
+    @Nested
+    @DisplayName("Charset Tests")
+    class CharsetTests {
+
+        @Test
+        void asciiCompatibleCharsets() {
+            assertTrue(LineReader.isAsciiCompatible(StandardCharsets.UTF_8));
+            assertTrue(LineReader.isAsciiCompatible(StandardCharsets.US_ASCII));
+            assertTrue(LineReader.isAsciiCompatible(StandardCharsets.ISO_8859_1));
+            assertTrue(LineReader.isAsciiCompatible(Charset.forName("windows-1252")));
+            assertFalse(LineReader.isAsciiCompatible(StandardCharsets.UTF_16));
+        }
+
+        @Test
+        void readLatin1() throws IOException {
+            assertSameAsBufferedReader("café\nnaïve\r\nplain", StandardCharsets.ISO_8859_1);
+        }
+
+        @Test
+        void readUtf16Fallback() throws IOException {
+            assertSameAsBufferedReader("héllo\nwörld\r\n☃\r", StandardCharsets.UTF_16);
+        }
+
+        @Test
+        void readUtf8MultiByte() throws IOException {
+            assertSameAsBufferedReader("héllo\n☃ snow\r\n😀 emoji\nascii", StandardCharsets.UTF_8);
+        }
+    }
+
+    @Nested
+    @DisplayName("Line Terminator Tests")
+    class LineTerminatorTests {
+
+        @Test
+        void readCarriageReturnOnly() throws IOException {
+            assertSameAsBufferedReader("a\rb\rc", StandardCharsets.UTF_8);
+        }
+
+        @Test
+        void readEmpty() throws IOException {
+            assertTrue(readLines("", StandardCharsets.UTF_8, 8).isEmpty());
+        }
+
+        @Test
+        void readEmptyLines() throws IOException {
+            assertSameAsBufferedReader("\n\n\r\n\r\r\nx\n", StandardCharsets.UTF_8);
+        }
+
+        @Test
+        void readMixedTerminators() throws IOException {
+            assertSameAsBufferedReader("line1\nline2\r\nline3\rline4", StandardCharsets.UTF_8);
+        }
+
+        @Test
+        void readRandomized() throws IOException {
+            var random = new Random(42);
+            var alphabet = "abcXYZ019 \té☃\n\r";
+            var text = new StringBuilder();
+            for (var i = 0; i < 20_000; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertSameAsBufferedReader(text.toString(), StandardCharsets.UTF_8);
+        }
+
+        @Test
+        void readTrailingCarriageReturn() throws IOException {
+            assertSameAsBufferedReader("foo\r", StandardCharsets.UTF_8);
+        }
+
+        @Test
+        void readTrailingNewline() throws IOException {
+            assertSameAsBufferedReader("foo\nbar\n", StandardCharsets.UTF_8);
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream Tests")
+    class StreamTests {
+
+        @Test
+        void readLongLineGrowsBuffer() throws IOException {
+            var line = "x".repeat(100_000);
+            assertEquals(List.of(line, "y"), readLines(line + "\ny", StandardCharsets.UTF_8, 16));
+        }
+
+        @Test
+        void readMatchesInputStreamReader() throws IOException {
+            var bytes = "one\ntwo\r\nthree".getBytes(StandardCharsets.UTF_8);
+            var expected = new ArrayList<String>();
+            try (var reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes),
+                    StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    expected.add(line);
+                }
+            }
+            assertEquals(expected, readLines("one\ntwo\r\nthree", StandardCharsets.UTF_8, 4));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Line Search Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class LineSearchTest {
+
+    private static final String CONTENT = "first line\r\nsecond match\rthird\n\nfourth match très\n"
+            + "x".repeat(100) + " match\r\nlast match";
+
+    // The lines of the content, numbered as BufferedReader reads them, that satisfy the filter
+    private static List<String> expected(String content, Predicate<String> filter)
+            throws IOException {
+        var lines = new ArrayList<String>();
+        try (var reader = new BufferedReader(new StringReader(content))) {
+            var number = 0;
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                number++;
+                if (filter.test(line)) {
+                    lines.add(number + ":" + line);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static List<String> search(Path file, byte[] literal, Pattern pattern, int regionSize)
+            throws IOException {
+        try (var search = new LineSearch(file, literal, pattern, regionSize)) {
+            return search.toList().stream().map(m -> m.lineNumber() + ":" + m.line()).toList();
+        }
+    }
+
+    @Test
+    void emptyFile(@TempDir Path tmp) throws IOException {
+        var file = Files.createFile(tmp.resolve("empty.txt"));
+        assertTrue(search(file, new byte[0], null, 4).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 8, 11, 64, LineSearch.REGION_SIZE})
+    void literalAcrossRegions(int regionSize, @TempDir Path tmp) throws IOException {
+        var file = Files.writeString(tmp.resolve("file.txt"), CONTENT);
+        assertEquals(expected(CONTENT, line -> line.contains("match")),
+                search(file, "match".getBytes(StandardCharsets.UTF_8), null, regionSize));
+        assertEquals(expected(CONTENT, line -> true), search(file, new byte[0], null, regionSize));
+    }
+
+    @Test
+    void offsetsPointToLineStarts(@TempDir Path tmp) throws IOException {
+        var file = Files.writeString(tmp.resolve("file.txt"), CONTENT);
+        var bytes = Files.readAllBytes(file);
+        try (var search = new LineSearch(file, "match".getBytes(StandardCharsets.UTF_8), null, 16)) {
+            for (var match : search.toList()) {
+                var line = match.line().getBytes(StandardCharsets.UTF_8);
+                assertArrayEquals(line, Arrays.copyOfRange(bytes, (int) match.offset(),
+                        (int) match.offset() + line.length));
+                assertEquals(file, match.file());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 7, 64})
+    void patternAcrossRegions(int regionSize, @TempDir Path tmp) throws IOException {
+        var file = Files.writeString(tmp.resolve("file.txt"), CONTENT);
+        var pattern = Pattern.compile("^\\w+ match( tr.s)?$");
+        assertEquals(expected(CONTENT, line -> pattern.matcher(line).find()),
+                search(file, null, pattern, regionSize));
+    }
+}
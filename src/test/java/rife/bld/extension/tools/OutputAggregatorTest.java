@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Output Aggregator Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class OutputAggregatorTest {
+
+    private static final String NL = System.lineSeparator();
+
+    private static List<String> lines(List<String> blocks) {
+        var lines = new ArrayList<String>();
+        for (var block : blocks) {
+            assertTrue(block.endsWith(NL), "blocks must end with a complete line");
+            lines.addAll(List.of(block.split(NL)));
+        }
+        return lines;
+    }
+
+    private static void produce(OutputAggregator aggregator, int sources, int linesPerSource)
+            throws InterruptedException {
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>();
+        for (var s = 0; s < sources; s++) {
+            var tag = "tool" + s;
+            var thread = new Thread(() -> {
+                try (var source = aggregator.source(tag)) {
+                    start.await();
+                    for (var i = 0; i < linesPerSource; i++) {
+                        source.accept("line " + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency Tests")
+    class ConcurrencyTests {
+
+        @Test
+        void concurrentLinesStayIntactAndOrdered() throws Exception {
+            var blocks = Collections.synchronizedList(new ArrayList<String>());
+            try (var aggregator = new OutputAggregator(blocks::add)) {
+                produce(aggregator, 8, 500);
+            }
+
+            var lines = lines(blocks);
+            assertEquals(8 * 500, lines.size());
+            for (var s = 0; s < 8; s++) {
+                var prefix = "[tool" + s + "] ";
+                var next = 0;
+                for (var line : lines) {
+                    if (line.startsWith(prefix)) {
+                        assertEquals(prefix + "line " + next++, line);
+                    }
+                }
+                assertEquals(500, next);
+            }
+        }
+
+        @Test
+        void groupedOutputIsContiguous() throws Exception {
+            var blocks = Collections.synchronizedList(new ArrayList<String>());
+            try (var aggregator = new OutputAggregator(blocks::add).grouped(true)) {
+                produce(aggregator, 4, 100);
+            }
+
+            var lines = lines(blocks);
+            assertEquals(400, lines.size());
+            for (var i = 0; i < lines.size(); i += 100) {
+                var tag = lines.get(i).substring(0, lines.get(i).indexOf(']') + 1);
+                for (var j = 0; j < 100; j++) {
+                    assertEquals(tag + " line " + j, lines.get(i + j));
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Source Tests")
+    class SourceTests {
+
+        @Test
+        void closeFlushesOpenSources() throws Exception {
+            var blocks = Collections.synchronizedList(new ArrayList<String>());
+            var aggregator = new OutputAggregator(blocks::add).grouped(true);
+            aggregator.source("a").accept("pending");
+            aggregator.close();
+            assertEquals(List.of("[a] pending" + NL), blocks);
+        }
+
+        @Test
+        void closeWhenInterruptedKeepsInterruptStatus() {
+            var aggregator = new OutputAggregator(block -> {
+            });
+            Thread.currentThread().interrupt();
+            aggregator.close();
+            assertTrue(Thread.interrupted());
+            assertThrows(IllegalStateException.class, () -> aggregator.source("a"));
+        }
+
+        @Test
+        void sourceAfterCloseThrows() throws Exception {
+            var aggregator = new OutputAggregator(block -> {
+            });
+            aggregator.close();
+            assertThrows(IllegalStateException.class, () -> aggregator.source("a"));
+        }
+
+        @Test
+        void sourceEmptyTagThrows() throws Exception {
+            try (var aggregator = new OutputAggregator(block -> {
+            })) {
+                assertThrows(IllegalArgumentException.class, () -> aggregator.source(""));
+            }
+        }
+
+        @Test
+        void sourceIgnoresLinesAfterClose() throws Exception {
+            var blocks = Collections.synchronizedList(new ArrayList<String>());
+            try (var aggregator = new OutputAggregator(blocks::add)) {
+                var source = aggregator.source("a");
+                source.accept("one");
+                source.close();
+                source.accept("two");
+            }
+            assertEquals(List.of("[a] one"), lines(blocks));
+        }
+
+        @Test
+        void untaggedLines() throws Exception {
+            var blocks = Collections.synchronizedList(new ArrayList<String>());
+            try (var aggregator = new OutputAggregator(blocks::add).tagged(false)) {
+                assertFalse(aggregator.tagged());
+                try (var source = aggregator.source("a")) {
+                    source.accept("plain");
+                }
+            }
+            assertEquals(List.of("plain"), lines(blocks));
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream Tests")
+    class StreamTests {
+
+        @Test
+        void printStreamSink() throws Exception {
+            var out = new ByteArrayOutputStream();
+            try (var aggregator = new OutputAggregator(new PrintStream(out, true, StandardCharsets.UTF_8))) {
+                try (var source = aggregator.source("echo")) {
+                    source.accept("hello");
+                }
+            }
+            assertEquals("[echo] hello" + NL, out.toString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        void processExecutorOutput(@TempDir Path tmp) throws Exception {
+            var blocks = Collections.synchronizedList(new ArrayList<String>());
+            try (var aggregator = new OutputAggregator(blocks::add)) {
+                try (var source = aggregator.source("echo")) {
+                    new ProcessExecutor()
+                            .command(SystemTools.isWindows()
+                                    ? List.of("cmd", "/c", "echo foo")
+                                    : List.of("echo", "foo"))
+                            .workDir(tmp)
+                            .outputConsumer(source)
+                            .execute();
+                }
+            }
+            assertEquals(List.of("[echo] foo"), lines(blocks));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Path Cache Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class PathCacheTest {
+
+    @Test
+    void clearRemovesAllPaths(@TempDir Path tmp) throws IOException {
+        var cache = new PathCache(PathCache.DEFAULT_MAX_SIZE);
+        var normalized = cache.normalized(tmp.resolve("a"));
+        cache.real(tmp);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(normalized, cache.normalized(tmp.resolve("a")));
+    }
+
+    @Test
+    void equalPathsShareOneInstance(@TempDir Path tmp) {
+        var cache = new PathCache(PathCache.DEFAULT_MAX_SIZE);
+        var first = cache.normalized(tmp.resolve("a/b"));
+        var second = cache.normalized(tmp.resolve("a/./c/../b"));
+        assertEquals(tmp.toAbsolutePath().resolve("a/b"), first);
+        assertSame(first, second);
+        assertSame(first, cache.intern(Path.of(tmp.toAbsolutePath() + "/a/b")));
+    }
+
+    @Test
+    void fullCacheEvictsSomePaths(@TempDir Path tmp) {
+        var cache = new PathCache(100);
+        for (var i = 0; i < 100; i++) {
+            cache.normalized(tmp.resolve("file" + i));
+        }
+        assertEquals(100, cache.size());
+        cache.normalized(tmp.resolve("file100"));
+        assertTrue(cache.size() < 100);
+        assertTrue(cache.size() > 50);
+    }
+
+    @Test
+    void missingRealPathThrows(@TempDir Path tmp) {
+        var cache = new PathCache(PathCache.DEFAULT_MAX_SIZE);
+        assertThrows(NoSuchFileException.class, () -> cache.real(tmp.resolve("missing")));
+    }
+
+    @Test
+    void relativePathIsMadeAbsolute() {
+        var cache = new PathCache(PathCache.DEFAULT_MAX_SIZE);
+        var normalized = cache.normalized(Path.of("src", "..", "build"));
+        assertTrue(normalized.isAbsolute());
+        assertEquals(Path.of("build").toAbsolutePath(), normalized);
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void realPathFollowsChangedLinks(@TempDir Path tmp) throws IOException {
+        var first = Files.createDirectories(tmp.resolve("first"));
+        var second = Files.createDirectories(tmp.resolve("second"));
+        var link = Files.createSymbolicLink(tmp.resolve("link"), first);
+        var cache = new PathCache(PathCache.DEFAULT_MAX_SIZE);
+        assertEquals(first.toRealPath(), cache.real(link));
+
+        Files.delete(link);
+        Files.createSymbolicLink(link, second);
+        assertEquals(second.toRealPath(), cache.real(link));
+
+        Files.delete(second);
+        assertThrows(NoSuchFileException.class, () -> cache.real(link));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void realPathResolvesLinks(@TempDir Path tmp) throws IOException {
+        var target = Files.createDirectories(tmp.resolve("target"));
+        var link = Files.createSymbolicLink(tmp.resolve("link"), target);
+        var cache = new PathCache(PathCache.DEFAULT_MAX_SIZE);
+        var real = cache.real(link);
+        assertEquals(target.toRealPath(), real);
+        assertSame(real, cache.real(link));
+        assertSame(real, cache.real(target));
+    }
+
+    @Test
+    void sizeIsBounded(@TempDir Path tmp) {
+        var cache = new PathCache(10);
+        for (var i = 0; i < 25; i++) {
+            assertEquals(tmp.toAbsolutePath().resolve("file" + i), cache.normalized(tmp.resolve("file" + i)));
+            assertTrue(cache.size() <= 10);
+        }
+    }
+}
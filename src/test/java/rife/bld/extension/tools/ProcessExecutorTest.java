@@ -30,6 +30,7 @@ import rife.bld.extension.testing.TestLogHandler;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
@@ -50,6 +51,8 @@ class ProcessExecutorTest {
 
     private static final String BAR = "bar";
     private static final String FOO = "foo";
+    private static final AdmissionController.ResourceUsage IDLE =
+            new AdmissionController.ResourceUsage(0.0, 1, -1L, -1L);
 
     @SuppressWarnings("LoggerInitializedWithForeignClass")
     private static final Logger logger = Logger.getLogger(ProcessExecutor.class.getName());
@@ -106,6 +109,60 @@ class ProcessExecutorTest {
                 : List.of("sh", "-c", "exit " + code);
     }
 
+    @Nested
+    @DisplayName("Admission Controller Tests")
+    class AdmissionControllerTests {
+
+        @Test
+        void admissionControllerGetterSetter(@TempDir Path tmp) {
+            var controller = new AdmissionController();
+            var exec = createBasicExecutor(tmp.toFile());
+            assertNull(exec.admissionController());
+            assertSame(exec, exec.admissionController(controller));
+            assertSame(controller, exec.admissionController());
+        }
+
+        @Test
+        void admissionPermitReleasedAfterExecution(@TempDir Path tmp) throws Exception {
+            var controller = new AdmissionController(() -> IDLE);
+            var result = createBasicExecutor(tmp.toFile())
+                    .command(echoCommand(FOO))
+                    .admissionController(controller)
+                    .execute();
+
+            assertTrue(result.isSuccess());
+            assertEquals(1, controller.metrics().admitted());
+            assertEquals(0, controller.metrics().active());
+        }
+
+        @Test
+        void admissionPermitReleasedOnFailure(@TempDir Path tmp) {
+            var controller = new AdmissionController(() -> IDLE);
+            assertThrows(IOException.class, () -> createBasicExecutor(tmp.toFile())
+                    .command("this_command_does_not_exist_12345")
+                    .admissionController(controller)
+                    .execute());
+            assertEquals(0, controller.metrics().active());
+        }
+
+        @Test
+        void admissionWaitCountsAgainstTimeout(@TempDir Path tmp) throws Exception {
+            var overloaded = new AdmissionController.ResourceUsage(16.0, 1, -1L, -1L);
+            var controller = new AdmissionController(() -> overloaded).sampleInterval(10);
+            try (var ignored = controller.acquire()) {
+                var result = createBasicExecutor(tmp.toFile())
+                        .command(echoCommand(FOO))
+                        .admissionController(controller)
+                        .timeout(1)
+                        .execute();
+
+                assertTrue(result.timedOut());
+            }
+            assertEquals(1L, controller.metrics().admitted());
+            assertEquals(0, controller.metrics().waiting());
+        }
+    }
+
     @Nested
     @DisplayName("Command Tests")
     class CommandTests {
@@ -364,6 +421,90 @@ class ProcessExecutorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Scheduling Tests")
+    class SchedulingTests {
+
+        private int currentNiceness(Path tmp) throws Exception {
+            var result = createBasicExecutor(tmp.toFile()).command("nice").execute();
+            return Integer.parseInt(result.output().trim());
+        }
+
+        @Test
+        @EnabledOnOs(OS.LINUX)
+        void cpuAffinityAppliedOnLinux(@TempDir Path tmp) throws Exception {
+            var result = createBasicExecutor(tmp.toFile())
+                    .command("grep", "Cpus_allowed_list", "/proc/self/status")
+                    .cpuAffinity(0)
+                    .execute();
+
+            assertTrue(result.isSuccess(), result.output());
+            assertEquals("Cpus_allowed_list:\t0", result.output().trim());
+        }
+
+        @Test
+        void cpuAffinityGetterSetter(@TempDir Path tmp) {
+            var exec = createBasicExecutor(tmp.toFile());
+            assertTrue(exec.cpuAffinity().isEmpty());
+            assertSame(exec, exec.cpuAffinity(3, 1, 3));
+            assertEquals(List.of(1, 3), exec.cpuAffinity());
+            assertTrue(exec.cpuAffinity(new int[0]).cpuAffinity().isEmpty());
+        }
+
+        @Test
+        void cpuAffinityNegativeThrows(@TempDir Path tmp) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> createBasicExecutor(tmp.toFile()).cpuAffinity(0, -1));
+        }
+
+        @Test
+        @EnabledOnOs(OS.LINUX)
+        void nicenessAppliedOnLinux(@TempDir Path tmp) throws Exception {
+            var expected = Math.min(19, currentNiceness(tmp) + 5);
+            var result = createBasicExecutor(tmp.toFile())
+                    .command("nice")
+                    .niceness(5)
+                    .execute();
+
+            assertTrue(result.isSuccess(), result.output());
+            assertEquals(expected, Integer.parseInt(result.output().trim()));
+        }
+
+        @Test
+        void nicenessGetterSetter(@TempDir Path tmp) {
+            var exec = createBasicExecutor(tmp.toFile());
+            assertEquals(0, exec.niceness());
+            assertSame(exec, exec.niceness(10));
+            assertEquals(10, exec.niceness());
+        }
+
+        @Test
+        void nicenessOutOfRangeThrows(@TempDir Path tmp) {
+            var exec = createBasicExecutor(tmp.toFile());
+            assertThrows(IllegalArgumentException.class, () -> exec.niceness(20));
+            assertThrows(IllegalArgumentException.class, () -> exec.niceness(-21));
+        }
+
+        @Test
+        void wrapCommandIgnoredOnOtherOs() {
+            var command = List.of(FOO, BAR);
+            assertSame(command, ProcessExecutor.wrapCommand(command, List.of(0, 1), 5, false));
+        }
+
+        @Test
+        void wrapCommandUnchangedWithoutSettings() {
+            var command = List.of(FOO, BAR);
+            assertSame(command, ProcessExecutor.wrapCommand(command, List.of(), 0, true));
+        }
+
+        @Test
+        @EnabledOnOs(OS.LINUX)
+        void wrapCommandWithNicenessAndAffinity() {
+            assertEquals(List.of("nice", "-n", "5", "taskset", "-c", "0,2", FOO, BAR),
+                    ProcessExecutor.wrapCommand(List.of(FOO, BAR), List.of(0, 2), 5, true));
+        }
+    }
+
     @Nested
     @DisplayName("Timeout Tests")
     class TimeoutTests {
@@ -397,6 +538,33 @@ class ProcessExecutorTest {
     @DisplayName("I/O Tests")
     class IOTests {
 
+        @Test
+        void charsetGetterSetter(@TempDir Path tmp) {
+            var exec = createBasicExecutor(tmp.toFile());
+            assertEquals(StandardCharsets.UTF_8, exec.charset()); // default UTF-8
+            assertSame(exec, exec.charset(StandardCharsets.ISO_8859_1));
+            assertEquals(StandardCharsets.ISO_8859_1, exec.charset());
+        }
+
+        @Test
+        @SuppressWarnings("DataFlowIssue")
+        void charsetNullThrows(@TempDir Path tmp) {
+            assertThrows(NullPointerException.class, () -> createBasicExecutor(tmp.toFile()).charset(null));
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void charsetUsedToDecodeOutput(@TempDir Path tmp) throws Exception {
+            Files.write(tmp.resolve("latin1.txt"), "caf\u00e9".getBytes(StandardCharsets.ISO_8859_1));
+
+            var result = createBasicExecutor(tmp.toFile())
+                    .command("cat", "latin1.txt")
+                    .charset(StandardCharsets.ISO_8859_1)
+                    .execute();
+
+            assertEquals("caf\u00e9", result.output());
+        }
+
         @Test
         void inheritIOFalseCapturesOutput(@TempDir Path tmp) throws Exception {
             var result = createBasicExecutor(tmp.toFile())
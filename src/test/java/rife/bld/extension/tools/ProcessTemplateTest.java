@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Process Template Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ProcessTemplateTest {
+
+    private static List<String> echoPrefix() {
+        return SystemTools.isWindows() ? List.of("cmd", "/c", "echo") : List.of("echo");
+    }
+
+    private static ProcessTemplate echoTemplate(Path tmp) {
+        return new ProcessExecutor().command(echoPrefix()).workDir(tmp).toTemplate();
+    }
+
+    @Nested
+    @DisplayName("Creation Tests")
+    class CreationTests {
+
+        @Test
+        void templateCopiesConfiguration(@TempDir Path tmp) {
+            var controller = new AdmissionController();
+            var executor = new ProcessExecutor()
+                    .command("git", "status")
+                    .workDir(tmp)
+                    .env("KEY", "value")
+                    .timeout(5)
+                    .charset(StandardCharsets.ISO_8859_1)
+                    .cpuAffinity(1)
+                    .niceness(3)
+                    .admissionController(controller);
+            var template = executor.toTemplate();
+
+            assertEquals(List.of("git", "status"), template.command());
+            assertEquals(Map.of("KEY", "value"), template.env());
+            assertEquals(tmp.toFile(), template.workDir());
+            assertEquals(5, template.timeout());
+            assertEquals(StandardCharsets.ISO_8859_1, template.charset());
+            assertEquals(List.of(1), template.cpuAffinity());
+            assertEquals(3, template.niceness());
+            assertSame(controller, template.admissionController());
+            assertFalse(template.inheritIO());
+            assertNull(template.outputConsumer());
+        }
+
+        @Test
+        void templateIsImmutable(@TempDir Path tmp) {
+            var executor = new ProcessExecutor().command("git").workDir(tmp).env("KEY", "value");
+            var template = executor.toTemplate();
+
+            executor.command().add("status");
+            executor.env().put("OTHER", "value");
+
+            assertEquals(List.of("git"), template.command());
+            assertEquals(Map.of("KEY", "value"), template.env());
+            assertThrows(UnsupportedOperationException.class, () -> template.command().add("log"));
+            assertThrows(UnsupportedOperationException.class, () -> template.env().put("A", "B"));
+        }
+
+        @Test
+        void templateWithoutCommandThrows(@TempDir Path tmp) {
+            assertThrows(IllegalStateException.class, () -> new ProcessExecutor().workDir(tmp).toTemplate());
+        }
+
+        @Test
+        void templateWithoutWorkDirThrows() {
+            assertThrows(IllegalStateException.class, () -> new ProcessExecutor().command("git").toTemplate());
+        }
+    }
+
+    @Nested
+    @DisplayName("Derivation Tests")
+    class DerivationTests {
+
+        @Test
+        void executorAppendsArguments(@TempDir Path tmp) {
+            var template = new ProcessExecutor().command("git").workDir(tmp).toTemplate();
+            assertEquals(List.of("git", "log", "-1"), template.executor("log", "-1").command());
+            assertEquals(List.of("git", "status"), template.executor(List.of("status")).command());
+            assertEquals(List.of("git"), template.executor().command());
+        }
+
+        @Test
+        void executorEnvCopiedOnWrite(@TempDir Path tmp) {
+            var template = new ProcessExecutor().command("git").workDir(tmp).env("KEY", "value").toTemplate();
+            var derived = template.executor("status").env("OTHER", "other");
+
+            assertEquals(Map.of("KEY", "value", "OTHER", "other"), derived.env());
+            assertEquals(Map.of("KEY", "value"), template.env());
+            derived.env().remove("KEY");
+            assertEquals(Map.of("KEY", "value"), template.env());
+        }
+
+        @Test
+        void executorInvalidArgumentsThrow(@TempDir Path tmp) {
+            var template = new ProcessExecutor().command("git").workDir(tmp).toTemplate();
+            assertThrows(IllegalArgumentException.class, () -> template.executor("log", ""));
+            assertThrows(IllegalArgumentException.class, () -> template.executor("log", null));
+            assertThrows(IllegalArgumentException.class, () -> template.executor((String[]) null));
+            assertThrows(IllegalArgumentException.class, () -> template.executor((Collection<String>) null));
+        }
+
+        @Test
+        void executorIsIndependent(@TempDir Path tmp) {
+            var template = new ProcessExecutor().command("git").workDir(tmp).toTemplate();
+            var derived = template.executor("status");
+            derived.command().add("--short");
+            derived.timeout(1);
+
+            assertEquals(List.of("git"), template.command());
+            assertEquals(ProcessExecutor.DEFAULT_TIMEOUT_SECONDS, template.timeout());
+        }
+    }
+
+    @Nested
+    @DisplayName("Execution Tests")
+    class ExecutionTests {
+
+        @Test
+        void executeAppendsArguments(@TempDir Path tmp) throws Exception {
+            var result = echoTemplate(tmp).execute("foo");
+            assertTrue(result.isSuccess());
+            assertEquals("foo", result.output().trim());
+        }
+
+        @Test
+        void executeConcurrently(@TempDir Path tmp) throws Exception {
+            var template = echoTemplate(tmp);
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            try {
+                var results = new ArrayList<Future<ProcessExecutor.ProcessResult>>();
+                for (var i = 0; i < 16; i++) {
+                    var arg = "run" + i;
+                    results.add(pool.submit(() -> template.execute(List.of(arg))));
+                }
+                for (var i = 0; i < results.size(); i++) {
+                    assertEquals("run" + i, results.get(i).get().output().trim());
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+}
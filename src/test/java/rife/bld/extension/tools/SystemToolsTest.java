@@ -21,9 +21,16 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -579,6 +586,81 @@ class SystemToolsTest {
         }
     }
 
+    @Nested
+    @DisplayName("Which Tests")
+    class WhichTests {
+
+        private static Path executable(Path dir, String name) throws IOException {
+            var file = Files.createFile(Files.createDirectories(dir).resolve(name));
+            if (!file.toFile().setExecutable(true)) {
+                fail("cannot make " + file + " executable");
+            }
+            return file;
+        }
+
+        @Test
+        void firstMatchWins(@TempDir Path tmp) throws IOException {
+            var first = executable(tmp.resolve("first"), "tool");
+            executable(tmp.resolve("second"), "tool");
+            var other = executable(tmp.resolve("second"), "other");
+            var env = Map.of("PATH", tmp.resolve("missing") + ":" + tmp.resolve("first") + ":"
+                    + tmp.resolve("second"));
+            var found = SystemTools.which(List.of("other", "missing", "tool"), "Linux", env::get);
+            assertEquals(Map.of("other", other, "tool", first), found);
+            assertEquals(List.of("other", "tool"), List.copyOf(found.keySet()));
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void nonExecutableIsSkipped(@TempDir Path tmp) throws IOException {
+            var dir = Files.createDirectories(tmp.resolve("first"));
+            Files.createFile(dir.resolve("tool"),
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-r--r--")));
+            var tool = executable(tmp.resolve("second"), "tool");
+            var env = Map.of("PATH", dir + ":" + tmp.resolve("second"));
+            assertEquals(Map.of("tool", tool), SystemTools.which(List.of("tool"), "Linux", env::get));
+        }
+
+        @Test
+        void nullsAndBlanks() {
+            assertNull(SystemTools.which((String) null));
+            assertNull(SystemTools.which(" "));
+            assertTrue(SystemTools.which((List<String>) null).isEmpty());
+            assertTrue(SystemTools.which(Arrays.asList(null, "")).isEmpty());
+            assertTrue(SystemTools.which(List.of("tool"), "Linux", name -> null).isEmpty());
+            assertNull(SystemTools.which("no-such-executable-on-path"));
+        }
+
+        @Test
+        void pathsAreResolvedDirectly(@TempDir Path tmp) throws IOException {
+            var tool = executable(tmp.resolve("bin"), "tool");
+            assertEquals(Map.of(tool.toString(), tool),
+                    SystemTools.which(List.of(tool.toString()), "Linux", name -> null));
+        }
+
+        @Test
+        void windowsUsesPathExt(@TempDir Path tmp) throws IOException {
+            var dir = tmp.resolve("Program Files");
+            var git = executable(dir, "git.EXE");
+            var gradle = executable(dir, "gradle.bat");
+            executable(dir, "node");
+            var env = Map.of("PATH", "\"" + dir + "\";" + tmp.resolve("missing"), "PATHEXT", ".COM;.EXE;.BAT");
+            assertEquals(Map.of("GIT", git, "gradle", gradle, "gradle.bat", gradle),
+                    SystemTools.which(List.of("GIT", "gradle", "gradle.bat", "node"), "Windows 11", env::get));
+            assertEquals(Map.of("git", git), SystemTools.which(List.of("git"), "Windows 11",
+                    Map.of("PATH", dir.toString())::get));
+        }
+
+        @Test
+        @EnabledOnOs({OS.LINUX, OS.MAC})
+        void worksOnSystemPath() {
+            var sh = SystemTools.which("sh");
+            assertNotNull(sh);
+            assertTrue(IOTools.canExecute(sh));
+            assertEquals(sh, SystemTools.which(List.of("sh")).get("sh"));
+        }
+    }
+
     @Nested
     @DisplayName("Windows Detection Tests")
     class WindowsTests {
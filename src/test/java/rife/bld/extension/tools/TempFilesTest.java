@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Temp Files Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class TempFilesTest {
+
+    private static boolean isEmpty(Path dir) throws IOException {
+        try (var entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        void defaults() {
+            var temp = new TempFiles();
+            assertEquals(Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath(), temp.directory());
+            assertEquals(TempFiles.DEFAULT_MIN_FREE_SPACE, temp.minFreeSpace());
+            assertTrue(temp.preferMemory());
+            assertTrue(temp.parallelism() > 0);
+            assertEquals(0, temp.size());
+            if (!SystemTools.isLinux()) {
+                assertNull(temp.memoryDirectory());
+            }
+            assertSame(TempFiles.shared(), TempFiles.shared());
+        }
+
+        @Test
+        void invalidValues(@TempDir Path tmp) {
+            assertThrows(NullPointerException.class, () -> new TempFiles(null, tmp));
+            var temp = new TempFiles(tmp, null);
+            assertThrows(IllegalArgumentException.class, () -> temp.minFreeSpace(-1L));
+            assertThrows(IllegalArgumentException.class, () -> temp.parallelism(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Create Tests")
+    class CreateTests {
+
+        @Test
+        void fallsBackToDisk(@TempDir Path tmp) throws IOException {
+            var disk = tmp.resolve("disk");
+            var memory = Files.createDirectory(tmp.resolve("memory"));
+            try (var temp = new TempFiles(disk, memory).minFreeSpace(0L)) {
+                assertTrue(temp.createFile("small-", ".txt", 1024L).startsWith(memory));
+                assertTrue(temp.createFile("large-", ".txt", Long.MAX_VALUE).startsWith(disk));
+                assertTrue(temp.preferMemory(false).createDirectory("staging-").startsWith(disk));
+            }
+        }
+
+        @Test
+        void diskOnlyWithoutMemoryDirectory(@TempDir Path tmp) throws IOException {
+            try (var temp = new TempFiles(tmp, null)) {
+                var file = temp.createFile(null, null);
+                assertEquals(tmp, file.getParent().getParent());
+                assertTrue(file.getFileName().toString().endsWith(".tmp"));
+            }
+        }
+
+        @Test
+        void prefersMemory(@TempDir Path tmp) throws IOException {
+            var memory = Files.createDirectory(tmp.resolve("memory"));
+            try (var temp = new TempFiles(tmp.resolve("disk"), memory).minFreeSpace(0L)) {
+                var file = temp.createFile("javac-", ".args");
+                var dir = temp.createDirectory("staging-");
+                assertTrue(Files.isRegularFile(file));
+                assertTrue(Files.isDirectory(dir));
+                assertEquals(memory, file.getParent().getParent());
+                assertEquals(file.getParent(), dir.getParent());
+                assertTrue(file.getParent().getFileName().toString()
+                        .startsWith("bld-" + ProcessHandle.current().pid() + "-"));
+                assertEquals(2, temp.size());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Delete Tests")
+    class DeleteTests {
+
+        @Test
+        void closeDeletesEverything(@TempDir Path tmp) throws IOException {
+            var created = new ArrayList<Path>();
+            try (var temp = new TempFiles(tmp, null).parallelism(4)) {
+                for (var i = 0; i < 50; i++) {
+                    created.add(Files.writeString(temp.createFile("spill-", ".log"), "output " + i));
+                }
+                var dir = temp.createDirectory("staging-");
+                Files.createDirectories(dir.resolve("a/b"));
+                Files.writeString(dir.resolve("a/b/file.txt"), "content");
+                // Created in a root by other means
+                Files.writeString(dir.getParent().resolve("untracked.txt"), "content");
+                created.add(dir);
+                assertEquals(51, temp.size());
+            }
+            for (var path : created) {
+                assertTrue(Files.notExists(path));
+            }
+            assertTrue(isEmpty(tmp));
+        }
+
+        @Test
+        void createWhileDeletingAll(@TempDir Path tmp) throws Exception {
+            try (var temp = new TempFiles(tmp, null)) {
+                var creator = Executors.newSingleThreadExecutor();
+                try {
+                    var created = creator.submit(() -> {
+                        // The root of an entry must never be deleted while it is being created
+                        for (var i = 0; i < 200; i++) {
+                            temp.createFile("spill-", ".log");
+                        }
+                        return null;
+                    });
+                    while (!created.isDone()) {
+                        temp.deleteAll();
+                    }
+                    created.get();
+                } finally {
+                    creator.shutdownNow();
+                }
+            }
+            assertTrue(isEmpty(tmp));
+        }
+
+        @Test
+        void deleteEarly(@TempDir Path tmp) throws IOException {
+            try (var temp = new TempFiles(tmp, null)) {
+                var file = temp.createFile("args-", ".txt");
+                assertTrue(temp.delete(file));
+                assertTrue(Files.notExists(file));
+                assertFalse(temp.delete(file));
+                assertFalse(temp.delete(null));
+                assertFalse(temp.delete(tmp));
+                assertEquals(0, temp.size());
+            }
+        }
+
+        @Test
+        void usableAfterDeleteAll(@TempDir Path tmp) throws IOException {
+            try (var temp = new TempFiles(tmp, null)) {
+                var first = temp.createFile("first-", ".txt");
+                assertEquals(2L, temp.deleteAll());
+                assertTrue(isEmpty(tmp));
+
+                var second = temp.createFile("second-", ".txt");
+                assertTrue(Files.exists(second));
+                assertNotEquals(first.getParent(), second.getParent());
+                assertEquals(0L, new TempFiles(tmp, null).deleteAll());
+            }
+            assertTrue(isEmpty(tmp));
+        }
+    }
+}
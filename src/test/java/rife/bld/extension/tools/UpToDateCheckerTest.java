@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Up-To-Date Checker Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class UpToDateCheckerTest {
+
+    @TempDir
+    private Path tmp;
+    private Path input;
+    private Path manifest;
+    private Path output;
+    private Path src;
+
+    private static void touch(Path file, long minutesAgo) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()
+                - TimeUnit.MINUTES.toMillis(minutesAgo)));
+    }
+
+    private UpToDateChecker checker() {
+        return new UpToDateChecker(manifest).inputs(src, input).outputs(output).configKey("-g");
+    }
+
+    private void recordRun() throws IOException {
+        var checker = checker();
+        checker.check();
+        checker.record();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        src = Files.createDirectories(tmp.resolve("src/pkg"));
+        Files.writeString(src.resolve("A.java"), "class A {}");
+        Files.writeString(src.resolve("B.java"), "class B {}");
+        input = Files.writeString(tmp.resolve("input.txt"), "input");
+        output = Files.createDirectories(tmp.resolve("build"));
+        Files.writeString(output.resolve("A.class"), "A");
+        manifest = tmp.resolve("build/.manifest");
+        for (var file : List.of(src.resolve("A.java"), src.resolve("B.java"), input)) {
+            touch(file, 10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Check Tests")
+    class CheckTests {
+
+        @Test
+        void addedInput() throws IOException {
+            recordRun();
+            var added = Files.writeString(src.resolve("C.java"), "class C {}");
+            var result = checker().check();
+            assertEquals(UpToDateChecker.Reason.INPUTS_CHANGED, result.reason());
+            assertEquals(List.of(added.toAbsolutePath()), result.changedInputs());
+        }
+
+        @Test
+        void changedConfigKey() throws IOException {
+            recordRun();
+            var result = checker().configKey("-O").check();
+            assertEquals(UpToDateChecker.Reason.CONFIG_CHANGED, result.reason());
+            assertFalse(result.upToDate());
+        }
+
+        @Test
+        void deletedOutput() throws IOException {
+            recordRun();
+            Files.delete(output.resolve("A.class"));
+            assertEquals(UpToDateChecker.Reason.OUTPUTS_CHANGED, checker().check().reason());
+        }
+
+        @Test
+        void longConfigKey() throws IOException {
+            var key = "-classpath " + "lib/dependency.jar:".repeat(10_000);
+            var checker = checker().configKey(key);
+            checker.check();
+            checker.record();
+            assertTrue(checker().configKey(key).check().upToDate());
+            assertEquals(UpToDateChecker.Reason.CONFIG_CHANGED,
+                    checker().configKey(key + "x").check().reason());
+        }
+
+        @Test
+        void modifiedInput() throws IOException {
+            recordRun();
+            Files.writeString(input, "changed");
+            var result = checker().check();
+            assertEquals(UpToDateChecker.Reason.INPUTS_CHANGED, result.reason());
+            assertEquals(List.of(input.toAbsolutePath()), result.changedInputs());
+        }
+
+        @Test
+        void modifiedOutput() throws IOException {
+            recordRun();
+            Files.writeString(output.resolve("A.class"), "tampered");
+            assertEquals(UpToDateChecker.Reason.OUTPUTS_CHANGED, checker().check().reason());
+        }
+
+        @Test
+        void noManifest() throws IOException {
+            var result = checker().check();
+            assertEquals(UpToDateChecker.Reason.NO_MANIFEST, result.reason());
+            assertEquals(3, result.changedInputs().size());
+        }
+
+        @Test
+        void removedInput() throws IOException {
+            recordRun();
+            var removed = src.resolve("B.java");
+            Files.delete(removed);
+            var result = checker().check();
+            assertEquals(UpToDateChecker.Reason.INPUTS_CHANGED, result.reason());
+            assertEquals(List.of(removed.toAbsolutePath()), result.changedInputs());
+        }
+
+        @Test
+        void unchanged() throws IOException {
+            recordRun();
+            var result = checker().check();
+            assertTrue(result.upToDate());
+            assertEquals(UpToDateChecker.Reason.UP_TO_DATE, result.reason());
+            assertTrue(result.changedInputs().isEmpty());
+        }
+
+        @Test
+        void unreadableManifest() throws IOException {
+            Files.writeString(manifest, "garbage");
+            assertEquals(UpToDateChecker.Reason.NO_MANIFEST, checker().check().reason());
+        }
+    }
+
+    @Nested
+    @DisplayName("Fingerprint Tests")
+    class FingerprintTests {
+
+        @Test
+        void onlyChangedInputsAreFingerprinted() throws IOException {
+            var checker = checker().fingerprinter(new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256));
+            checker.check();
+            checker.record();
+
+            // A fresh fingerprinter, as in a new JVM, only hashes the input whose attributes changed
+            Files.writeString(input, "input");
+            touch(input, 5);
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256);
+            checker = checker().fingerprinter(fingerprinter);
+            assertTrue(checker.check().upToDate());
+            assertEquals(1L, fingerprinter.hashed());
+            checker.record();
+
+            Files.writeString(src.resolve("A.java"), "class A { }");
+            touch(src.resolve("A.java"), 1);
+            var result = checker().fingerprinter(new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256)).check();
+            assertEquals(List.of(src.resolve("A.java").toAbsolutePath()), result.changedInputs());
+        }
+
+        @Test
+        void rewrittenWithDifferentContent() throws IOException {
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256);
+            var checker = checker().fingerprinter(fingerprinter);
+            checker.check();
+            checker.record();
+
+            Files.writeString(input, "INPUT");
+            touch(input, 5);
+            var result = checker().fingerprinter(fingerprinter).check();
+            assertEquals(List.of(input.toAbsolutePath()), result.changedInputs());
+        }
+
+        @Test
+        void rewrittenWithSameContent() throws IOException {
+            var fingerprinter = new FileFingerprinter(FileFingerprinter.Algorithm.SHA_256);
+            var checker = checker().fingerprinter(fingerprinter);
+            checker.check();
+            checker.record();
+
+            Files.writeString(input, "input");
+            touch(input, 5);
+            assertTrue(checker().fingerprinter(fingerprinter).check().upToDate());
+            assertFalse(checker().check().upToDate());
+        }
+    }
+
+    @Nested
+    @DisplayName("Record Tests")
+    class RecordTests {
+
+        @Test
+        void inputsModifiedDuringRunAreDetected() throws IOException {
+            var checker = checker();
+            checker.check();
+            Files.writeString(input, "modified while running");
+            checker.record();
+            assertFalse(checker().check().upToDate());
+        }
+
+        @Test
+        void recordWithoutCheck() throws IOException {
+            checker().record();
+            assertTrue(checker().check().upToDate());
+        }
+
+        @Test
+        void inputFilesAndOutputFiles() throws IOException {
+            var checker = new UpToDateChecker(manifest)
+                    .inputFiles(List.of(input.toFile()))
+                    .inputFiles(src.toFile(), null)
+                    .outputFiles(output.toFile());
+            assertEquals(2, checker.inputs().size());
+            assertEquals(List.of(output.toAbsolutePath()), checker.outputs());
+            checker.record();
+            assertTrue(checker.check().upToDate());
+        }
+    }
+}
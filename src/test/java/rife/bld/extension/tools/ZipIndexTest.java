@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ZIP Index Tests")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ZipIndexTest {
+
+    private static final byte[] TEXT = "Hello, World! ".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    private static Path createZip(Path file) throws IOException {
+        try (var out = new ZipOutputStream(Files.newOutputStream(file))) {
+            out.putNextEntry(new ZipEntry("dir/"));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("dir/deflated.txt"));
+            out.write(TEXT);
+            out.closeEntry();
+            out.putNextEntry(stored("stored.txt", TEXT));
+            out.write(TEXT);
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("empty"));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("café.txt"));
+            out.write('x');
+            out.closeEntry();
+            out.setComment("archive comment");
+        }
+        return file;
+    }
+
+    private static ZipEntry stored(String name, byte[] content) {
+        var entry = new ZipEntry(name);
+        var crc = new CRC32();
+        crc.update(content);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+        return entry;
+    }
+
+    @Nested
+    @DisplayName("Entries Tests")
+    class EntriesTests {
+
+        @Test
+        void entriesMatchZipFile(@TempDir Path tmp) throws IOException {
+            var file = createZip(tmp.resolve("test.zip"));
+            try (var index = ZipIndex.open(file); var zip = new ZipFile(file.toFile())) {
+                assertEquals(zip.size(), index.entries().size());
+                var expected = zip.stream().toList();
+                for (var i = 0; i < expected.size(); i++) {
+                    var entry = index.entries().get(i);
+                    assertEquals(expected.get(i).getName(), entry.name());
+                    assertEquals(expected.get(i).getSize(), entry.size());
+                    assertEquals(expected.get(i).getCompressedSize(), entry.compressedSize());
+                    assertEquals(expected.get(i).getCrc(), entry.crc());
+                    assertEquals(expected.get(i).isDirectory(), entry.isDirectory());
+                }
+                assertEquals(file, index.path());
+            }
+        }
+
+        @Test
+        void lookupByName(@TempDir Path tmp) throws IOException {
+            try (var index = ZipIndex.open(createZip(tmp.resolve("test.zip")))) {
+                assertEquals(ZipIndex.Entry.STORED, index.entry("stored.txt").method());
+                assertEquals(ZipIndex.Entry.DEFLATED, index.entry("dir/deflated.txt").method());
+                assertNotNull(index.entry("café.txt"));
+                assertNull(index.entry("missing"));
+                assertNull(index.entry(null));
+                assertNull(index.read("missing"));
+            }
+        }
+
+        @Test
+        void prependedDataIsSkipped(@TempDir Path tmp) throws IOException {
+            var zip = Files.readAllBytes(createZip(tmp.resolve("test.zip")));
+            var file = tmp.resolve("self-extracting.zip");
+            try (var out = Files.newOutputStream(file)) {
+                out.write("#!/bin/sh\nexit 0\n".getBytes(StandardCharsets.UTF_8));
+                out.write(zip);
+            }
+            try (var index = ZipIndex.open(file)) {
+                assertArrayEquals(TEXT, index.read("dir/deflated.txt"));
+                assertArrayEquals(TEXT, index.read("stored.txt"));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Tests")
+    class ErrorTests {
+
+        @Test
+        void corruptEntryThrows(@TempDir Path tmp) throws IOException {
+            var file = createZip(tmp.resolve("test.zip"));
+            try (var index = ZipIndex.open(file)) {
+                var entry = index.entry("stored.txt");
+                var bytes = Files.readAllBytes(file);
+                var dataStart = (int) entry.localHeaderOffset() + 30 + "stored.txt".length();
+                bytes[dataStart] ^= 1;
+                Files.write(file, bytes);
+                assertThrows(ZipException.class, () -> index.read(entry));
+            }
+        }
+
+        @Test
+        void notAZipFileThrows(@TempDir Path tmp) throws IOException {
+            var file = Files.writeString(tmp.resolve("text.jar"), "not a zip file, but long enough to be one");
+            assertThrows(ZipException.class, () -> ZipIndex.open(file));
+            var empty = Files.createFile(tmp.resolve("empty.jar"));
+            assertThrows(ZipException.class, () -> ZipIndex.open(empty));
+            assertThrows(NullPointerException.class, () -> ZipIndex.open(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Read Tests")
+    class ReadTests {
+
+        @Test
+        void manifest(@TempDir Path tmp) throws IOException {
+            var manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "com.example.Main");
+            var file = tmp.resolve("test.jar");
+            try (OutputStream out = new JarOutputStream(Files.newOutputStream(file), manifest)) {
+                out.flush();
+            }
+            try (var index = ZipIndex.open(file)) {
+                assertEquals("com.example.Main", index.manifest().getMainAttributes().getValue("Main-Class"));
+            }
+            try (var index = ZipIndex.open(createZip(tmp.resolve("test.zip")))) {
+                assertNull(index.manifest());
+            }
+        }
+
+        @Test
+        void readEntries(@TempDir Path tmp) throws IOException {
+            try (var index = ZipIndex.open(createZip(tmp.resolve("test.zip")))) {
+                assertArrayEquals(TEXT, index.read("dir/deflated.txt"));
+                assertArrayEquals(TEXT, index.read("stored.txt"));
+                assertArrayEquals(new byte[0], index.read("empty"));
+                assertArrayEquals(new byte[]{'x'}, index.read("café.txt"));
+            }
+        }
+
+        @Test
+        void zip64Archive(@TempDir Path tmp) throws IOException {
+            // More than 65535 entries require ZIP64 end records
+            var file = tmp.resolve("zip64.zip");
+            var count = 70_000;
+            try (var out = new ZipOutputStream(Files.newOutputStream(file))) {
+                out.setLevel(0);
+                for (var i = 0; i < count; i++) {
+                    out.putNextEntry(new ZipEntry("e" + i));
+                    out.closeEntry();
+                }
+                out.putNextEntry(new ZipEntry("last.txt"));
+                out.write(TEXT);
+                out.closeEntry();
+            }
+            try (var index = ZipIndex.open(file)) {
+                assertEquals(count + 1, index.entries().size());
+                assertEquals(List.of("e0", "e1"), index.entries().subList(0, 2).stream()
+                        .map(ZipIndex.Entry::name).toList());
+                assertArrayEquals(TEXT, index.read("last.txt"));
+            }
+        }
+    }
+}